@@ -0,0 +1,98 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.ArchivedMatch;
+import com.tarhanskyi.Match;
+import com.tarhanskyi.MatchArchive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of a {@link MatchArchive} holding millions of finished matches, one finishing every second,
+ * between {@value #TEAMS} teams. With {@code spilled} the archive lives in a temporary file and every chunk
+ * but the last is read through a memory mapping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ArchiveBenchmark {
+
+    private static final int TEAMS = 2_000;
+    private static final int LIMIT = 100;
+    private static final Instant FIRST_FINISH = Instant.parse("2026-06-11T18:00:00Z");
+
+    @Param({"2000000"})
+    public int archived;
+
+    @Param({"false", "true"})
+    public boolean spilled;
+
+    private MatchArchive archive;
+    private Path file;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (spilled) {
+            file = Files.createTempFile("scoreboard", ".archive");
+            archive = MatchArchive.open(file);
+        } else {
+            archive = new MatchArchive();
+        }
+        SplittableRandom scores = new SplittableRandom(42);
+        for (int i = 0; i < archived; i++) {
+            int home = scores.nextInt(TEAMS);
+            int away = (home + 1 + scores.nextInt(TEAMS - 1)) % TEAMS;
+            Instant finish = FIRST_FINISH.plusSeconds(i);
+            Match match = new Match(new UUID(i, i), "Team " + home, "Team " + away,
+                    scores.nextInt(6), scores.nextInt(6), finish.minusSeconds(5400), scores.nextInt(12));
+            archive.add(match, finish);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        archive.close();
+        if (file != null) {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public List<ArchivedMatch> topScoring() {
+        return archive.topScoring(LIMIT);
+    }
+
+    @Benchmark
+    public List<ArchivedMatch> findByTeam() {
+        return archive.findByTeam("Team " + random.nextInt(TEAMS), LIMIT);
+    }
+
+    @Benchmark
+    public List<ArchivedMatch> finishedBetween() {
+        Instant from = FIRST_FINISH.plusSeconds(random.nextInt(archived));
+        return archive.finishedBetween(from, from.plusSeconds(3600), LIMIT);
+    }
+}
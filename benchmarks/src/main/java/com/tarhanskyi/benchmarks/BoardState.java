@@ -0,0 +1,48 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.ScoreboardService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A scoreboard pre-filled with {@code boardSize} matches, shared by all benchmark threads.
+ * The board limit leaves room for every thread to start extra matches on top of the pre-filled ones.
+ */
+@State(Scope.Benchmark)
+public class BoardState {
+
+    /**
+     * Extra match slots reserved for matches started during a measurement.
+     */
+    static final int HEADROOM = 1_024;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int boardSize;
+
+    ScoreboardService service;
+    UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new ScoreboardService(boardSize + HEADROOM);
+        ids = new UUID[boardSize];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < boardSize; i++) {
+            ids[i] = service.startMatch("Home " + i, "Away " + i).id();
+            service.updateScore(ids[i], random.nextInt(0, 6), random.nextInt(0, 6));
+        }
+    }
+
+    /**
+     * @return the ID of a random pre-filled match
+     */
+    UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
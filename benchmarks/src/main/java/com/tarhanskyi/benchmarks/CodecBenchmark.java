@@ -0,0 +1,98 @@
+package com.tarhanskyi.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tarhanskyi.Match;
+import com.tarhanskyi.MatchCodec;
+import com.tarhanskyi.ScoreboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a full summary with {@link MatchCodec} compared with JSON (Jackson).
+ * The binary codec writes to a direct buffer, the way a summary is sent to a socket.
+ * The sizes of one encoded summary are printed when a trial starts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({"10", "100"})
+    public int boardSize;
+
+    private List<Match> summary;
+    private ObjectMapper mapper;
+    private byte[] json;
+    private MatchCodec writer;
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+    private MatchCodec decoder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        ScoreboardService service = new ScoreboardService(boardSize);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < boardSize; i++) {
+            Match match = service.startMatch("Home Team " + i, "Away Team " + i);
+            service.updateScore(match.id(), random.nextInt(0, 6), random.nextInt(0, 6));
+        }
+        summary = service.getSummary();
+        mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        json = mapper.writeValueAsBytes(summary);
+
+        // the dictionary of a long-lived stream already knows every team
+        writer = new MatchCodec();
+        MatchCodec reader = new MatchCodec();
+        buffer = ByteBuffer.allocateDirect(boardSize * MatchCodec.MAX_MATCH_SIZE + Integer.BYTES);
+        writer.encodeSummary(summary, buffer);
+        reader.decodeSummary(buffer.flip());
+        writer.encodeSummary(summary, buffer.clear());
+        encoded = buffer.flip().duplicate();
+        decoder = reader;
+        System.out.printf("%nSummary of %d matches: JSON %d bytes, binary %d bytes%n", boardSize, json.length,
+                encoded.remaining());
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(summary);
+    }
+
+    @Benchmark
+    public List<Match> decodeJson() throws IOException {
+        return mapper.readValue(json, new TypeReference<>() { });
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinary() {
+        writer.encodeSummary(summary, buffer.clear());
+        return buffer;
+    }
+
+    @Benchmark
+    public List<Match> decodeBinary() {
+        return decoder.decodeSummary(encoded.clear());
+    }
+}
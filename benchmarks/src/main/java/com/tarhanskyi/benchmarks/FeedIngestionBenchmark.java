@@ -0,0 +1,82 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.FeedIngestor;
+import com.tarhanskyi.ScoreboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained score updates per second of one {@link FeedIngestor}: a feed of {@value #LINES} score lines
+ * for {@value #MATCHES} matches is read, parsed and applied per operation batch.
+ * Run with {@code -prof gc} to check that parsing does not allocate per line.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedIngestionBenchmark {
+
+    private static final int MATCHES = 64;
+    private static final int LINES = 100_000;
+
+    @Param({"1", "16"})
+    public int lanes;
+
+    private ScoreboardService service;
+    private FeedIngestor ingestor;
+    private byte[] feed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        service = new ScoreboardService();
+        ingestor = new FeedIngestor(service, lanes, FeedIngestor.DEFAULT_QUEUE_CAPACITY);
+        StringBuilder starts = new StringBuilder();
+        for (int i = 0; i < MATCHES; i++) {
+            starts.append("START|Home ").append(i).append("|Away ").append(i).append('\n');
+        }
+        ingestor.ingest(new ByteArrayInputStream(starts.toString().getBytes(StandardCharsets.UTF_8)));
+        ingestor.awaitApplied();
+
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder updates = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            int match = random.nextInt(MATCHES);
+            updates.append("SCORE|Home ").append(match).append("|Away ").append(match).append('|')
+                    .append(random.nextInt(10)).append('|').append(random.nextInt(10)).append('\n');
+        }
+        feed = updates.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ingestor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long ingest() throws IOException, InterruptedException {
+        long lines = ingestor.ingest(new ByteArrayInputStream(feed));
+        ingestor.awaitApplied();
+        return lines;
+    }
+}
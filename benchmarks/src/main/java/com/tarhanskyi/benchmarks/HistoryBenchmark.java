@@ -0,0 +1,78 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import com.tarhanskyi.ScoreboardOptions;
+import com.tarhanskyi.ScoreboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of keeping the summary history on a board of {@code boardSize} matches: score updates with and
+ * without history, and reads of the summary at a random moment of the kept history.
+ * Run with {@code -prof gc} to see the memory a change adds to the history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryBenchmark {
+
+    private static final int HISTORY = 10_000;
+
+    @Param({"10000"})
+    public int boardSize;
+
+    @Param({"0", "10000"})
+    public int historyLimit;
+
+    private ScoreboardService service;
+    private UUID[] ids;
+    private Instant created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new ScoreboardService(ScoreboardOptions.defaults()
+                .withMatchesLimit(boardSize).withHistoryLimit(historyLimit));
+        created = Instant.now();
+        ids = new UUID[boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            ids[i] = service.startMatch("Home " + i, "Away " + i).id();
+        }
+        for (int i = 0; i < HISTORY; i++) {
+            updateScore();
+        }
+    }
+
+    @Benchmark
+    public Match updateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return service.updateScore(ids[random.nextInt(ids.length)], random.nextInt(10), random.nextInt(10));
+    }
+
+    @Benchmark
+    public List<Match> getSummaryAt() {
+        if (historyLimit == 0) {
+            return service.getSummary();
+        }
+        long span = Instant.now().toEpochMilli() - created.toEpochMilli();
+        return service.getSummaryAt(created.plusMillis(span / 2 + ThreadLocalRandom.current().nextLong(span / 2)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import com.tarhanskyi.ScoreboardJournal;
+import com.tarhanskyi.ScoreboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of journaling score updates with every fsync policy, compared with {@code none}, a board without a journal.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    private static final int BOARD_SIZE = 100;
+
+    @Param({"none", "NEVER", "PERIODIC", "ALWAYS"})
+    public String policy;
+
+    private Path path;
+    private ScoreboardJournal journal;
+    private ScoreboardService service;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (policy.equals("none")) {
+            service = new ScoreboardService(BOARD_SIZE);
+        } else {
+            path = Files.createTempFile("scoreboard", ".journal");
+            Files.delete(path);
+            journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.valueOf(policy));
+            service = new ScoreboardService(BOARD_SIZE, journal);
+        }
+        ids = new UUID[BOARD_SIZE];
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            ids[i] = service.startMatch("Home " + i, "Away " + i).id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+            Files.delete(path);
+        }
+    }
+
+    @Benchmark
+    public Match updateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return service.updateScore(ids[random.nextInt(BOARD_SIZE)], random.nextInt(0, 10), random.nextInt(10, 20));
+    }
+}
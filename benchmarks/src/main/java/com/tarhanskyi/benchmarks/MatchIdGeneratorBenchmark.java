@@ -0,0 +1,48 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.MatchIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the built-in match ID generators under concurrent starts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MatchIdGeneratorBenchmark {
+
+    private final MatchIdGenerator random = MatchIdGenerator.random();
+    private final MatchIdGenerator timeOrdered = MatchIdGenerator.timeOrdered();
+    private final MatchIdGenerator sequential = MatchIdGenerator.sequential();
+
+    @Benchmark
+    public UUID random() {
+        return random.nextId();
+    }
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return timeOrdered.nextId();
+    }
+
+    @Benchmark
+    public UUID sequential() {
+        return sequential.nextId();
+    }
+}
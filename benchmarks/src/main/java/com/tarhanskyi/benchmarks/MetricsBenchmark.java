@@ -0,0 +1,64 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import com.tarhanskyi.ScoreboardOptions;
+import com.tarhanskyi.ScoreboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording metrics on the hot paths, with metrics enabled and disabled.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private static final int BOARD_SIZE = 100;
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private ScoreboardService service;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new ScoreboardService(ScoreboardOptions.defaults().withMetricsEnabled(metricsEnabled));
+        ids = new UUID[BOARD_SIZE];
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            ids[i] = service.startMatch("Home " + i, "Away " + i).id();
+        }
+    }
+
+    @Benchmark
+    public Match updateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return service.updateScore(ids[random.nextInt(BOARD_SIZE)], random.nextInt(0, 10), random.nextInt(10, 20));
+    }
+
+    @Benchmark
+    public List<Match> getTopMatches() {
+        return service.getTopMatches(10);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Readers and writers working on the same board at the same time.
+ * <ul>
+ *     <li>{@code readHeavy} — dashboards polling the summary while a single feed updates scores</li>
+ *     <li>{@code writeHeavy} — several feed workers updating scores while one dashboard polls</li>
+ * </ul>
+ * Use {@code -tg} to change the thread counts of a group.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MixedWorkloadBenchmark {
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(3)
+    public List<Match> readHeavy_getSummary(BoardState board) {
+        return board.service.getSummary();
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public Match readHeavy_updateScore(BoardState board) {
+        return updateRandomMatch(board);
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(1)
+    public List<Match> writeHeavy_getSummary(BoardState board) {
+        return board.service.getSummary();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(3)
+    public Match writeHeavy_updateScore(BoardState board) {
+        return updateRandomMatch(board);
+    }
+
+    private static Match updateRandomMatch(BoardState board) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return board.service.updateScore(board.randomId(), random.nextInt(0, 10), random.nextInt(0, 10));
+    }
+}
@@ -0,0 +1,87 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import com.tarhanskyi.ScoreboardPipeline;
+import com.tarhanskyi.ScoreboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score updates per second from {@value #THREADS} competing writers, through the synchronous API and through
+ * a {@link ScoreboardPipeline}. Every invocation sends {@value #UPDATES} updates; the pipeline variant waits
+ * for the last of them, so both measure applied updates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(PipelineBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    static final int THREADS = 4;
+    private static final int UPDATES = 64;
+
+    @Param({"100", "10000"})
+    public int boardSize;
+
+    private ScoreboardService service;
+    private ScoreboardPipeline pipeline;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new ScoreboardService(boardSize);
+        pipeline = new ScoreboardPipeline(service);
+        ids = new UUID[boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            ids[i] = service.startMatch("Home " + i, "Away " + i).id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public Match updateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Match match = null;
+        for (int i = 0; i < UPDATES; i++) {
+            match = service.updateScore(ids[random.nextInt(ids.length)], random.nextInt(10), random.nextInt(10));
+        }
+        return match;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public Match updateScoreAsync() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CompletableFuture<Match> last = null;
+        for (int i = 0; i < UPDATES; i++) {
+            last = pipeline.updateScoreAsync(ids[random.nextInt(ids.length)], random.nextInt(10), random.nextInt(10));
+        }
+        return last.join();
+    }
+}
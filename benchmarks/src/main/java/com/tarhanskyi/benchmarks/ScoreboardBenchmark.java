@@ -0,0 +1,83 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import com.tarhanskyi.SummaryCursor;
+import com.tarhanskyi.SummaryDelta;
+import com.tarhanskyi.SummaryFormat;
+import com.tarhanskyi.SummaryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of every public operation of the scoreboard, one operation at a time.
+ * Run with {@code -t N} to measure the same operations under N concurrent threads
+ * and with {@code -prof gc} to report allocation rates.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreboardBenchmark {
+
+    /**
+     * Starts a match and finishes it right away, so the board size stays stable during the measurement.
+     */
+    @Benchmark
+    public Match startAndFinishMatch(BoardState board, ThreadState thread) {
+        Match match = board.service.startMatch(thread.nextHomeTeam(), thread.currentAwayTeam());
+        board.service.finishMatch(match.id());
+        return match;
+    }
+
+    @Benchmark
+    public Match updateScore(BoardState board) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return board.service.updateScore(board.randomId(), random.nextInt(0, 10), random.nextInt(0, 10));
+    }
+
+    @Benchmark
+    public List<Match> getSummary(BoardState board) {
+        return board.service.getSummary();
+    }
+
+    @Benchmark
+    public ByteBuffer getRenderedSummary(BoardState board) {
+        return board.service.getRenderedSummary(SummaryFormat.JSON);
+    }
+
+    @Benchmark
+    public List<Match> getTopMatches(BoardState board) {
+        return board.service.getTopMatches(10);
+    }
+
+    @Benchmark
+    public List<Match> getSummaryWindow(BoardState board) {
+        return board.service.getSummary(board.boardSize / 2, 10);
+    }
+
+    @Benchmark
+    public SummaryPage getSummaryAfter(BoardState board) {
+        return board.service.getSummaryAfter(SummaryCursor.first(), 10);
+    }
+
+    @Benchmark
+    public SummaryDelta getSummaryChangesSince(BoardState board) {
+        return board.service.getSummaryChangesSince(board.service.getSnapshot().version() - 1);
+    }
+
+    @Benchmark
+    public List<Match> findMatchesByTeamPrefix(BoardState board) {
+        return board.service.findMatchesByTeamPrefix("home 12", 10);
+    }
+}
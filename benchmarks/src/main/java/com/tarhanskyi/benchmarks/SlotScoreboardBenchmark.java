@@ -0,0 +1,72 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import com.tarhanskyi.ScoreboardService;
+import com.tarhanskyi.SlotScoreboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SlotScoreboard} compared with {@link ScoreboardService} on boards of the same size.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotScoreboardBenchmark {
+
+    @Param({"100", "10000"})
+    public int boardSize;
+
+    private ScoreboardService service;
+    private SlotScoreboard slots;
+    private UUID[] ids;
+    private long[] handles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new ScoreboardService(boardSize);
+        slots = new SlotScoreboard(boardSize);
+        ids = new UUID[boardSize];
+        handles = new long[boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            ids[i] = service.startMatch("Home " + i, "Away " + i).id();
+            handles[i] = slots.start("Home " + i, "Away " + i);
+        }
+    }
+
+    @Benchmark
+    public Match serviceUpdateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return service.updateScore(ids[random.nextInt(boardSize)], random.nextInt(0, 10), random.nextInt(0, 10));
+    }
+
+    @Benchmark
+    public long slotUpdateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return slots.updateScore(handles[random.nextInt(boardSize)], random.nextInt(0, 10), random.nextInt(0, 10));
+    }
+
+    @Benchmark
+    public List<Match> slotGetSummary() {
+        return slots.getSummary();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tarhanskyi.benchmarks;
+
+import com.tarhanskyi.Match;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of publishing the summary after a single-match change, by board size and number of writers.
+ * Every change copies the references of the whole board, so with {@code -prof gc} the allocation per update
+ * grows linearly with {@code boardSize}; with several writers it grows further by the copies of the writers
+ * that lost the race to publish and had to copy the newer snapshot again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryPublicationBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public Match updateScoreOneWriter(BoardState board) {
+        return updateScore(board);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Match updateScoreFourWriters(BoardState board) {
+        return updateScore(board);
+    }
+
+    private static Match updateScore(BoardState board) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return board.service.updateScore(board.randomId(), random.nextInt(0, 10), random.nextInt(0, 10));
+    }
+}
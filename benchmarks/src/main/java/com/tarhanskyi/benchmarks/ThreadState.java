@@ -0,0 +1,26 @@
+package com.tarhanskyi.benchmarks;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-thread source of team names that never clash with other threads or with the pre-filled board.
+ */
+@State(Scope.Thread)
+public class ThreadState {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final int thread = THREADS.getAndIncrement();
+    private int counter;
+
+    String nextHomeTeam() {
+        return "H" + thread + "-" + ++counter;
+    }
+
+    String currentAwayTeam() {
+        return "A" + thread + "-" + counter;
+    }
+}
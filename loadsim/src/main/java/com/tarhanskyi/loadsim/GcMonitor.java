@@ -0,0 +1,110 @@
+package com.tarhanskyi.loadsim;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Records the collector pauses and the heap usage of the JVM while a match day runs.
+ * <p>
+ * Pauses come from the notifications of the garbage collector MXBeans. Whole concurrent cycles,
+ * as reported by ZGC and Shenandoah, are not pauses and are counted only as collections.
+ * The heap is sampled after every collection and by {@link #sample()}.
+ */
+final class GcMonitor implements NotificationListener, AutoCloseable {
+
+    private static final String CYCLE_ACTION = "end of GC cycle";
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    private final AtomicLong collections = new AtomicLong();
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong totalPauseMillis = new AtomicLong();
+    private final LongAccumulator maxPauseMillis = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakHeapBytes = new LongAccumulator(Math::max, 0);
+    private final long startHeapBytes;
+
+    /**
+     * Collects the garbage left by the setup, records the heap usage and starts listening to collections.
+     */
+    GcMonitor() {
+        this.startHeapBytes = usedAfterFullGc();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        collections.incrementAndGet();
+        if (!info.getGcAction().equals(CYCLE_ACTION)) {
+            long duration = info.getGcInfo().getDuration();
+            pauses.incrementAndGet();
+            totalPauseMillis.addAndGet(duration);
+            maxPauseMillis.accumulate(duration);
+        }
+        sample();
+    }
+
+    /**
+     * Records the current heap usage as a peak candidate.
+     */
+    void sample() {
+        peakHeapBytes.accumulate(memory.getHeapMemoryUsage().getUsed());
+    }
+
+    /**
+     * @return the collections and collector pauses recorded so far
+     */
+    Report.Gc gc() {
+        return new Report.Gc(collections.get(), pauses.get(), totalPauseMillis.get(), maxPauseMillis.get());
+    }
+
+    /**
+     * Stops listening and collects the garbage once more, so the heap growth is what the run has retained.
+     *
+     * @return the heap usage of the run
+     */
+    Report.Heap heap() {
+        close();
+        long endHeapBytes = usedAfterFullGc();
+        return new Report.Heap(startHeapBytes, endHeapBytes, peakHeapBytes.get(), endHeapBytes - startHeapBytes);
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already removed
+            }
+        }
+        emitters.clear();
+    }
+
+    private long usedAfterFullGc() {
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,204 @@
+package com.tarhanskyi.loadsim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tarhanskyi.ScoreboardMetrics;
+import com.tarhanskyi.ScoreboardOptions;
+import com.tarhanskyi.ScoreboardService;
+import com.tarhanskyi.SummaryFormat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link ScoreboardService} through a simulated match day and reports how it held up.
+ * <p>
+ * Feed threads replay the {@link MatchScript}s of their matches in real time: kick-offs, goals,
+ * repeated scores and final whistles. Dashboard threads read the summary, the top matches and the
+ * rendered JSON summary in turn. The latency of every operation is taken from the {@link ScoreboardMetrics}
+ * of the board, and the collector pauses and heap usage from the JVM.
+ * <p>
+ * Usage: {@code java -jar loadsim.jar [--name=value ...] [--report=path]}; see {@link Scenario} for the options.
+ * The report is printed as JSON and, with {@code --report}, also written to the given file.
+ */
+public final class MatchDay {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 100;
+    private static final int TOP_MATCHES = 10;
+
+    private final Scenario scenario;
+    private final ScoreboardService service;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
+    private volatile boolean running;
+
+    /**
+     * @param scenario the day to simulate
+     */
+    public MatchDay(Scenario scenario) {
+        this.scenario = scenario;
+        this.service = new ScoreboardService(ScoreboardOptions.defaults()
+                .withMatchesLimit(scenario.matches())
+                .withMetricsEnabled(true));
+    }
+
+    /**
+     * Runs the simulation on the calling thread until the day is over and all feeds have finished.
+     *
+     * @return the report of the day
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the feeds
+     */
+    public Report run() throws InterruptedException {
+        List<List<MatchScript>> feeds = new ArrayList<>();
+        for (int i = 0; i < scenario.writers(); i++) {
+            feeds.add(new ArrayList<>());
+        }
+        long goals = 0;
+        for (int number = 0; number < scenario.matches(); number++) {
+            MatchScript script = new MatchScript(scenario, number);
+            feeds.get(number % scenario.writers()).add(script);
+            goals += script.goals();
+        }
+
+        try (GcMonitor monitor = new GcMonitor()) {
+            running = true;
+            long dayStart = System.nanoTime();
+            long deadline = dayStart + TimeUnit.SECONDS.toNanos(scenario.durationSeconds());
+            List<Thread> writers = new ArrayList<>();
+            for (int i = 0; i < feeds.size(); i++) {
+                List<MatchScript> scripts = feeds.get(i);
+                writers.add(Thread.ofPlatform().name("feed-" + i).start(() -> feed(scripts, dayStart)));
+            }
+            List<Thread> readers = new ArrayList<>();
+            for (int i = 0; i < scenario.readers(); i++) {
+                readers.add(Thread.ofPlatform().name("dashboard-" + i).start(this::dashboard));
+            }
+
+            while (System.nanoTime() < deadline) {
+                monitor.sample();
+                Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            running = false;
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            double elapsedSeconds = (System.nanoTime() - dayStart) / 1e9;
+
+            long writeCount = writes.sum();
+            long readCount = reads.sum();
+            Map<ScoreboardMetrics.Operation, ScoreboardMetrics.Latency> latencies =
+                    new EnumMap<>(ScoreboardMetrics.Operation.class);
+            service.getMetrics().snapshot().operations().forEach((operation, latency) -> {
+                if (latency.count() > 0) {
+                    latencies.put(operation, latency);
+                }
+            });
+            return new Report(
+                    scenario,
+                    elapsedSeconds,
+                    new Report.Throughput(writeCount, readCount, goals,
+                            writeCount / elapsedSeconds, readCount / elapsedSeconds),
+                    latencies,
+                    new Report.Lag(writeCount == 0 ? 0 : totalLagNanos.sum() / 1e3 / writeCount, maxLagNanos.get() / 1e6),
+                    monitor.gc(),
+                    monitor.heap(),
+                    errors.sum());
+        }
+    }
+
+    /**
+     * Replays the scripts of a feed in the order of their next actions, waiting for each action to become due.
+     * A script whose action fails is dropped, as its match no longer follows the script.
+     */
+    private void feed(List<MatchScript> scripts, long dayStart) {
+        PriorityQueue<MatchScript> queue = new PriorityQueue<>(Comparator.comparingLong(MatchScript::nextAt));
+        queue.addAll(scripts);
+        while (!queue.isEmpty()) {
+            MatchScript script = queue.poll();
+            long due = dayStart + script.nextAt();
+            long delay;
+            while ((delay = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long lag = System.nanoTime() - due;
+            totalLagNanos.add(lag);
+            maxLagNanos.accumulate(lag);
+            try {
+                script.step(service);
+                writes.increment();
+            } catch (RuntimeException e) {
+                errors.increment();
+                continue;
+            }
+            if (script.nextAt() != Long.MAX_VALUE) {
+                queue.add(script);
+            }
+        }
+    }
+
+    /**
+     * Reads the summary, the top matches and the rendered summary in turn until the day is over.
+     */
+    private void dashboard() {
+        long pauseNanos = TimeUnit.MICROSECONDS.toNanos(scenario.readerPauseMicros());
+        for (int i = 0; running; i++) {
+            try {
+                switch (i % 3) {
+                    case 0 -> service.getSummary();
+                    case 1 -> service.getTopMatches(TOP_MATCHES);
+                    default -> service.getRenderedSummary(SummaryFormat.JSON);
+                }
+                reads.increment();
+            } catch (RuntimeException e) {
+                errors.increment();
+            }
+            if (pauseNanos > 0) {
+                LockSupport.parkNanos(pauseNanos);
+            }
+        }
+    }
+
+    /**
+     * Runs the scenario given by the arguments and prints its report.
+     *
+     * @param args the {@link Scenario} options and an optional {@code --report=path}
+     * @throws Exception if the run is interrupted or the report cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.parse(args);
+        Report report = new MatchDay(scenario).run();
+        String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        System.out.println(json);
+        for (String arg : args) {
+            if (arg.startsWith("--report=")) {
+                write(Path.of(arg.substring("--report=".length())), json);
+            }
+        }
+        if (report.errors() > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void write(Path path, String json) throws IOException {
+        Files.writeString(path, json + System.lineSeparator());
+    }
+}
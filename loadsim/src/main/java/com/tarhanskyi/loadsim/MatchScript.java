@@ -0,0 +1,138 @@
+package com.tarhanskyi.loadsim;
+
+import com.tarhanskyi.ScoreboardService;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Script of one simulated match: its kick-off, goals, feed messages and final whistle, as offsets from the start
+ * of the day in nanoseconds.
+ * <p>
+ * The script of a match depends only on the seed of the scenario and the number of the match,
+ * so the same day is replayed whatever the number of writers.
+ */
+final class MatchScript {
+
+    /**
+     * Minutes of play a match stands for.
+     */
+    static final int MINUTES = 90;
+
+    /**
+     * Highest score the scoreboard accepts.
+     */
+    private static final int SCORE_LIMIT = 50;
+
+    private static final int BURST_FROM_MINUTE = 40;
+    private static final int BURST_TO_MINUTE = 45;
+
+    private final String homeTeam;
+    private final String awayTeam;
+    private final long kickOff;
+    private final long finalWhistle;
+    private final long feedPeriod;
+
+    /**
+     * Goal times in order, and whether each goal was scored by the home team.
+     */
+    private final long[] goalTimes;
+    private final boolean[] homeGoals;
+
+    private UUID matchId;
+    private long nextFeed;
+    private int nextGoal;
+    private int homeScore;
+    private int awayScore;
+    private boolean finished;
+
+    /**
+     * @param scenario the scenario of the day
+     * @param number   the number of the match, from zero
+     */
+    MatchScript(Scenario scenario, int number) {
+        SplittableRandom random = new SplittableRandom(scenario.seed() ^ number * 0x9E3779B97F4A7C15L);
+        long matchNanos = TimeUnit.SECONDS.toNanos(scenario.matchSeconds());
+        long kickOffWindow = TimeUnit.SECONDS.toNanos(scenario.durationSeconds()) - matchNanos;
+        this.homeTeam = "Home " + number;
+        this.awayTeam = "Away " + number;
+        this.kickOff = kickOffWindow == 0 ? 0 : random.nextLong(kickOffWindow);
+        this.finalWhistle = kickOff + matchNanos;
+        this.feedPeriod = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / scenario.feedRate()));
+
+        double burstMinutes = BURST_TO_MINUTE - BURST_FROM_MINUTE;
+        double totalWeight = MINUTES - burstMinutes + burstMinutes * scenario.halfTimeBurst();
+        long[] times = new long[2 * SCORE_LIMIT];
+        boolean[] home = new boolean[2 * SCORE_LIMIT];
+        int goals = 0;
+        int homeGoalCount = 0;
+        for (int minute = 0; minute < MINUTES && goals < times.length; minute++) {
+            boolean burst = minute >= BURST_FROM_MINUTE && minute < BURST_TO_MINUTE;
+            double probability = scenario.goalRate() * (burst ? scenario.halfTimeBurst() : 1) / totalWeight;
+            if (random.nextDouble() < probability) {
+                boolean homeGoal = random.nextBoolean();
+                if (homeGoal ? homeGoalCount == SCORE_LIMIT : goals - homeGoalCount == SCORE_LIMIT) {
+                    homeGoal = !homeGoal;
+                }
+                times[goals] = kickOff + (long) ((minute + random.nextDouble()) / MINUTES * matchNanos);
+                home[goals] = homeGoal;
+                homeGoalCount += homeGoal ? 1 : 0;
+                goals++;
+            }
+        }
+        this.goalTimes = Arrays.copyOf(times, goals);
+        this.homeGoals = Arrays.copyOf(home, goals);
+        this.nextFeed = kickOff + random.nextLong(feedPeriod);
+    }
+
+    /**
+     * @return the offset of the next action of the script, or {@link Long#MAX_VALUE} after the final whistle
+     */
+    long nextAt() {
+        if (finished) {
+            return Long.MAX_VALUE;
+        }
+        if (matchId == null) {
+            return kickOff;
+        }
+        long next = Math.min(nextFeed, finalWhistle);
+        return nextGoal < goalTimes.length ? Math.min(next, goalTimes[nextGoal]) : next;
+    }
+
+    /**
+     * Applies the next action of the script to the board: kick-off, goal, repeated score or final whistle.
+     *
+     * @param service the board to apply the action to
+     */
+    void step(ScoreboardService service) {
+        if (matchId == null) {
+            matchId = service.startMatch(homeTeam, awayTeam).id();
+            return;
+        }
+        long next = nextAt();
+        if (next == finalWhistle) {
+            service.finishMatch(matchId);
+            finished = true;
+            return;
+        }
+        if (nextGoal < goalTimes.length && next == goalTimes[nextGoal]) {
+            if (homeGoals[nextGoal++]) {
+                homeScore++;
+            } else {
+                awayScore++;
+            }
+        } else {
+            nextFeed += feedPeriod;
+        }
+        service.updateScore(matchId, homeScore, awayScore);
+    }
+
+    /**
+     * @return the number of goals scored in the match
+     */
+    int goals() {
+        return goalTimes.length;
+    }
+}
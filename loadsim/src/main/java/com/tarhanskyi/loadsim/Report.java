@@ -0,0 +1,60 @@
+package com.tarhanskyi.loadsim;
+
+import com.tarhanskyi.ScoreboardMetrics;
+
+import java.util.Map;
+
+/**
+ * Result of a match day, written as JSON so that runs of different builds can be compared.
+ *
+ * @param scenario       the simulated scenario
+ * @param elapsedSeconds the wall-clock length of the run
+ * @param throughput     the operations applied by the feeds and the dashboards
+ * @param latencyNanos   the latency of every scoreboard operation called during the run, by operation
+ * @param scheduleLag    how late the feeds applied their messages
+ * @param gc             the garbage collections during the run
+ * @param heap           the heap usage before, during and after the run
+ * @param errors         the number of operations that failed unexpectedly
+ */
+public record Report(
+        Scenario scenario,
+        double elapsedSeconds,
+        Throughput throughput,
+        Map<ScoreboardMetrics.Operation, ScoreboardMetrics.Latency> latencyNanos,
+        Lag scheduleLag,
+        Gc gc,
+        Heap heap,
+        long errors
+) {
+
+    /**
+     * @param writes           the number of starts, score updates and finishes
+     * @param reads            the number of summary reads
+     * @param goals            the number of goals scored during the day
+     * @param writesPerSecond  the sustained rate of writes
+     * @param readsPerSecond   the sustained rate of reads
+     */
+    public record Throughput(long writes, long reads, long goals, double writesPerSecond, double readsPerSecond) { }
+
+    /**
+     * @param meanMicros the average delay between the scheduled and the actual time of a feed message
+     * @param maxMillis  the longest such delay
+     */
+    public record Lag(double meanMicros, double maxMillis) { }
+
+    /**
+     * @param collections      the number of collections, including concurrent cycles
+     * @param pauses           the number of stop-the-world pauses
+     * @param totalPauseMillis the total length of the pauses
+     * @param maxPauseMillis   the longest pause
+     */
+    public record Gc(long collections, long pauses, long totalPauseMillis, long maxPauseMillis) { }
+
+    /**
+     * @param startBytes  the used heap before the run, after a full collection
+     * @param endBytes    the used heap after the run, after a full collection
+     * @param peakBytes   the highest used heap sampled during the run
+     * @param growthBytes the heap retained by the run, {@code endBytes - startBytes}
+     */
+    public record Heap(long startBytes, long endBytes, long peakBytes, long growthBytes) { }
+}
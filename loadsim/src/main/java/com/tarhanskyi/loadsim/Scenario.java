@@ -0,0 +1,108 @@
+package com.tarhanskyi.loadsim;
+
+/**
+ * Configuration of a simulated match day.
+ * <p>
+ * Every match lasts {@code matchSeconds} of wall-clock time, which stand for 90 minutes of play.
+ * Kick-offs are spread over the day so that the last match ends when the run ends.
+ * While a match is live, its feed re-sends the current score {@code feedRate} times per second,
+ * and goals arrive {@code goalRate} per match on average, {@code halfTimeBurst} times more often
+ * in the last minutes before half-time.
+ *
+ * @param seed              the seed of every random choice, so runs with the same scenario replay the same day
+ * @param matches           the number of matches played during the day
+ * @param goalRate          the average number of goals per match
+ * @param halfTimeBurst     how many times more likely a goal is in minutes 40–45 than in other minutes
+ * @param feedRate          the score messages per second of a live match
+ * @param writers           the number of feed threads, each owning a share of the matches
+ * @param readers           the number of dashboard threads reading the summary
+ * @param readerPauseMicros the pause of a dashboard between two reads, or zero to read flat out
+ * @param durationSeconds   the length of the day
+ * @param matchSeconds      the length of a match
+ */
+public record Scenario(
+        long seed,
+        int matches,
+        double goalRate,
+        double halfTimeBurst,
+        double feedRate,
+        int writers,
+        int readers,
+        long readerPauseMicros,
+        int durationSeconds,
+        int matchSeconds
+) {
+
+    /**
+     * Constructs a new {@code Scenario} instance.
+     *
+     * @throws IllegalArgumentException if a count or rate is out of range, or a match does not fit the day
+     */
+    public Scenario {
+        require(matches > 0, "matches must be positive");
+        require(goalRate >= 0 && goalRate <= MatchScript.MINUTES, "goalRate must be between 0 and " + MatchScript.MINUTES);
+        require(halfTimeBurst >= 1, "halfTimeBurst must be at least 1");
+        require(feedRate > 0, "feedRate must be positive");
+        require(writers > 0, "writers must be positive");
+        require(readers >= 0, "readers must not be negative");
+        require(readerPauseMicros >= 0, "readerPauseMicros must not be negative");
+        require(matchSeconds > 0, "matchSeconds must be positive");
+        require(durationSeconds >= matchSeconds, "durationSeconds must not be shorter than matchSeconds");
+    }
+
+    /**
+     * @return a one-minute day of 64 matches with 2 feed threads and 4 dashboards
+     */
+    public static Scenario defaults() {
+        return new Scenario(42, 64, 2.7, 3, 50, 2, 4, 0, 60, 20);
+    }
+
+    /**
+     * Reads a scenario from {@code --name=value} arguments; missing values are taken from {@link #defaults()}.
+     *
+     * @param args the command line arguments
+     * @return the scenario
+     * @throws IllegalArgumentException if an argument is unknown, malformed or out of range
+     */
+    public static Scenario parse(String... args) {
+        Scenario defaults = defaults();
+        long seed = defaults.seed;
+        int matches = defaults.matches;
+        double goalRate = defaults.goalRate;
+        double halfTimeBurst = defaults.halfTimeBurst;
+        double feedRate = defaults.feedRate;
+        int writers = defaults.writers;
+        int readers = defaults.readers;
+        long readerPauseMicros = defaults.readerPauseMicros;
+        int durationSeconds = defaults.durationSeconds;
+        int matchSeconds = defaults.matchSeconds;
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            require(arg.startsWith("--") && separator > 2, "expected --name=value, got: " + arg);
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "seed" -> seed = Long.parseLong(value);
+                case "matches" -> matches = Integer.parseInt(value);
+                case "goal-rate" -> goalRate = Double.parseDouble(value);
+                case "half-time-burst" -> halfTimeBurst = Double.parseDouble(value);
+                case "feed-rate" -> feedRate = Double.parseDouble(value);
+                case "writers" -> writers = Integer.parseInt(value);
+                case "readers" -> readers = Integer.parseInt(value);
+                case "reader-pause-micros" -> readerPauseMicros = Long.parseLong(value);
+                case "duration-seconds" -> durationSeconds = Integer.parseInt(value);
+                case "match-seconds" -> matchSeconds = Integer.parseInt(value);
+                case "report" -> { }
+                default -> throw new IllegalArgumentException("unknown option: " + arg);
+            }
+        }
+        return new Scenario(seed, matches, goalRate, halfTimeBurst, feedRate, writers, readers, readerPauseMicros,
+                durationSeconds, matchSeconds);
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
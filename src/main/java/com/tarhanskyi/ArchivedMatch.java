@@ -0,0 +1,25 @@
+package com.tarhanskyi;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Finished match read from a {@link MatchArchive}.
+ *
+ * @param match      the match with its final score
+ * @param finishedAt the moment the match was archived
+ */
+public record ArchivedMatch(Match match, Instant finishedAt) {
+
+    /**
+     * Constructs a new {@code ArchivedMatch} instance.
+     *
+     * @throws NullPointerException if any field is null
+     */
+    public ArchivedMatch {
+        Objects.requireNonNull(match, ErrorMessages.MATCH_NULL);
+        Objects.requireNonNull(finishedAt, ErrorMessages.FINISHED_AT_NULL);
+    }
+}
@@ -0,0 +1,266 @@
+package com.tarhanskyi;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded history of the summary, indexed by the time each version was published.
+ * <p>
+ * Every version is a persistent treap sorted by {@link Match#SUMMARY_ORDER}: a change copies only the path
+ * from the root to the changed match, and shares every other node with the previous version. So the history
+ * costs {@code O(log n)} nodes per change rather than a copy of the board per version, and the summary
+ * at any remembered moment is read by walking one version, without replaying changes.
+ * <p>
+ * Versions are recorded right after their snapshot is published, possibly out of order by concurrent writers;
+ * a version that arrives early waits until the versions before it are applied. The last {@code limit} versions
+ * are kept; older ones are dropped and their nodes collected once no newer version shares them.
+ */
+final class BoardHistory {
+
+    /**
+     * Node of a treap; immutable, so it can be shared by any number of versions.
+     */
+    private record Node(Match match, int priority, Node left, Node right, int size) {
+        Node(Match match, int priority, Node left, Node right) {
+            this(match, priority, left, right, 1 + BoardHistory.size(left) + BoardHistory.size(right));
+        }
+    }
+
+    /**
+     * Changes of one version: the matches taken off the summary, then the matches put on it.
+     */
+    private record Change(long version, long epochNanos, Match[] removed, Match[] added) { }
+
+    private static final Match[] NO_MATCHES = new Match[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Node[] roots;
+    private final long[] epochNanos;
+    /**
+     * Index of the oldest version kept, and number of versions kept.
+     */
+    private int first;
+    private int count;
+    private long latestVersion;
+    private final Map<Long, Change> early = new HashMap<>();
+
+    /**
+     * Creates a history that starts with an empty board.
+     *
+     * @param limit   the number of versions to keep (positive)
+     * @param initial the snapshot of the empty board
+     */
+    BoardHistory(int limit, SummarySnapshot initial) {
+        this.roots = new Node[limit];
+        this.epochNanos = new long[limit];
+        this.latestVersion = initial.version();
+        this.epochNanos[0] = toNanos(initial.timestamp());
+        this.count = 1;
+    }
+
+    /**
+     * Records the change of one match that produced a published snapshot.
+     *
+     * @param published the published snapshot
+     * @param before    the match as it was in the previous snapshot, or {@code null} for a new match
+     * @param after     the match as it is in the published snapshot, or {@code null} for a finished match
+     */
+    void record(SummarySnapshot published, Match before, Match after) {
+        record(new Change(published.version(), toNanos(published.timestamp()),
+                before == null ? NO_MATCHES : new Match[]{before},
+                after == null ? NO_MATCHES : new Match[]{after}));
+    }
+
+    /**
+     * Records the changes of several matches published at once.
+     *
+     * @param published the published snapshot
+     * @param previous  the versions the changed matches had in the previous snapshot, keyed by match ID
+     * @param changes   the latest version of each changed match, keyed by match ID; {@code null} for a finished match
+     */
+    void record(SummarySnapshot published, Map<UUID, Match> previous, Map<UUID, Match> changes) {
+        Match[] added = changes.values().stream().filter(Objects::nonNull).toArray(Match[]::new);
+        record(new Change(published.version(), toNanos(published.timestamp()),
+                previous.values().toArray(NO_MATCHES), added));
+    }
+
+    /**
+     * Returns the summary as it was at a moment, from the last version published at or before it.
+     *
+     * @param moment the moment to look at
+     * @return the matches in summary order (unmodifiable), or {@code null} if the moment is before the oldest
+     * version kept
+     */
+    List<Match> at(Instant moment) {
+        long nanos = toNanos(moment);
+        Node root;
+        lock.lock();
+        try {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (epochNanos[slot(middle)] <= nanos) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if (low == 0) {
+                return null;
+            }
+            root = roots[slot(low - 1)];
+        } finally {
+            lock.unlock();
+        }
+        return Collections.unmodifiableList(Arrays.asList(toArray(root)));
+    }
+
+    /**
+     * @return the moment of the oldest version kept
+     */
+    Instant oldest() {
+        lock.lock();
+        try {
+            long nanos = epochNanos[first];
+            return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Change change) {
+        lock.lock();
+        try {
+            early.put(change.version, change);
+            Change next;
+            while ((next = early.remove(latestVersion + 1)) != null) {
+                apply(next);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        int latest = slot(count - 1);
+        Node root = roots[latest];
+        for (Match match : change.removed) {
+            root = remove(root, match);
+        }
+        for (Match match : change.added) {
+            root = insert(root, match);
+        }
+        long nanos = Math.max(change.epochNanos, epochNanos[latest]);
+        if (count == roots.length) {
+            first = slot(1);
+            count--;
+        }
+        int slot = slot(count);
+        roots[slot] = root;
+        epochNanos[slot] = nanos;
+        count++;
+        latestVersion = change.version;
+    }
+
+    private int slot(int index) {
+        return (first + index) % roots.length;
+    }
+
+    private static Node insert(Node root, Match match) {
+        Node[] parts = split(root, match, false);
+        Node node = new Node(match, priority(match), null, null);
+        return merge(merge(parts[0], node), parts[1]);
+    }
+
+    private static Node remove(Node root, Match match) {
+        Node[] lower = split(root, match, false);
+        Node[] upper = split(lower[1], match, true);
+        return merge(lower[0], upper[1]);
+    }
+
+    /**
+     * Splits a treap into the matches ordered before the given one and the others.
+     *
+     * @param inclusive whether the given match itself goes to the first part
+     * @return the two parts; only the nodes on the path of the split are copied
+     */
+    private static Node[] split(Node node, Match match, boolean inclusive) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int order = Match.SUMMARY_ORDER.compare(node.match, match);
+        if (order < 0 || order == 0 && inclusive) {
+            Node[] parts = split(node.right, match, inclusive);
+            parts[0] = new Node(node.match, node.priority, node.left, parts[0]);
+            return parts;
+        }
+        Node[] parts = split(node.left, match, inclusive);
+        parts[1] = new Node(node.match, node.priority, parts[1], node.right);
+        return parts;
+    }
+
+    /**
+     * Joins two treaps, every match of the first ordered before every match of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority >= second.priority) {
+            return new Node(first.match, first.priority, first.left, merge(first.right, second));
+        }
+        return new Node(second.match, second.priority, merge(first, second.left), second.right);
+    }
+
+    private static Match[] toArray(Node root) {
+        Match[] result = new Match[size(root)];
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int written = 0;
+        while (node != null || !path.isEmpty()) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            result[written++] = node.match;
+            node = node.right;
+        }
+        return result;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * @return a priority derived from the match ID and version, so the shape of a treap does not depend
+     * on the order of the changes
+     */
+    private static int priority(Match match) {
+        long hash = match.id().getMostSignificantBits() ^ match.id().getLeastSignificantBits() ^ match.version();
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32);
+    }
+
+    private static long toNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
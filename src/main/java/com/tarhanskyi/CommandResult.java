@@ -0,0 +1,46 @@
+package com.tarhanskyi;
+
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Result of a single {@link ScoreCommand} applied by {@link ScoreboardService#applyBatch}.
+ *
+ * @param command the applied command
+ * @param match   the match after the command (the final state for a finished match), or {@code null} on failure
+ * @param failure the reason the command was rejected, or {@code null} on success
+ */
+public record CommandResult(
+        ScoreCommand command,
+        Match match,
+        RuntimeException failure
+) {
+    /**
+     * Constructs a new {@code CommandResult} instance.
+     *
+     * @throws NullPointerException     if the command is null
+     * @throws IllegalArgumentException if the result has both or neither a match and a failure
+     */
+    public CommandResult {
+        Objects.requireNonNull(command, ErrorMessages.COMMAND_NULL);
+        if ((match == null) == (failure == null)) {
+            throw new IllegalArgumentException(ErrorMessages.RESULT_STATE);
+        }
+    }
+
+    /**
+     * @return {@code true} if the command was applied
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    static CommandResult success(ScoreCommand command, Match match) {
+        return new CommandResult(command, match, null);
+    }
+
+    static CommandResult failure(ScoreCommand command, RuntimeException failure) {
+        return new CommandResult(command, null, failure);
+    }
+}
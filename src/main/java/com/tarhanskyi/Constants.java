@@ -28,6 +28,8 @@ final class Constants {
      * - Digits
      * - Spaces
      * - Special characters: hyphen, apostrophe, period, ampersand, parentheses, comma, forward slash
+     * <p>
+     * This is the reference definition; validation itself is done by {@link TeamNames} without regex.
      */
     static final String TEAM_NAME_REGEX = String.format("^[\\p{L}\\d\\s-'.&(),/]{1,%s}$", TEAM_NAME_LENGTH_LIMIT);
 
@@ -39,9 +41,39 @@ final class Constants {
         public static final String HOME_TEAM_NULL = "Home team name must not be null";
         public static final String AWAY_TEAM_NULL = "Away team name must not be null";
         public static final String START_TIME_NULL = "Start time must not be null";
+        public static final String TIMESTAMP_NULL = "Timestamp must not be null";
+        public static final String MATCHES_NULL = "Matches must not be null";
+        public static final String MATCH_NULL = "Match must not be null";
+        public static final String COMMAND_NULL = "Command must not be null";
+        public static final String RESULT_STATE = "Result must have either a match or a failure";
+        public static final String STATUS_NULL = "Status must not be null";
+        public static final String SUBSCRIBER_NULL = "Subscriber must not be null";
+        public static final String EXECUTOR_NULL = "Executor must not be null";
+        public static final String PATH_NULL = "Path must not be null";
+        public static final String FSYNC_POLICY_NULL = "Fsync policy must not be null";
+        public static final String JOURNAL_NULL = "Journal must not be null";
+        public static final String OPTIONS_NULL = "Options must not be null";
+        public static final String ID_GENERATOR_NULL = "ID generator must not be null";
+        public static final String FORMAT_NULL = "Format must not be null";
+        public static final String SERVICE_NULL = "Scoreboard service must not be null";
+        public static final String CHANNEL_NULL = "Channel must not be null";
+        public static final String CURSOR_NULL = "Cursor must not be null";
+        public static final String TEAM_NULL = "Team name must not be null";
+        public static final String PREFIX_NULL = "Team name prefix must not be null";
+        public static final String CHANGE_KIND_NULL = "Change kind must not be null";
+        public static final String CHANGES_NULL = "Changes must not be null";
+        public static final String NEGATIVE_VERSION = "Version must not be negative: %d";
+        public static final String MOMENT_NULL = "Moment must not be null";
+        public static final String HISTORY_LIMIT_RANGE = "History limit must not be negative: %d";
+        public static final String HISTORY_DISABLED = "Summary history is not kept by this scoreboard";
+        public static final String MOMENT_NOT_KEPT = "No summary is kept for %s, the oldest is from %s";
+        public static final String FINISHED_AT_NULL = "Finish time must not be null";
 
         public static final String MATCH_ALREADY_EXISTS = "Match already exists for a team: %s";
         public static final String MATCH_NOT_FOUND = "Match not found with ID: %s";
+        public static final String COMPETITION_NOT_FOUND = "Competition not found: %s";
+        public static final String COMPETITION_EXISTS = "Competition already exists: %s";
+        public static final String VERSION_MISMATCH = "Match %s was changed, expected version: %d, actual: %d";
         public static final String TOO_MANY_ACTIVE = "Too many active matches, current: %s, limit: %s";
         public static final String MATCH_ID = "Match ID must not be null";
         public static final String SAME_TEAMS = "Team names must be different: %s";
@@ -51,6 +83,39 @@ final class Constants {
 
         public static final String HOME_SCORE_RANGE = "Home score out of range: %d";
         public static final String AWAY_SCORE_RANGE = "Away score out of range: %d";
+
+        public static final String NEGATIVE_COUNT = "Count must not be negative: %d";
+        public static final String NEGATIVE_OFFSET = "Offset must not be negative: %d";
+        public static final String FOREIGN_CURSOR = "Cursor belongs to another scoreboard";
+        public static final String MATCHES_LIMIT_RANGE = "Matches limit must be positive: %d";
+        public static final String BUFFER_SIZE_RANGE = "Buffer size must be positive: %d";
+        public static final String NON_POSITIVE_REQUEST = "Requested number of events must be positive: %d";
+        public static final String BUFFER_OVERFLOW = "Subscriber buffer overflow, capacity: %d";
+
+        public static final String DICTIONARY_FULL = "Team dictionary is full, capacity: %d";
+        public static final String INVALID_TEAM_REFERENCE = "Invalid team reference: %d";
+        public static final String TEAM_NAME_SIZE = "Team name of %d bytes is too long, limit: %d";
+
+        public static final String JOURNAL_FORMAT = "Not a scoreboard journal file";
+        public static final String JOURNAL_CLOSED = "Journal is closed";
+        public static final String JOURNAL_NAME_SIZE = "Team name of %d bytes is too long for the journal, limit: %d";
+        public static final String JOURNAL_RECORD_SIZE = "Journal record of %d bytes does not fit a region, limit: %d";
+        public static final String SNAPSHOT_FORMAT = "Not a scoreboard snapshot file";
+        public static final String SNAPSHOT_CORRUPTED = "Scoreboard snapshot file is corrupted";
+        public static final String JOURNAL_ATTACHED = "Journal is already attached to a scoreboard";
+
+        public static final String LANES_RANGE = "Number of lanes must be positive: %d";
+        public static final String QUEUE_CAPACITY_RANGE = "Queue capacity must be positive: %d";
+        public static final String FEED_CLOSED = "Feed ingestor is closed";
+        public static final String PIPELINE_CAPACITY_RANGE = "Pipeline capacity must be a positive power of two: %d";
+        public static final String BATCH_SIZE_RANGE = "Batch size must be positive: %d";
+        public static final String PIPELINE_CLOSED = "Scoreboard pipeline is closed";
+
+        public static final String ARCHIVE_FORMAT = "Not a match archive file";
+        public static final String ARCHIVE_CLOSED = "Match archive is closed";
+        public static final String ARCHIVE_CORRUPTED = "Match archive file is corrupted";
+        public static final String FINISH_ORDER = "Finish time %s is before the last archived finish time %s";
+        public static final String MATCH_DURATION_RANGE = "Match duration out of range: %s";
     }
 
 }
@@ -0,0 +1,462 @@
+package com.tarhanskyi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Ingestion stage that reads a line-oriented score feed and applies it to a {@link ScoreboardService}.
+ * <p>
+ * Lines are read from a blocking {@link InputStream} or {@link ReadableByteChannel} on the calling thread.
+ * They have the format below, with matches identified by their teams:
+ * <pre>
+ * START|home team|away team
+ * SCORE|home team|away team|home score|away score
+ * FINISH|home team|away team
+ * </pre>
+ * Parsing reuses the read buffer and the team names already seen, so lines of known teams allocate nothing.
+ * <p>
+ * Each line is queued to one of several lanes, picked by its home team, and every lane applies its commands
+ * in order on its own virtual thread. So all commands of a match are applied in the order they were read,
+ * and commands of different matches are applied in parallel. A line whose teams were last queued to another
+ * lane waits until that command has been applied, so {@code FINISH|A|B} followed by {@code START|C|A} is never
+ * reordered. The lanes are bounded ring buffers of primitive slots: when a lane is full, the reader waits,
+ * which stops reading the feed and pushes back on its source.
+ * <p>
+ * Commands are applied with the {@code try*} methods of the board, so rejected commands are counted
+ * in {@link #stats()} and never stop the feed; malformed lines are counted and skipped.
+ */
+public final class FeedIngestor implements AutoCloseable {
+
+    /**
+     * Default number of lanes.
+     */
+    public static final int DEFAULT_LANES = 16;
+
+    /**
+     * Default capacity of each lane, in commands.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Counters of an ingestor.
+     *
+     * @param received          the number of well-formed lines read
+     * @param applied           the number of commands applied to the board
+     * @param rejected          the number of commands the board rejected
+     * @param malformed         the number of lines that could not be parsed
+     * @param appliedPerSecond  the applied commands per second since the first line was read
+     */
+    public record Stats(long received, long applied, long rejected, long malformed, double appliedPerSecond) { }
+
+    private final ScoreboardService service;
+    private final Lane[] lanes;
+    private final List<Thread> threads = new ArrayList<>();
+
+    /**
+     * The last command queued for each team, as {@code sequence * lanes + lane}.
+     */
+    private final Map<String, AtomicLong> lastCommands = new ConcurrentHashMap<>();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+    private volatile long startedNanos;
+
+    /**
+     * Creates an ingestor with {@value #DEFAULT_LANES} lanes of {@value #DEFAULT_QUEUE_CAPACITY} commands.
+     *
+     * @param service the board to apply the feed to
+     * @throws NullPointerException if the service is null
+     */
+    public FeedIngestor(ScoreboardService service) {
+        this(service, DEFAULT_LANES, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates an ingestor and starts the virtual threads of its lanes.
+     *
+     * @param service       the board to apply the feed to
+     * @param lanes         the number of lanes applying commands in parallel (positive)
+     * @param queueCapacity the number of commands a lane holds before the reader waits (positive)
+     * @throws IllegalArgumentException if the number of lanes or the capacity is not positive
+     * @throws NullPointerException     if the service is null
+     */
+    public FeedIngestor(ScoreboardService service, int lanes, int queueCapacity) {
+        this.service = Objects.requireNonNull(service, ErrorMessages.SERVICE_NULL);
+        if (lanes <= 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.LANES_RANGE, lanes));
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.QUEUE_CAPACITY_RANGE, queueCapacity));
+        }
+        this.lanes = new Lane[lanes];
+        Thread.Builder builder = Thread.ofVirtual().name("feed-lane-", 0);
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane(queueCapacity);
+            threads.add(builder.start(this.lanes[i]));
+        }
+    }
+
+    /**
+     * Reads the stream to its end and queues its lines, waiting whenever a lane is full.
+     * Returns once the last line is queued; use {@link #awaitApplied()} to wait until it is applied.
+     *
+     * @param in the feed
+     * @return the number of lines read, including malformed ones
+     * @throws IOException           if the stream cannot be read, or the thread is interrupted while waiting
+     * @throws IllegalStateException if the ingestor is closed
+     * @throws NullPointerException  if the stream is null
+     */
+    public long ingest(InputStream in) throws IOException {
+        return ingest(Channels.newChannel(Objects.requireNonNull(in, ErrorMessages.CHANNEL_NULL)));
+    }
+
+    /**
+     * Reads the channel to its end and queues its lines, waiting whenever a lane is full.
+     * Returns once the last line is queued; use {@link #awaitApplied()} to wait until it is applied.
+     * Several feeds can be ingested at the same time from different threads.
+     *
+     * @param channel the feed, in blocking mode
+     * @return the number of lines read, including malformed ones
+     * @throws IOException           if the channel cannot be read, or the thread is interrupted while waiting
+     * @throws IllegalStateException if the ingestor is closed
+     * @throws NullPointerException  if the channel is null
+     */
+    public long ingest(ReadableByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel, ErrorMessages.CHANNEL_NULL);
+        if (startedNanos == 0) {
+            startedNanos = System.nanoTime();
+        }
+        FeedLineParser parser = new FeedLineParser();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        long lines = 0;
+        boolean skipping = false;
+        boolean end = false;
+        try {
+            while (!end) {
+                end = channel.read(buffer) == -1;
+                int limit = buffer.position();
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        if (!skipping) {
+                            lines += dispatch(parser, bytes, lineStart, i);
+                        }
+                        skipping = false;
+                        lineStart = i + 1;
+                    }
+                }
+                if (end && lineStart < limit && !skipping) {
+                    lines += dispatch(parser, bytes, lineStart, limit);
+                    lineStart = limit;
+                }
+                int remaining = limit - lineStart;
+                if (remaining > FeedLineParser.MAX_LINE_LENGTH + 1) {
+                    // too long to be a command: drop it up to the next line separator
+                    if (!skipping) {
+                        malformed.increment();
+                        lines++;
+                    }
+                    skipping = true;
+                    remaining = 0;
+                }
+                System.arraycopy(bytes, lineStart, bytes, 0, remaining);
+                buffer.position(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        return lines;
+    }
+
+    /**
+     * Waits until every command queued so far has been applied.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitApplied() throws InterruptedException {
+        for (Lane lane : lanes) {
+            lane.awaitDrained();
+        }
+    }
+
+    /**
+     * @return the current counters of this ingestor
+     */
+    public Stats stats() {
+        long appliedCount = applied.sum();
+        long started = startedNanos;
+        double seconds = started == 0 ? 0 : (System.nanoTime() - started) / 1e9;
+        return new Stats(received.sum(), appliedCount, rejected.sum(), malformed.sum(),
+                seconds == 0 ? 0 : appliedCount / seconds);
+    }
+
+    /**
+     * Applies the commands already queued and stops the lanes. Feeds being ingested fail once they queue
+     * another command. If the calling thread is interrupted while waiting, it keeps waiting and its interrupt
+     * status is restored on return.
+     */
+    @Override
+    public void close() {
+        for (Lane lane : lanes) {
+            lane.close();
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parses a line and queues it to the lane of its home team, once the last commands of both its teams
+     * queued to other lanes have been applied.
+     *
+     * @return 1 if the line was counted, or 0 for an empty line
+     */
+    private int dispatch(FeedLineParser parser, byte[] bytes, int from, int to) throws InterruptedException {
+        if (to == from || to == from + 1 && bytes[from] == '\r') {
+            return 0;
+        }
+        if (!parser.parse(bytes, from, to)) {
+            malformed.increment();
+            return 1;
+        }
+        received.increment();
+        int index = Math.floorMod(parser.homeTeam.hashCode(), lanes.length);
+        awaitLastCommand(parser.homeTeam, index);
+        awaitLastCommand(parser.awayTeam, index);
+        long sequence = lanes[index].put(parser.kind, parser.homeTeam, parser.awayTeam,
+                parser.homeScore, parser.awayScore);
+        long last = sequence * lanes.length + index;
+        lastCommands.computeIfAbsent(parser.homeTeam, team -> new AtomicLong()).set(last);
+        lastCommands.computeIfAbsent(parser.awayTeam, team -> new AtomicLong()).set(last);
+        return 1;
+    }
+
+    /**
+     * Waits until the last command of the team has been applied, unless it was queued to the given lane,
+     * which applies it before anything queued next.
+     */
+    private void awaitLastCommand(String team, int index) throws InterruptedException {
+        AtomicLong last = lastCommands.get(team);
+        if (last == null) {
+            return;
+        }
+        long value = last.get();
+        int lastIndex = (int) (value % lanes.length);
+        if (lastIndex != index) {
+            lanes[lastIndex].awaitApplied(value / lanes.length);
+        }
+    }
+
+    /**
+     * Applies one command to the board with the matching {@code try*} method.
+     */
+    private void apply(byte kind, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        ScoreboardResult result;
+        try {
+            if (kind == FeedLineParser.START) {
+                result = service.tryStartMatch(homeTeam, awayTeam);
+            } else {
+                UUID matchId = service.findMatchId(homeTeam, awayTeam);
+                if (matchId == null) {
+                    result = ScoreboardResult.NOT_FOUND;
+                } else if (kind == FeedLineParser.SCORE) {
+                    result = service.tryUpdateScore(matchId, homeScore, awayScore);
+                } else {
+                    result = service.tryFinishMatch(matchId);
+                }
+            }
+        } catch (RuntimeException e) {
+            // a failing listener must not stop the lane
+            result = ScoreboardResult.INVALID_ARGUMENT;
+        }
+        if (result.isSuccess()) {
+            applied.increment();
+        } else {
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Bounded FIFO of commands, stored in parallel arrays so queueing a command allocates nothing,
+     * and the virtual thread applying them.
+     */
+    private final class Lane implements Runnable {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Condition drained = lock.newCondition();
+
+        private final byte[] kinds;
+        private final String[] homeTeams;
+        private final String[] awayTeams;
+        private final int[] homeScores;
+        private final int[] awayScores;
+
+        private int head;
+        private int size;
+
+        /**
+         * Commands queued and not yet applied, including the one being applied.
+         */
+        private int pending;
+
+        /**
+         * Commands ever queued and ever applied; the sequence of a command is the value of {@code queued}
+         * once it is queued.
+         */
+        private long queued;
+        private long done;
+        private int waiters;
+        private boolean closed;
+
+        Lane(int capacity) {
+            kinds = new byte[capacity];
+            homeTeams = new String[capacity];
+            awayTeams = new String[capacity];
+            homeScores = new int[capacity];
+            awayScores = new int[capacity];
+        }
+
+        /**
+         * @return the sequence of the queued command in this lane
+         */
+        long put(byte kind, String homeTeam, String awayTeam, int homeScore, int awayScore)
+                throws InterruptedException {
+            lock.lock();
+            try {
+                while (size == kinds.length && !closed) {
+                    notFull.await();
+                }
+                if (closed) {
+                    throw new IllegalStateException(ErrorMessages.FEED_CLOSED);
+                }
+                int tail = (head + size) % kinds.length;
+                kinds[tail] = kind;
+                homeTeams[tail] = homeTeam;
+                awayTeams[tail] = awayTeam;
+                homeScores[tail] = homeScore;
+                awayScores[tail] = awayScore;
+                size++;
+                pending++;
+                notEmpty.signal();
+                return ++queued;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            boolean applying = false;
+            while (true) {
+                byte kind;
+                String homeTeam;
+                String awayTeam;
+                int homeScore;
+                int awayScore;
+                lock.lock();
+                try {
+                    if (applying) {
+                        done++;
+                        if (--pending == 0 || waiters > 0) {
+                            drained.signalAll();
+                        }
+                    }
+                    while (size == 0 && !closed) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (size == 0) {
+                        return;
+                    }
+                    kind = kinds[head];
+                    homeTeam = homeTeams[head];
+                    awayTeam = awayTeams[head];
+                    homeScore = homeScores[head];
+                    awayScore = awayScores[head];
+                    homeTeams[head] = null;
+                    awayTeams[head] = null;
+                    head = (head + 1) % kinds.length;
+                    size--;
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+                apply(kind, homeTeam, awayTeam, homeScore, awayScore);
+                applying = true;
+            }
+        }
+
+        void awaitDrained() throws InterruptedException {
+            lock.lock();
+            try {
+                while (pending > 0) {
+                    drained.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Waits until the command with the given sequence, and so every command before it, has been applied.
+         */
+        void awaitApplied(long sequence) throws InterruptedException {
+            lock.lock();
+            try {
+                waiters++;
+                try {
+                    while (done < sequence) {
+                        drained.await();
+                    }
+                } finally {
+                    waiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
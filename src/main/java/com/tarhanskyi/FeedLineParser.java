@@ -0,0 +1,167 @@
+package com.tarhanskyi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parser of feed lines that reuses its fields and the team names it has seen, so a line of known teams
+ * is parsed without allocating.
+ * <p>
+ * A line is one of, with {@code |} as separator:
+ * <pre>
+ * START|home team|away team
+ * SCORE|home team|away team|home score|away score
+ * FINISH|home team|away team
+ * </pre>
+ * The fields of the last successfully parsed line are read from the parser. A parser is not thread-safe.
+ */
+final class FeedLineParser {
+
+    static final byte START = 1;
+    static final byte SCORE = 2;
+    static final byte FINISH = 3;
+
+    /**
+     * Longest line accepted, in bytes; longer lines are malformed.
+     */
+    static final int MAX_LINE_LENGTH = 512;
+
+    private static final byte SEPARATOR = '|';
+    private static final byte[] START_KEYWORD = "START".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SCORE_KEYWORD = "SCORE".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FINISH_KEYWORD = "FINISH".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Largest number of distinct team names kept; the cache is cleared when it is full.
+     */
+    private static final int NAMES_LIMIT = 1024;
+    private static final int MAX_SCORE_DIGITS = 9;
+
+    private final byte[][] nameBytes = new byte[2 * NAMES_LIMIT][];
+    private final String[] names = new String[2 * NAMES_LIMIT];
+    private int namesCount;
+
+    byte kind;
+    String homeTeam;
+    String awayTeam;
+    int homeScore;
+    int awayScore;
+
+    /**
+     * Parses the bytes of one line, without its line separator.
+     *
+     * @param line the buffer holding the line
+     * @param from the index of the first byte of the line
+     * @param to   the index after the last byte of the line
+     * @return {@code true} if the line is well-formed and its fields were stored in the parser
+     */
+    boolean parse(byte[] line, int from, int to) {
+        if (to > from && line[to - 1] == '\r') {
+            to--;
+        }
+        if (to - from > MAX_LINE_LENGTH) {
+            return false;
+        }
+        int separator = indexOf(line, from, to);
+        byte parsedKind;
+        if (matches(line, from, separator, START_KEYWORD)) {
+            parsedKind = START;
+        } else if (matches(line, from, separator, SCORE_KEYWORD)) {
+            parsedKind = SCORE;
+        } else if (matches(line, from, separator, FINISH_KEYWORD)) {
+            parsedKind = FINISH;
+        } else {
+            return false;
+        }
+
+        int homeFrom = separator + 1;
+        int homeTo = indexOf(line, homeFrom, to);
+        if (homeTo >= to || homeTo == homeFrom) {
+            return false;
+        }
+        int awayFrom = homeTo + 1;
+        int awayTo = indexOf(line, awayFrom, to);
+        if (awayTo == awayFrom || (parsedKind == SCORE) == (awayTo >= to)) {
+            return false;
+        }
+        int parsedHomeScore = 0;
+        int parsedAwayScore = 0;
+        if (parsedKind == SCORE) {
+            int homeScoreTo = indexOf(line, awayTo + 1, to);
+            if (homeScoreTo >= to) {
+                return false;
+            }
+            parsedHomeScore = parseScore(line, awayTo + 1, homeScoreTo);
+            parsedAwayScore = parseScore(line, homeScoreTo + 1, to);
+            if (parsedHomeScore < 0 || parsedAwayScore < 0) {
+                return false;
+            }
+        }
+
+        kind = parsedKind;
+        homeTeam = name(line, homeFrom, homeTo);
+        awayTeam = name(line, awayFrom, awayTo);
+        homeScore = parsedHomeScore;
+        awayScore = parsedAwayScore;
+        return true;
+    }
+
+    private static int indexOf(byte[] line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (line[i] == SEPARATOR) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static boolean matches(byte[] line, int from, int to, byte[] keyword) {
+        return Arrays.equals(line, from, to, keyword, 0, keyword.length);
+    }
+
+    /**
+     * @return the decimal number, or -1 if the field is empty, too long or not a number
+     */
+    private static int parseScore(byte[] line, int from, int to) {
+        if (from == to || to - from > MAX_SCORE_DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached team name with the given UTF-8 bytes, decoding and caching it the first time it is seen.
+     */
+    private String name(byte[] line, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + line[i];
+        }
+        int mask = names.length - 1;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (nameBytes[slot] != null) {
+            if (Arrays.equals(nameBytes[slot], 0, nameBytes[slot].length, line, from, to)) {
+                return names[slot];
+            }
+            slot = slot + 1 & mask;
+        }
+        if (namesCount == NAMES_LIMIT) {
+            Arrays.fill(nameBytes, null);
+            Arrays.fill(names, null);
+            namesCount = 0;
+            slot = (hash ^ hash >>> 16) & mask;
+        }
+        nameBytes[slot] = Arrays.copyOfRange(line, from, to);
+        names[slot] = new String(line, from, to - from, StandardCharsets.UTF_8);
+        namesCount++;
+        return names[slot];
+    }
+}
@@ -0,0 +1,89 @@
+package com.tarhanskyi;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds with logarithmic buckets.
+ * <p>
+ * Latencies below {@value #LINEAR_LIMIT} ns have a bucket each; above, every power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so a percentile is reported within 12.5% of the recorded latency.
+ * Recording is a single atomic increment in a stripe of buckets picked by the calling thread, so threads
+ * recording the same latency do not contend; stripes are summed and percentiles computed when the histogram is read.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int LINEAR_BITS = Integer.numberOfTrailingZeros(LINEAR_LIMIT);
+    private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(STRIPES * BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos the latency to record; negative latencies are recorded as zero
+     */
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        int stripe = (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 32) & (STRIPES - 1);
+        buckets.getAndIncrement(stripe * BUCKETS + bucket(value));
+        max.accumulate(value);
+    }
+
+    /**
+     * @return the count, percentiles and maximum of the recorded latencies
+     */
+    ScoreboardMetrics.Latency stats() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < STRIPES * BUCKETS; i++) {
+            long bucketCount = buckets.get(i);
+            counts[i % BUCKETS] += bucketCount;
+            count += bucketCount;
+        }
+        long maxNanos = max.get();
+        return new ScoreboardMetrics.Latency(count, percentile(counts, count, 0.5, maxNanos),
+                percentile(counts, count, 0.99, maxNanos), percentile(counts, count, 0.999, maxNanos), maxNanos);
+    }
+
+    private static long percentile(long[] counts, long count, double quantile, long maxNanos) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    static int bucket(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest latency that falls into the bucket
+     */
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -1,28 +1,48 @@
 package com.tarhanskyi;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.UUID;
 
 import static com.tarhanskyi.Constants.ErrorMessages;
 import static com.tarhanskyi.Constants.SCORE_LIMIT;
-import static com.tarhanskyi.Constants.TEAM_NAME_REGEX;
 
 /**
  * Immutable representation of a football match, including participating teams,
- * their scores, match ID, and start time.
+ * their scores, match ID, start time, and version.
  * <p>
- * This record enforces validation rules on construction, such as score limits,
- * unique team names, and valid formatting for team names.
+ * The version starts at zero and grows by one with every score change,
+ * so it can be used for conditional updates.
+ * <p>
+ * This class enforces validation rules on construction, such as score limits,
+ * unique team names, and valid formatting for team names. The team names are validated once,
+ * when the match is created; copies with a new score reuse them and check only the scores.
+ * Two matches are equal when all their fields are equal.
  */
-public record Match(
-        UUID id,
-        String homeTeam,
-        String awayTeam,
-        int homeScore,
-        int awayScore,
-        Instant startTime
-) {
+public final class Match {
+    /**
+     * Ordering used by the scoreboard summary:
+     * <ul>
+     *     <li>Total score (bigger first)</li>
+     *     <li>Start time (the most recent first)</li>
+     *     <li>Match ID, so that two distinct matches never compare as equal</li>
+     * </ul>
+     */
+    static final Comparator<Match> SUMMARY_ORDER = Comparator
+            .comparingInt(Match::totalScore)
+            .thenComparing(Match::startTime)
+            .reversed()
+            .thenComparing(Match::id);
+
+    private final UUID id;
+    private final String homeTeam;
+    private final String awayTeam;
+    private final int homeScore;
+    private final int awayScore;
+    private final Instant startTime;
+    private final long version;
+
     /**
      * Constructs a new {@code Match} instance and validates its parameters.
      *
@@ -32,46 +52,157 @@ public record Match(
      * @param homeScore  the home team's score (must be between 0 and {@code SCORE_LIMIT})
      * @param awayScore  the away team's score (must be between 0 and {@code SCORE_LIMIT})
      * @param startTime  the start time of the match (non-null)
+     * @param version    the number of score changes applied to the match
      * @throws NullPointerException     if any required field is null
      * @throws IllegalArgumentException if team names are invalid, identical, or scores are out of bounds
      */
-    public Match {
+    public Match(UUID id, String homeTeam, String awayTeam, int homeScore, int awayScore, Instant startTime,
+                 long version) {
         Objects.requireNonNull(id, ErrorMessages.MATCH_ID);
-        Objects.requireNonNull(homeTeam, ErrorMessages.HOME_TEAM_NULL);
-        Objects.requireNonNull(awayTeam, ErrorMessages.AWAY_TEAM_NULL);
         Objects.requireNonNull(startTime, ErrorMessages.START_TIME_NULL);
+        validateTeams(homeTeam, awayTeam);
+        validateScores(homeScore, awayScore);
+        this.id = id;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        this.startTime = startTime;
+        this.version = version;
+    }
+
+    /**
+     * Constructs a new {@code Match} instance with version zero.
+     *
+     * @see #Match(UUID, String, String, int, int, Instant, long)
+     */
+    public Match(UUID id, String homeTeam, String awayTeam, int homeScore, int awayScore, Instant startTime) {
+        this(id, homeTeam, awayTeam, homeScore, awayScore, startTime, 0);
+    }
+
+    /**
+     * Copies a match with new scores and the given version.
+     * The teams of {@code match} were validated when it was created, so only the scores are checked.
+     *
+     * @throws IllegalArgumentException if any of the scores is out of bounds
+     */
+    private Match(Match match, int homeScore, int awayScore, long version) {
+        validateScores(homeScore, awayScore);
+        this.id = match.id;
+        this.homeTeam = match.homeTeam;
+        this.awayTeam = match.awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        this.startTime = match.startTime;
+        this.version = version;
+    }
+
+    /**
+     * @return the unique identifier of the match
+     */
+    public UUID id() {
+        return id;
+    }
 
-        String homeTrimmed = homeTeam.trim();
-        String awayTrimmed = awayTeam.trim();
+    /**
+     * @return the name of the home team, as given when the match was created
+     */
+    public String homeTeam() {
+        return homeTeam;
+    }
 
-        if (homeTrimmed.equals(awayTrimmed)) {
+    /**
+     * @return the name of the away team, as given when the match was created
+     */
+    public String awayTeam() {
+        return awayTeam;
+    }
+
+    /**
+     * @return the home team's score
+     */
+    public int homeScore() {
+        return homeScore;
+    }
+
+    /**
+     * @return the away team's score
+     */
+    public int awayScore() {
+        return awayScore;
+    }
+
+    /**
+     * @return the start time of the match
+     */
+    public Instant startTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the number of score changes applied to the match
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Calculates the total score of the match.
+     *
+     * @return the sum of the home and away team scores
+     */
+    public int totalScore() {
+        return homeScore + awayScore;
+    }
+
+    /**
+     * Checks that both team names are valid and different.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @throws NullPointerException     if any of the names is null
+     * @throws IllegalArgumentException if team names are invalid or identical
+     */
+    static void validateTeams(String homeTeam, String awayTeam) {
+        Objects.requireNonNull(homeTeam, ErrorMessages.HOME_TEAM_NULL);
+        Objects.requireNonNull(awayTeam, ErrorMessages.AWAY_TEAM_NULL);
+
+        if (TeamNames.isSameTeam(homeTeam, awayTeam)) {
             throw new IllegalArgumentException(String.format(ErrorMessages.SAME_TEAMS, homeTeam));
         }
 
-        if (!homeTrimmed.matches(TEAM_NAME_REGEX)) {
+        if (!TeamNames.isValid(homeTeam)) {
             throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_HOME_TEAM, homeTeam));
         }
 
-        if (!awayTrimmed.matches(TEAM_NAME_REGEX)) {
+        if (!TeamNames.isValid(awayTeam)) {
             throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_AWAY_TEAM, awayTeam));
         }
+    }
 
-        if (homeScore < 0 || homeScore > SCORE_LIMIT) {
+    /**
+     * Checks that both scores are between 0 and {@code SCORE_LIMIT}.
+     *
+     * @param homeScore the home team's score
+     * @param awayScore the away team's score
+     * @throws IllegalArgumentException if any of the scores is out of bounds
+     */
+    static void validateScores(int homeScore, int awayScore) {
+        if (!isValidScore(homeScore)) {
             throw new IllegalArgumentException(String.format(ErrorMessages.HOME_SCORE_RANGE, homeScore));
         }
 
-        if (awayScore < 0 || awayScore > SCORE_LIMIT) {
+        if (!isValidScore(awayScore)) {
             throw new IllegalArgumentException(String.format(ErrorMessages.AWAY_SCORE_RANGE, awayScore));
         }
     }
 
     /**
-     * Calculates the total score of the match.
-     *
-     * @return the sum of the home and away team scores
+     * @param score the score of a team
+     * @return {@code true} if the score is between 0 and {@code SCORE_LIMIT}
      */
-    public int totalScore() {
-        return homeScore + awayScore;
+    static boolean isValidScore(int score) {
+        return score >= 0 && score <= SCORE_LIMIT;
     }
 
     /**
@@ -83,26 +214,62 @@ public record Match(
      * @return a new {@code Match} instance
      */
     static Match start(String homeTeam, String awayTeam) {
-        return new Match(UUID.randomUUID(), homeTeam, awayTeam, 0, 0, Instant.now());
+        return start(UUID.randomUUID(), homeTeam, awayTeam);
+    }
+
+    /**
+     * Factory method for starting a new match with the given ID.
+     *
+     * @see #start(String, String)
+     */
+    static Match start(UUID id, String homeTeam, String awayTeam) {
+        return new Match(id, homeTeam, awayTeam, 0, 0, Instant.now());
     }
 
     /**
      * Factory method for updating the score of an existing match.
-     * Returns a new {@code Match} instance with updated scores.
+     * Returns a new {@code Match} instance with updated scores and the next version,
+     * or the original match if the scores did not change.
      *
      * @param match      the original match to update
      * @param homeScore  the new score for the home team
      * @param awayScore  the new score for the away team
-     * @return a new {@code Match} instance with updated scores
+     * @return a {@code Match} instance with updated scores
      */
     static Match updateScore(Match match, int homeScore, int awayScore) {
-        return new Match(
-                match.id(),
-                match.homeTeam(),
-                match.awayTeam(),
-                homeScore,
-                awayScore,
-                match.startTime()
-        );
+        if (match.homeScore() == homeScore && match.awayScore() == awayScore) {
+            return match;
+        }
+        return new Match(match, homeScore, awayScore, match.version() + 1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Match match
+                && homeScore == match.homeScore
+                && awayScore == match.awayScore
+                && version == match.version
+                && id.equals(match.id)
+                && homeTeam.equals(match.homeTeam)
+                && awayTeam.equals(match.awayTeam)
+                && startTime.equals(match.startTime);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id.hashCode();
+        result = 31 * result + homeTeam.hashCode();
+        result = 31 * result + awayTeam.hashCode();
+        result = 31 * result + homeScore;
+        result = 31 * result + awayScore;
+        result = 31 * result + startTime.hashCode();
+        return 31 * result + Long.hashCode(version);
+    }
+
+    @Override
+    public String toString() {
+        return "Match[id=" + id + ", homeTeam=" + homeTeam + ", awayTeam=" + awayTeam
+                + ", homeScore=" + homeScore + ", awayScore=" + awayScore
+                + ", startTime=" + startTime + ", version=" + version + "]";
     }
 }
@@ -0,0 +1,770 @@
+package com.tarhanskyi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Append-only store of finished matches, kept in columns so millions of results fit in little memory
+ * and can be queried in milliseconds.
+ * <p>
+ * Matches are stored in chunks of up to {@code CHUNK_SIZE} rows. Each column of a chunk is a primitive array:
+ * team names are replaced by IDs of a shared dictionary, scores are bytes, and finish times are
+ * {@code int} millisecond offsets from the first finish time of the chunk, with the start time stored
+ * as the duration of the match. Times are therefore kept with millisecond precision.
+ * <p>
+ * An archive opened on a file spills every full chunk to the end of the file on a background thread
+ * and then reads it through a memory mapping instead of the heap; only the indexes stay on the heap.
+ * Reopening the file restores the archive. The indexes answer the queries without scanning:
+ * <ul>
+ *     <li>matches by total score, for {@link #topScoring(int)}</li>
+ *     <li>matches by team, for {@link #findByTeam(String, int)}</li>
+ *     <li>finish times never decrease, so {@link #finishedBetween(Instant, Instant, int)} is a binary search</li>
+ * </ul>
+ * An archive is thread-safe; queries run in parallel with each other and are blocked only while
+ * a match is being added.
+ */
+public final class MatchArchive implements AutoCloseable {
+
+    /**
+     * Number of rows of a full chunk.
+     */
+    static final int CHUNK_SIZE = 16_384;
+
+    /**
+     * Layout of a file, big-endian: magic and format version ({@code int}s), then one block per chunk.
+     * A block is its row count and the number of team names it adds to the dictionary ({@code int}s),
+     * the names (UTF-8, prefixed with their {@code int} length), the base finish time ({@code long} millis),
+     * the columns one after another and a CRC32C of everything before it in the block.
+     * Files of format version 1 prefixed the names with an unsigned {@code short} and are still read.
+     * A torn last block is truncated on open.
+     */
+    private static final int MAGIC = 0x53424131;
+    private static final int FORMAT_VERSION = 2;
+    private static final int SHORT_NAMES_FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int ROW_SIZE = 3 * Long.BYTES + 4 * Integer.BYTES + 2 * Byte.BYTES;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final IntList chunkStarts = new IntList();
+    private HeapChunk open;
+    private int size;
+    private long lastFinishMillis = Long.MIN_VALUE;
+
+    private final IntList[] byTotalScore = new IntList[2 * Constants.SCORE_LIMIT + 1];
+    private final List<IntList> byTeam = new ArrayList<>();
+
+    private final FileChannel file;
+    private final ExecutorService spiller;
+    /**
+     * Number of dictionary names written, or handed to the spiller to be written, to the file.
+     */
+    private int spilledNames;
+    private volatile IOException spillFailure;
+    private boolean closed;
+
+    private final ScoreboardListener recorder = new Recorder();
+
+    /**
+     * Creates an empty archive kept on the heap.
+     */
+    public MatchArchive() {
+        this(null);
+    }
+
+    private MatchArchive(FileChannel file) {
+        for (int total = 0; total < byTotalScore.length; total++) {
+            byTotalScore[total] = new IntList();
+        }
+        this.file = file;
+        this.spiller = file == null ? null
+                : Executors.newSingleThreadExecutor(Thread.ofVirtual().name("match-archive-spill").factory());
+    }
+
+    /**
+     * Opens an archive that spills its chunks to a file, creating the file if it does not exist
+     * and loading the matches it already holds.
+     *
+     * @param path the archive file
+     * @return the archive, to be closed to write the last chunk
+     * @throws IOException          if the file cannot be opened or is not an archive
+     * @throws NullPointerException if the path is null
+     */
+    public static MatchArchive open(Path path) throws IOException {
+        Objects.requireNonNull(path, ErrorMessages.PATH_NULL);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MatchArchive archive = new MatchArchive(channel);
+            archive.load();
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a finished match to the archive.
+     *
+     * @param match      the match with its final score
+     * @param finishedAt the moment the match finished, not before the last archived match and not before its start
+     * @throws IllegalArgumentException if the finish time is before the last archived one or before the start time
+     * @throws IllegalStateException    if the archive is closed
+     * @throws NullPointerException     if any argument is null
+     */
+    public void add(Match match, Instant finishedAt) {
+        Objects.requireNonNull(match, ErrorMessages.MATCH_NULL);
+        Objects.requireNonNull(finishedAt, ErrorMessages.FINISHED_AT_NULL);
+        long finishMillis = finishedAt.toEpochMilli();
+        long duration = finishMillis - match.startTime().toEpochMilli();
+        if (duration < 0 || duration > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.MATCH_DURATION_RANGE, duration));
+        }
+        lock.writeLock().lock();
+        try {
+            if (finishMillis < lastFinishMillis) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.FINISH_ORDER,
+                        finishedAt, Instant.ofEpochMilli(lastFinishMillis)));
+            }
+            append(match, finishMillis, (int) duration);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of archived matches
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the matches with the highest total score, the most recently finished first among equal scores.
+     *
+     * @param limit the maximum number of matches to return
+     * @return up to {@code limit} matches
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public List<ArchivedMatch> topScoring(int limit) {
+        validateLimit(limit);
+        lock.readLock().lock();
+        try {
+            List<ArchivedMatch> result = new ArrayList<>(Math.min(limit, size));
+            for (int total = byTotalScore.length - 1; total >= 0 && result.size() < limit; total--) {
+                collectLatest(byTotalScore[total], limit, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the matches played by a team at home or away, the most recently finished first.
+     *
+     * @param team  the name of the team
+     * @param limit the maximum number of matches to return
+     * @return up to {@code limit} matches, empty if the team never played
+     * @throws IllegalArgumentException if the limit is negative
+     * @throws NullPointerException     if the team is null
+     */
+    public List<ArchivedMatch> findByTeam(String team, int limit) {
+        Objects.requireNonNull(team, ErrorMessages.TEAM_NULL);
+        validateLimit(limit);
+        lock.readLock().lock();
+        try {
+            Integer id = dictionary.get(team);
+            List<ArchivedMatch> result = new ArrayList<>();
+            if (id != null) {
+                collectLatest(byTeam.get(id), limit, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the matches that finished in a time range, in the order they finished.
+     *
+     * @param from  the start of the range, inclusive
+     * @param to    the end of the range, exclusive
+     * @param limit the maximum number of matches to return
+     * @return up to {@code limit} matches, the earliest first
+     * @throws IllegalArgumentException if the limit is negative
+     * @throws NullPointerException     if any time is null
+     */
+    public List<ArchivedMatch> finishedBetween(Instant from, Instant to, int limit) {
+        Objects.requireNonNull(from, ErrorMessages.FINISHED_AT_NULL);
+        Objects.requireNonNull(to, ErrorMessages.FINISHED_AT_NULL);
+        validateLimit(limit);
+        lock.readLock().lock();
+        try {
+            int first = firstFinishedAtOrAfter(epochMillis(from));
+            int end = (int) Math.min(firstFinishedAtOrAfter(epochMillis(to)), (long) first + limit);
+            List<ArchivedMatch> result = new ArrayList<>(Math.max(0, end - first));
+            for (int row = first; row < end; row++) {
+                result.add(read(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for the spilled chunks to be written, then writes the chunk being filled and closes the file.
+     * Closing an archive kept on the heap only stops it from accepting matches.
+     *
+     * @throws IOException if a chunk could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (file != null && open != null && open.size > 0) {
+                seal();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (file == null) {
+            return;
+        }
+        spiller.close();
+        try (file) {
+            if (spillFailure != null) {
+                throw spillFailure;
+            }
+            file.force(false);
+        }
+    }
+
+    /**
+     * @return the listener that archives every match finished on a scoreboard
+     */
+    ScoreboardListener recorder() {
+        return recorder;
+    }
+
+    /**
+     * Archives matches as they finish, at the current time or, if the clock went back, at the last finish time.
+     * Matches finished after the archive was closed are dropped, and durations longer than an {@code int}
+     * of milliseconds are clamped, since a listener must never fail the change that notified it.
+     */
+    private final class Recorder implements ScoreboardListener {
+        @Override
+        public void matchFinished(Match match) {
+            long now = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                long finishMillis = Math.max(now, lastFinishMillis);
+                long duration = finishMillis - match.startTime().toEpochMilli();
+                append(match, finishMillis, Math.clamp(duration, 0, Integer.MAX_VALUE));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void append(Match match, long finishMillis, int duration) {
+        if (closed) {
+            throw new IllegalStateException(ErrorMessages.ARCHIVE_CLOSED);
+        }
+        if (open != null && (open.size == CHUNK_SIZE || finishMillis - open.baseMillis > Integer.MAX_VALUE)) {
+            seal();
+        }
+        if (open == null) {
+            open = new HeapChunk(finishMillis);
+            chunkStarts.add(size);
+            chunks.add(open);
+        }
+        int home = teamId(match.homeTeam());
+        int away = teamId(match.awayTeam());
+        open.add(match, home, away, (int) (finishMillis - open.baseMillis), duration);
+
+        int row = size++;
+        byTotalScore[match.totalScore()].add(row);
+        byTeam.get(home).add(row);
+        byTeam.get(away).add(row);
+        lastFinishMillis = finishMillis;
+    }
+
+    private int teamId(String team) {
+        Integer id = dictionary.get(team);
+        if (id == null) {
+            id = names.size();
+            names.add(team);
+            dictionary.put(team, id);
+            byTeam.add(new IntList());
+        }
+        return id;
+    }
+
+    /**
+     * Closes the chunk being filled and, for an archive on a file, hands it to the spiller
+     * with the dictionary names added since the last spilled chunk.
+     */
+    private void seal() {
+        HeapChunk sealed = open;
+        open = null;
+        if (file == null || spillFailure != null) {
+            return;
+        }
+        int chunk = chunks.size() - 1;
+        List<String> added = List.copyOf(names.subList(spilledNames, names.size()));
+        spilledNames = names.size();
+        spiller.execute(() -> spill(chunk, sealed, added));
+    }
+
+    private void spill(int chunk, HeapChunk sealed, List<String> added) {
+        if (spillFailure != null) {
+            return;
+        }
+        long position = -1;
+        try {
+            position = file.size();
+            ByteBuffer block = encode(sealed, added);
+            int columnsOffset = block.limit() - Integer.BYTES - sealed.size * ROW_SIZE;
+            while (block.hasRemaining()) {
+                file.write(block, position + block.position());
+            }
+            MappedChunk mapped = new MappedChunk(sealed.size, sealed.baseMillis,
+                    file.map(FileChannel.MapMode.READ_ONLY, position + columnsOffset, (long) sealed.size * ROW_SIZE));
+            lock.writeLock().lock();
+            try {
+                chunks.set(chunk, mapped);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            spillFailure = e;
+            if (position >= 0) {
+                try {
+                    file.truncate(position);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer encode(HeapChunk chunk, List<String> added) {
+        byte[][] encoded = new byte[added.size()][];
+        int namesSize = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = added.get(i).getBytes(StandardCharsets.UTF_8);
+            namesSize += Integer.BYTES + encoded[i].length;
+        }
+        int n = chunk.size;
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + namesSize + Long.BYTES + n * ROW_SIZE + Integer.BYTES);
+        buffer.putInt(n).putInt(encoded.length);
+        for (byte[] name : encoded) {
+            buffer.putInt(name.length).put(name);
+        }
+        buffer.putLong(chunk.baseMillis);
+        buffer.asLongBuffer().put(chunk.idMsb, 0, n);
+        buffer.position(buffer.position() + n * Long.BYTES);
+        buffer.asLongBuffer().put(chunk.idLsb, 0, n);
+        buffer.position(buffer.position() + n * Long.BYTES);
+        buffer.asLongBuffer().put(chunk.version, 0, n);
+        buffer.position(buffer.position() + n * Long.BYTES);
+        for (int[] column : new int[][]{chunk.homeTeam, chunk.awayTeam, chunk.finishDelta, chunk.duration}) {
+            buffer.asIntBuffer().put(column, 0, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+        }
+        buffer.put(chunk.homeScore, 0, n).put(chunk.awayScore, 0, n);
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) checksum.getValue()).flip();
+        return buffer;
+    }
+
+    /**
+     * Reads the blocks of the file, maps their columns and rebuilds the dictionary and the indexes.
+     */
+    private void load() throws IOException {
+        long fileSize = file.size();
+        if (fileSize == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            while (header.hasRemaining()) {
+                file.write(header, header.position());
+            }
+            return;
+        }
+        if (fileSize < HEADER_SIZE) {
+            throw new IOException(ErrorMessages.ARCHIVE_FORMAT);
+        }
+        MappedByteBuffer header = file.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        int formatVersion = header.getInt(Integer.BYTES);
+        if (header.getInt(0) != MAGIC
+                || formatVersion != FORMAT_VERSION && formatVersion != SHORT_NAMES_FORMAT_VERSION) {
+            throw new IOException(ErrorMessages.ARCHIVE_FORMAT);
+        }
+        boolean shortNames = formatVersion == SHORT_NAMES_FORMAT_VERSION;
+        long position = HEADER_SIZE;
+        try {
+            while (position < fileSize) {
+                // names have no length limit, so the block may reach up to the end of the file
+                MappedByteBuffer block = file.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(fileSize - position, Integer.MAX_VALUE));
+                int blockSize = blockSize(block, shortNames);
+                if (blockSize < 0) {
+                    break;
+                }
+                int rows = block.getInt();
+                int added = block.getInt();
+                for (int i = 0; i < added; i++) {
+                    byte[] name = new byte[shortNames ? Short.toUnsignedInt(block.getShort()) : block.getInt()];
+                    block.get(name);
+                    teamId(new String(name, StandardCharsets.UTF_8));
+                }
+                MappedChunk chunk = new MappedChunk(rows, block.getLong(),
+                        block.slice(block.position(), rows * ROW_SIZE));
+                chunkStarts.add(size);
+                chunks.add(chunk);
+                for (int i = 0; i < rows; i++) {
+                    int row = size++;
+                    byTotalScore[chunk.homeScore(i) + chunk.awayScore(i)].add(row);
+                    byTeam.get(chunk.homeTeam(i)).add(row);
+                    byTeam.get(chunk.awayTeam(i)).add(row);
+                }
+                if (rows > 0) {
+                    lastFinishMillis = chunk.finishMillis(rows - 1);
+                }
+                position += blockSize;
+            }
+        } catch (RuntimeException e) {
+            // the checksum of the block matched, but its columns refer to unknown names or scores
+            throw new IOException(ErrorMessages.ARCHIVE_CORRUPTED, e);
+        }
+        spilledNames = names.size();
+        if (position < fileSize) {
+            file.truncate(position);
+        }
+    }
+
+    /**
+     * @return the size of the block at the start of the buffer, or -1 if the block is torn or corrupted
+     */
+    private static int blockSize(ByteBuffer block, boolean shortNames) {
+        int limit = block.limit();
+        if (limit < 2 * Integer.BYTES) {
+            return -1;
+        }
+        int rows = block.getInt(0);
+        int added = block.getInt(Integer.BYTES);
+        if (rows < 0 || rows > CHUNK_SIZE || added < 0 || added > 2 * rows) {
+            return -1;
+        }
+        int lengthSize = shortNames ? Short.BYTES : Integer.BYTES;
+        long cursor = 2 * Integer.BYTES;
+        for (int i = 0; i < added; i++) {
+            if (limit - cursor < lengthSize) {
+                return -1;
+            }
+            int length = shortNames ? Short.toUnsignedInt(block.getShort((int) cursor)) : block.getInt((int) cursor);
+            if (length < 0) {
+                return -1;
+            }
+            cursor += lengthSize + length;
+        }
+        long crcAt = cursor + Long.BYTES + (long) rows * ROW_SIZE;
+        if (crcAt + Integer.BYTES > limit) {
+            return -1;
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(block.slice(0, (int) crcAt));
+        return (int) checksum.getValue() == block.getInt((int) crcAt) ? (int) crcAt + Integer.BYTES : -1;
+    }
+
+    private void collectLatest(IntList rows, int limit, List<ArchivedMatch> result) {
+        for (int i = rows.size - 1; i >= 0 && result.size() < limit; i--) {
+            result.add(read(rows.values[i]));
+        }
+    }
+
+    /**
+     * @return the first row that finished at or after the time, or the number of rows if there is none
+     */
+    private int firstFinishedAtOrAfter(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (finishMillis(middle) < millis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long finishMillis(int row) {
+        int chunk = chunkOf(row);
+        return chunks.get(chunk).finishMillis(row - chunkStarts.values[chunk]);
+    }
+
+    private ArchivedMatch read(int row) {
+        int index = chunkOf(row);
+        Chunk chunk = chunks.get(index);
+        int i = row - chunkStarts.values[index];
+        long finishMillis = chunk.finishMillis(i);
+        Match match = new Match(new UUID(chunk.idMsb(i), chunk.idLsb(i)),
+                names.get(chunk.homeTeam(i)), names.get(chunk.awayTeam(i)),
+                chunk.homeScore(i), chunk.awayScore(i),
+                Instant.ofEpochMilli(finishMillis - chunk.duration(i)), chunk.version(i));
+        return new ArchivedMatch(match, Instant.ofEpochMilli(finishMillis));
+    }
+
+    private int chunkOf(int row) {
+        int index = Arrays.binarySearch(chunkStarts.values, 0, chunkStarts.size, row);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * @return the milliseconds since the epoch, saturated for instants too far to be counted in a {@code long}
+     */
+    private static long epochMillis(Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_COUNT, limit));
+        }
+    }
+
+    /**
+     * Columns of a chunk, read by the index of a row within the chunk.
+     */
+    private interface Chunk {
+        long idMsb(int i);
+
+        long idLsb(int i);
+
+        long version(int i);
+
+        int homeTeam(int i);
+
+        int awayTeam(int i);
+
+        long finishMillis(int i);
+
+        int duration(int i);
+
+        int homeScore(int i);
+
+        int awayScore(int i);
+    }
+
+    /**
+     * Chunk being filled, or sealed and not yet spilled, with one array per column.
+     */
+    private static final class HeapChunk implements Chunk {
+        final long baseMillis;
+        final long[] idMsb = new long[CHUNK_SIZE];
+        final long[] idLsb = new long[CHUNK_SIZE];
+        final long[] version = new long[CHUNK_SIZE];
+        final int[] homeTeam = new int[CHUNK_SIZE];
+        final int[] awayTeam = new int[CHUNK_SIZE];
+        final int[] finishDelta = new int[CHUNK_SIZE];
+        final int[] duration = new int[CHUNK_SIZE];
+        final byte[] homeScore = new byte[CHUNK_SIZE];
+        final byte[] awayScore = new byte[CHUNK_SIZE];
+        int size;
+
+        HeapChunk(long baseMillis) {
+            this.baseMillis = baseMillis;
+        }
+
+        void add(Match match, int home, int away, int delta, int matchDuration) {
+            idMsb[size] = match.id().getMostSignificantBits();
+            idLsb[size] = match.id().getLeastSignificantBits();
+            version[size] = match.version();
+            homeTeam[size] = home;
+            awayTeam[size] = away;
+            finishDelta[size] = delta;
+            duration[size] = matchDuration;
+            homeScore[size] = (byte) match.homeScore();
+            awayScore[size] = (byte) match.awayScore();
+            size++;
+        }
+
+        @Override
+        public long idMsb(int i) {
+            return idMsb[i];
+        }
+
+        @Override
+        public long idLsb(int i) {
+            return idLsb[i];
+        }
+
+        @Override
+        public long version(int i) {
+            return version[i];
+        }
+
+        @Override
+        public int homeTeam(int i) {
+            return homeTeam[i];
+        }
+
+        @Override
+        public int awayTeam(int i) {
+            return awayTeam[i];
+        }
+
+        @Override
+        public long finishMillis(int i) {
+            return baseMillis + finishDelta[i];
+        }
+
+        @Override
+        public int duration(int i) {
+            return duration[i];
+        }
+
+        @Override
+        public int homeScore(int i) {
+            return homeScore[i];
+        }
+
+        @Override
+        public int awayScore(int i) {
+            return awayScore[i];
+        }
+    }
+
+    /**
+     * Chunk read from the columns of a block of the file, in the order they are written by {@code encode}.
+     */
+    private static final class MappedChunk implements Chunk {
+        private final long baseMillis;
+        private final ByteBuffer columns;
+        private final int lsb;
+        private final int version;
+        private final int homeTeam;
+        private final int awayTeam;
+        private final int finishDelta;
+        private final int duration;
+        private final int homeScore;
+        private final int awayScore;
+
+        MappedChunk(int size, long baseMillis, ByteBuffer columns) {
+            this.baseMillis = baseMillis;
+            this.columns = columns;
+            this.lsb = size * Long.BYTES;
+            this.version = lsb + size * Long.BYTES;
+            this.homeTeam = version + size * Long.BYTES;
+            this.awayTeam = homeTeam + size * Integer.BYTES;
+            this.finishDelta = awayTeam + size * Integer.BYTES;
+            this.duration = finishDelta + size * Integer.BYTES;
+            this.homeScore = duration + size * Integer.BYTES;
+            this.awayScore = homeScore + size;
+        }
+
+        @Override
+        public long idMsb(int i) {
+            return columns.getLong(i * Long.BYTES);
+        }
+
+        @Override
+        public long idLsb(int i) {
+            return columns.getLong(lsb + i * Long.BYTES);
+        }
+
+        @Override
+        public long version(int i) {
+            return columns.getLong(version + i * Long.BYTES);
+        }
+
+        @Override
+        public int homeTeam(int i) {
+            return columns.getInt(homeTeam + i * Integer.BYTES);
+        }
+
+        @Override
+        public int awayTeam(int i) {
+            return columns.getInt(awayTeam + i * Integer.BYTES);
+        }
+
+        @Override
+        public long finishMillis(int i) {
+            return baseMillis + columns.getInt(finishDelta + i * Integer.BYTES);
+        }
+
+        @Override
+        public int duration(int i) {
+            return columns.getInt(duration + i * Integer.BYTES);
+        }
+
+        @Override
+        public int homeScore(int i) {
+            return columns.get(homeScore + i);
+        }
+
+        @Override
+        public int awayScore(int i) {
+            return columns.get(awayScore + i);
+        }
+    }
+
+    /**
+     * Growable list of rows of an index.
+     */
+    private static final class IntList {
+        int[] values = new int[8];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.tarhanskyi;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+import static com.tarhanskyi.Constants.TEAM_NAME_LENGTH_LIMIT;
+
+/**
+ * Binary codec of matches and summaries that reads and writes caller-supplied {@link ByteBuffer}s,
+ * heap or direct, without intermediate objects.
+ * <p>
+ * A match has a fixed layout of 42 bytes: ID (16), start time seconds (8) and nanos (4), scores (1 each),
+ * version (8), and the dictionary IDs of its teams (2 each). A summary is its match count ({@code int})
+ * followed by its matches.
+ * <p>
+ * Team names are replaced with small IDs from a dictionary that is built as matches are written:
+ * the first time a codec writes a team, the ID is followed by the length of the UTF-8 name and the name,
+ * and the codec reading the data learns it from there. So one codec writes a stream and another one reads it,
+ * and every encoded buffer must be decoded by the reading codec exactly once and in the order it was written.
+ * A failed write leaves the buffer and the dictionary as they were.
+ * <p>
+ * The length of a name of up to 127 bytes takes one byte. Only names padded with whitespace can be longer:
+ * their length takes two bytes, with the highest bit of the first one set, up to {@code MAX_NAME_SIZE} bytes.
+ * <p>
+ * A codec is not thread-safe.
+ */
+public final class MatchCodec {
+
+    /**
+     * Size of an encoded match without the names written the first time its teams appear.
+     */
+    public static final int MATCH_SIZE = 2 * Long.BYTES + Long.BYTES + Integer.BYTES + 2 + Long.BYTES + 2 * Short.BYTES;
+
+    /**
+     * Largest size of an encoded match, with both team names written, for names without surrounding whitespace.
+     */
+    public static final int MAX_MATCH_SIZE = MATCH_SIZE + 2 * (1 + 4 * TEAM_NAME_LENGTH_LIMIT);
+
+    /**
+     * Largest encoded team name, padding included.
+     */
+    static final int MAX_NAME_SIZE = 0x7FFF;
+
+    /**
+     * Largest name length that fits the one-byte length field.
+     */
+    private static final int SHORT_NAME_SIZE = 0x7F;
+
+    /**
+     * Largest number of team names in a dictionary.
+     */
+    static final int DICTIONARY_LIMIT = Short.MAX_VALUE + 1;
+
+    /**
+     * Team names by dictionary ID, and the IDs of the names written so far.
+     */
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private byte[] scratch = new byte[4 * TEAM_NAME_LENGTH_LIMIT];
+
+    /**
+     * Writes the match at the current position of the buffer.
+     *
+     * @param match  the match to write
+     * @param buffer the buffer to write to
+     * @throws BufferOverflowException  if the buffer has not enough space left
+     * @throws IllegalArgumentException if a team name is longer than {@code MAX_NAME_SIZE} bytes
+     * @throws IllegalStateException    if the dictionary is full
+     * @throws NullPointerException     if any argument is null
+     */
+    public void encode(Match match, ByteBuffer buffer) {
+        Objects.requireNonNull(match, ErrorMessages.MATCH_NULL);
+        int position = buffer.position();
+        int dictionarySize = names.size();
+        try {
+            write(match, buffer);
+        } catch (BufferOverflowException | IllegalArgumentException | IllegalStateException e) {
+            rollback(buffer, position, dictionarySize);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a match from the current position of the buffer.
+     *
+     * @param buffer the buffer to read from
+     * @return the match
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the match
+     * @throws IllegalArgumentException          if the data does not hold a valid match
+     */
+    public Match decode(ByteBuffer buffer) {
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        Instant startTime = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        int homeScore = Byte.toUnsignedInt(buffer.get());
+        int awayScore = Byte.toUnsignedInt(buffer.get());
+        long version = buffer.getLong();
+        String homeTeam = readTeam(buffer);
+        String awayTeam = readTeam(buffer);
+        return new Match(id, homeTeam, awayTeam, homeScore, awayScore, startTime, version);
+    }
+
+    /**
+     * Writes the summary at the current position of the buffer.
+     *
+     * @param summary the matches to write
+     * @param buffer  the buffer to write to
+     * @throws BufferOverflowException  if the buffer has not enough space left
+     * @throws IllegalArgumentException if a team name is longer than {@code MAX_NAME_SIZE} bytes
+     * @throws IllegalStateException    if the dictionary is full
+     * @throws NullPointerException     if any argument or match is null
+     */
+    public void encodeSummary(List<Match> summary, ByteBuffer buffer) {
+        Objects.requireNonNull(summary, ErrorMessages.MATCHES_NULL);
+        int position = buffer.position();
+        int dictionarySize = names.size();
+        try {
+            buffer.putInt(summary.size());
+            for (Match match : summary) {
+                write(Objects.requireNonNull(match, ErrorMessages.MATCH_NULL), buffer);
+            }
+        } catch (BufferOverflowException | IllegalArgumentException | IllegalStateException | NullPointerException e) {
+            rollback(buffer, position, dictionarySize);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a summary from the current position of the buffer.
+     *
+     * @param buffer the buffer to read from
+     * @return the matches of the summary, in the order they were written
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the summary
+     * @throws IllegalArgumentException          if the data does not hold a valid summary
+     */
+    public List<Match> decodeSummary(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_COUNT, count));
+        }
+        List<Match> summary = new ArrayList<>(Math.min(count, buffer.remaining() / MATCH_SIZE));
+        for (int i = 0; i < count; i++) {
+            summary.add(decode(buffer));
+        }
+        return summary;
+    }
+
+    /**
+     * @return the number of team names in the dictionary
+     */
+    public int dictionarySize() {
+        return names.size();
+    }
+
+    private void write(Match match, ByteBuffer buffer) {
+        buffer.putLong(match.id().getMostSignificantBits()).putLong(match.id().getLeastSignificantBits())
+                .putLong(match.startTime().getEpochSecond()).putInt(match.startTime().getNano())
+                .put((byte) match.homeScore()).put((byte) match.awayScore())
+                .putLong(match.version());
+        writeTeam(match.homeTeam(), buffer);
+        writeTeam(match.awayTeam(), buffer);
+    }
+
+    /**
+     * Writes the dictionary ID of the team, with the highest bit set and followed by the length and the name
+     * if the team is written for the first time.
+     *
+     * @throws IllegalArgumentException if the name is longer than {@code MAX_NAME_SIZE} bytes
+     */
+    private void writeTeam(String team, ByteBuffer buffer) {
+        Integer id = ids.get(team);
+        if (id != null) {
+            buffer.putShort((short) (int) id);
+            return;
+        }
+        if (names.size() == DICTIONARY_LIMIT) {
+            throw new IllegalStateException(String.format(ErrorMessages.DICTIONARY_FULL, DICTIONARY_LIMIT));
+        }
+        int length = utf8Length(team);
+        if (length > MAX_NAME_SIZE) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.TEAM_NAME_SIZE, length, MAX_NAME_SIZE));
+        }
+        int newId = names.size();
+        names.add(team);
+        ids.put(team, newId);
+        buffer.putShort((short) (newId | 0x8000));
+        if (length > SHORT_NAME_SIZE) {
+            buffer.putShort((short) (length | 0x8000));
+        } else {
+            buffer.put((byte) length);
+        }
+        for (int i = 0; i < team.length(); i++) {
+            int c = team.codePointAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (c < 0x10000) {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            } else {
+                buffer.put((byte) (0xF0 | c >> 18)).put((byte) (0x80 | c >> 12 & 0x3F))
+                        .put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+                i++;
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes of the name encoded in UTF-8
+     */
+    private static int utf8Length(String team) {
+        int length = 0;
+        for (int i = 0; i < team.length(); i++) {
+            int c = team.codePointAt(i);
+            length += c < 0x80 ? 1 : c < 0x800 ? 2 : c < 0x10000 ? 3 : 4;
+            if (c >= 0x10000) {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private String readTeam(ByteBuffer buffer) {
+        int reference = Short.toUnsignedInt(buffer.getShort());
+        int id = reference & 0x7FFF;
+        if ((reference & 0x8000) == 0) {
+            if (id >= names.size()) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_TEAM_REFERENCE, id));
+            }
+            return names.get(id);
+        }
+        if (id != names.size()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_TEAM_REFERENCE, id));
+        }
+        int length = Byte.toUnsignedInt(buffer.get());
+        if (length > SHORT_NAME_SIZE) {
+            length = (length & SHORT_NAME_SIZE) << Byte.SIZE | Byte.toUnsignedInt(buffer.get());
+        }
+        if (length > scratch.length) {
+            scratch = new byte[length];
+        }
+        buffer.get(scratch, 0, length);
+        String team = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        names.add(team);
+        ids.put(team, id);
+        return team;
+    }
+
+    /**
+     * Forgets the team names added since a write started and moves the buffer back to where it started.
+     */
+    private void rollback(ByteBuffer buffer, int position, int dictionarySize) {
+        buffer.position(position);
+        while (names.size() > dictionarySize) {
+            ids.remove(names.removeLast());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tarhanskyi;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Strategy generating the IDs of new matches. An implementation must never return the same ID twice
+ * and may be called by many threads at once.
+ * <p>
+ * The built-in generators:
+ * <ul>
+ *     <li>{@link #random()} — random UUIDs from a shared {@code SecureRandom}, as before</li>
+ *     <li>{@link #timeOrdered()} — UUIDv7-style IDs ordered by creation time, without shared state</li>
+ *     <li>{@link #sequential()} — the cheapest: a counter per thread, in the lower half of the UUID</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface MatchIdGenerator {
+
+    /**
+     * @return the ID of a new match
+     */
+    UUID nextId();
+
+    /**
+     * @return a generator of random (version 4) UUIDs
+     */
+    static MatchIdGenerator random() {
+        return UUID::randomUUID;
+    }
+
+    /**
+     * Creates a generator of UUIDv7-style IDs: the Unix time in milliseconds in the highest 48 bits,
+     * then a 12-bit sequence and 62 random bits from the random generator of the calling thread.
+     * IDs created by one thread are strictly increasing; IDs of different threads are ordered by millisecond.
+     *
+     * @return a generator of time-ordered UUIDs
+     */
+    static MatchIdGenerator timeOrdered() {
+        ThreadLocal<long[]> last = ThreadLocal.withInitial(() -> new long[2]);
+        return () -> {
+            long[] state = last.get();
+            long millis = System.currentTimeMillis();
+            if (millis > state[0]) {
+                state[0] = millis;
+                state[1] = 0;
+            } else if (++state[1] > 0xFFF) {
+                // the sequence of this millisecond is exhausted, so borrow the next one
+                state[0]++;
+                state[1] = 0;
+            }
+            long mostSigBits = state[0] << 16 | 0x7000 | state[1];
+            long leastSigBits = ThreadLocalRandom.current().nextLong() >>> 2 | Long.MIN_VALUE;
+            return new UUID(mostSigBits, leastSigBits);
+        };
+    }
+
+    /**
+     * Creates a generator of IDs made of a random prefix chosen once per generator and a counter of the calling thread.
+     * The lower half of an ID is a {@code long} unique within the generator: every thread takes blocks of
+     * consecutive numbers from a counter shared by the generator and hands them out one by one,
+     * so any number of threads, short-lived or virtual, never get the same number.
+     *
+     * @return a generator of per-thread monotonic IDs
+     */
+    static MatchIdGenerator sequential() {
+        long prefix = ThreadLocalRandom.current().nextLong();
+        long blockSize = 1 << 16;
+        AtomicLong blocks = new AtomicLong();
+        // the next number of the thread and the end of its block
+        ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+        return () -> {
+            long[] numbers = block.get();
+            if (numbers[0] == numbers[1]) {
+                numbers[0] = blocks.getAndAdd(blockSize);
+                numbers[1] = numbers[0] + blockSize;
+            }
+            return new UUID(prefix, numbers[0]++);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.tarhanskyi;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Lazy k-way merge of already sorted sources.
+ * <p>
+ * Only the head of each source is kept in a heap, so taking the first {@code m} elements
+ * of {@code k} sources costs {@code O(k + m log k)}, no matter how long the sources are.
+ *
+ * @param <T> the type of the merged elements
+ */
+final class MergingIterator<T> implements Iterator<T> {
+
+    /**
+     * A source together with its current head element.
+     */
+    private static final class Cursor<T> {
+        private final Iterator<? extends T> source;
+        private T head;
+
+        private Cursor(Iterator<? extends T> source) {
+            this.source = source;
+            this.head = source.next();
+        }
+    }
+
+    private final PriorityQueue<Cursor<T>> heap;
+
+    /**
+     * @param sources    the sources, each sorted by {@code comparator}
+     * @param comparator the order of the sources and of the result
+     */
+    MergingIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+        heap = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> comparator.compare(a.head, b.head));
+        for (Iterator<? extends T> source : sources) {
+            if (source.hasNext()) {
+                heap.add(new Cursor<>(source));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heap.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Cursor<T> cursor = heap.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        T result = cursor.head;
+        if (cursor.source.hasNext()) {
+            cursor.head = cursor.source.next();
+            heap.add(cursor);
+        }
+        return result;
+    }
+}
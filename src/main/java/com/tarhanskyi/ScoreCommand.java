@@ -0,0 +1,34 @@
+package com.tarhanskyi;
+
+import java.util.UUID;
+
+/**
+ * Single change of the board, applied as part of a batch by {@link ScoreboardService#applyBatch}.
+ * Arguments are validated when the batch is applied, not when the command is created.
+ */
+public sealed interface ScoreCommand {
+
+    /**
+     * Starts a new match, see {@link ScoreboardService#startMatch(String, String)}.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     */
+    record Start(String homeTeam, String awayTeam) implements ScoreCommand { }
+
+    /**
+     * Updates the score of a match, see {@link ScoreboardService#updateScore(UUID, int, int)}.
+     *
+     * @param matchId   the UUID of the match to update
+     * @param homeScore the new score for the home team
+     * @param awayScore the new score for the away team
+     */
+    record UpdateScore(UUID matchId, int homeScore, int awayScore) implements ScoreCommand { }
+
+    /**
+     * Finishes a match, see {@link ScoreboardService#finishMatch(UUID)}.
+     *
+     * @param matchId the UUID of the match to finish
+     */
+    record Finish(UUID matchId) implements ScoreCommand { }
+}
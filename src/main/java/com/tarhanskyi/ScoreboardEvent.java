@@ -0,0 +1,51 @@
+package com.tarhanskyi;
+
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Change of the scoreboard, emitted by {@link ScoreboardService#events()}.
+ * Every event carries the state of the match right after the change.
+ */
+public sealed interface ScoreboardEvent {
+
+    /**
+     * @return the match the event is about
+     */
+    Match match();
+
+    /**
+     * A match was started.
+     *
+     * @param match the started match
+     */
+    record MatchStarted(Match match) implements ScoreboardEvent {
+        public MatchStarted {
+            Objects.requireNonNull(match, ErrorMessages.MATCH_NULL);
+        }
+    }
+
+    /**
+     * The score of a match was changed.
+     * A subscriber that falls behind receives only the latest update of each match.
+     *
+     * @param match the match with the new score
+     */
+    record ScoreUpdated(Match match) implements ScoreboardEvent {
+        public ScoreUpdated {
+            Objects.requireNonNull(match, ErrorMessages.MATCH_NULL);
+        }
+    }
+
+    /**
+     * A match was finished and removed from the board.
+     *
+     * @param match the match with its final score
+     */
+    record MatchFinished(Match match) implements ScoreboardEvent {
+        public MatchFinished {
+            Objects.requireNonNull(match, ErrorMessages.MATCH_NULL);
+        }
+    }
+}
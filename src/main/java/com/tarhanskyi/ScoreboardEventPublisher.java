@@ -0,0 +1,214 @@
+package com.tarhanskyi;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Push-based feed of {@link ScoreboardEvent}s.
+ * <p>
+ * Every subscriber has its own bounded buffer, drained on the given executor as the subscriber requests events.
+ * Writers only append to the buffers and never wait for a subscriber:
+ * <ul>
+ *     <li>While a subscriber is behind, a new score update replaces the pending update of the same match,
+ *     so the subscriber receives only the latest score.</li>
+ *     <li>If the buffer is still full, the subscription is cancelled and the subscriber gets {@code onError}
+ *     right away, without the events still pending.</li>
+ * </ul>
+ */
+class ScoreboardEventPublisher implements Flow.Publisher<ScoreboardEvent>, ScoreboardListener {
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Executor executor;
+    private final int bufferSize;
+
+    /**
+     * @param executor   the executor delivering events to subscribers
+     * @param bufferSize the maximum number of pending events per subscriber (positive)
+     * @throws IllegalArgumentException if the buffer size is not positive
+     */
+    ScoreboardEventPublisher(Executor executor, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.BUFFER_SIZE_RANGE, bufferSize));
+        }
+        this.executor = Objects.requireNonNull(executor, ErrorMessages.EXECUTOR_NULL);
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreboardEvent> subscriber) {
+        Objects.requireNonNull(subscriber, ErrorMessages.SUBSCRIBER_NULL);
+        Subscription subscription = new Subscription(subscriber);
+        subscriptions.add(subscription);
+        subscription.signal();
+    }
+
+    @Override
+    public void matchStarted(Match match) {
+        if (!subscriptions.isEmpty()) {
+            offer(new ScoreboardEvent.MatchStarted(match));
+        }
+    }
+
+    @Override
+    public void scoreUpdated(Match previous, Match updated) {
+        if (!subscriptions.isEmpty()) {
+            offer(new ScoreboardEvent.ScoreUpdated(updated));
+        }
+    }
+
+    @Override
+    public void matchFinished(Match match) {
+        if (!subscriptions.isEmpty()) {
+            offer(new ScoreboardEvent.MatchFinished(match));
+        }
+    }
+
+    private void offer(ScoreboardEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Pending event of a subscriber. Score updates are held in a mutable slot,
+     * so a newer update of the same match can replace them in place.
+     */
+    private static final class Slot {
+        private ScoreboardEvent event;
+
+        private Slot(ScoreboardEvent event) {
+            this.event = event;
+        }
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ScoreboardEvent> subscriber;
+
+        /**
+         * Pending events and the pending score update of each match, guarded by {@code queue}.
+         */
+        private final ArrayDeque<Slot> queue = new ArrayDeque<>();
+        private final Map<UUID, Slot> pendingUpdates = new HashMap<>();
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private boolean subscribed;
+
+        private Subscription(Flow.Subscriber<? super ScoreboardEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void offer(ScoreboardEvent event) {
+            if (cancelled || error != null) {
+                return;
+            }
+            synchronized (queue) {
+                if (event instanceof ScoreboardEvent.ScoreUpdated) {
+                    Slot pending = pendingUpdates.get(event.match().id());
+                    if (pending != null) {
+                        pending.event = event;
+                        return;
+                    }
+                }
+                if (queue.size() == bufferSize) {
+                    error = new IllegalStateException(String.format(ErrorMessages.BUFFER_OVERFLOW, bufferSize));
+                } else {
+                    Slot slot = new Slot(event);
+                    queue.add(slot);
+                    if (event instanceof ScoreboardEvent.ScoreUpdated) {
+                        pendingUpdates.put(event.match().id(), slot);
+                    }
+                }
+            }
+            signal();
+        }
+
+        private ScoreboardEvent poll() {
+            synchronized (queue) {
+                Slot slot = queue.poll();
+                if (slot == null) {
+                    return null;
+                }
+                if (slot.event instanceof ScoreboardEvent.ScoreUpdated) {
+                    pendingUpdates.remove(slot.event.match().id(), slot);
+                }
+                return slot.event;
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException(String.format(ErrorMessages.NON_POSITIVE_REQUEST, n));
+            } else {
+                requested.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (queue) {
+                queue.clear();
+                pendingUpdates.clear();
+            }
+        }
+
+        /**
+         * Schedules a drain unless one is already running; the running drain will pick up the new work.
+         */
+        private void signal() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    ScoreboardEvent event = poll();
+                    if (event == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(event);
+                    } catch (RuntimeException e) {
+                        cancel();
+                    }
+                    emitted++;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                Throwable failure = error;
+                if (failure != null && !cancelled) {
+                    cancel();
+                    subscriber.onError(failure);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
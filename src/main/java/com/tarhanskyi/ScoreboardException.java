@@ -1,10 +1,16 @@
 package com.tarhanskyi;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.util.UUID;
 
+import static com.tarhanskyi.Constants.ErrorMessages.COMPETITION_EXISTS;
+import static com.tarhanskyi.Constants.ErrorMessages.COMPETITION_NOT_FOUND;
 import static com.tarhanskyi.Constants.ErrorMessages.MATCH_ALREADY_EXISTS;
 import static com.tarhanskyi.Constants.ErrorMessages.MATCH_NOT_FOUND;
 import static com.tarhanskyi.Constants.ErrorMessages.TOO_MANY_ACTIVE;
+import static com.tarhanskyi.Constants.ErrorMessages.VERSION_MISMATCH;
 import static com.tarhanskyi.Constants.MATCHES_LIMIT;
 
 /**
@@ -17,18 +23,68 @@ import static com.tarhanskyi.Constants.MATCHES_LIMIT;
  *     <li>Trying to start a match that conflicts with an existing team</li>
  *     <li>Referencing a match by an unknown ID</li>
  *     <li>Exceeding the maximum number of allowed active matches</li>
+ *     <li>Updating a match that was changed since the caller has read it</li>
+ *     <li>Referencing an unknown competition, or creating one twice</li>
  * </ul>
+ *
+ * <p>Rejections are part of normal operation (e.g. a feed replaying updates of finished matches),
+ * so the exception does not capture a stack trace and formats its message only when it is read.
+ * Callers that reject often should prefer the {@code try*} methods of {@link ScoreboardService}.
  */
 public class ScoreboardException extends RuntimeException {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final ScoreboardResult.Status status;
+    private final String template;
+    /**
+     * Arguments of the message, not serialized: the message is formatted before the exception is written.
+     */
+    private final transient Object[] arguments;
+    private String message;
+
     /**
-     * Constructs a new {@code ScoreboardException} with the specified message.
+     * Constructs a new {@code ScoreboardException} with the specified message template.
      * Constructor is private to restrict creation to static factory methods.
      *
-     * @param message the detailed error message
+     * @param status    the status a {@code try*} method reports for the same rejection, or null
+     * @param template  the format string of the detailed error message
+     * @param arguments the arguments of the format string
+     */
+    private ScoreboardException(ScoreboardResult.Status status, String template, Object... arguments) {
+        super(null, null, false, false);
+        this.status = status;
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Returns the status a {@code try*} method of {@link ScoreboardService} reports for the same rejection.
+     *
+     * @return the status of the rejection, or null for rejections of competitions
      */
-    private ScoreboardException(String message) {
-        super(message);
+    public ScoreboardResult.Status status() {
+        return status;
+    }
+
+    /**
+     * Returns the detailed error message, formatted on first access.
+     *
+     * @return the detailed error message
+     */
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = String.format(template, arguments);
+        }
+        return message;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
     }
 
     /**
@@ -38,7 +94,7 @@ public class ScoreboardException extends RuntimeException {
      * @throws ScoreboardException always
      */
     static void matchExistsFor(String teamName) {
-        throw new ScoreboardException(String.format(MATCH_ALREADY_EXISTS, teamName));
+        throw new ScoreboardException(ScoreboardResult.Status.MATCH_EXISTS, MATCH_ALREADY_EXISTS, teamName);
     }
 
     /**
@@ -50,7 +106,7 @@ public class ScoreboardException extends RuntimeException {
      */
     static void notFoundById(UUID id, boolean isNotFound) {
         if (isNotFound) {
-            throw new ScoreboardException(String.format(MATCH_NOT_FOUND, id));
+            throw new ScoreboardException(ScoreboardResult.Status.NOT_FOUND, MATCH_NOT_FOUND, id);
         }
     }
 
@@ -61,8 +117,59 @@ public class ScoreboardException extends RuntimeException {
      * @throws ScoreboardException if the active match count is too high
      */
     static void matchLimitReached(int activeMatchesCount) {
-        if (activeMatchesCount >= MATCHES_LIMIT) {
-            throw new ScoreboardException(String.format(TOO_MANY_ACTIVE, activeMatchesCount, MATCHES_LIMIT));
+        matchLimitReached(activeMatchesCount, MATCHES_LIMIT);
+    }
+
+    /**
+     * Throws a {@code ScoreboardException} if the number of active matches exceeds the given limit.
+     *
+     * @param activeMatchesCount the current count of active matches
+     * @param matchesLimit       the maximum number of active matches
+     * @throws ScoreboardException if the active match count is too high
+     */
+    static void matchLimitReached(int activeMatchesCount, int matchesLimit) {
+        if (activeMatchesCount >= matchesLimit) {
+            throw new ScoreboardException(ScoreboardResult.Status.LIMIT_REACHED, TOO_MANY_ACTIVE, activeMatchesCount, matchesLimit);
+        }
+    }
+
+    /**
+     * Throws a {@code ScoreboardException} if the match version differs from the expected one.
+     *
+     * @param id              the ID of the match being updated
+     * @param expectedVersion the version the caller has based its update on
+     * @param actualVersion   the current version of the match
+     * @throws ScoreboardException if the versions differ
+     */
+    static void versionMismatch(UUID id, long expectedVersion, long actualVersion) {
+        if (expectedVersion != actualVersion) {
+            throw new ScoreboardException(ScoreboardResult.Status.VERSION_MISMATCH, VERSION_MISMATCH, id, expectedVersion, actualVersion);
+        }
+    }
+
+    /**
+     * Throws a {@code ScoreboardException} if a competition with the specified name is not found.
+     *
+     * @param competition the competition name to check
+     * @param isNotFound  whether the competition was not found (true to throw)
+     * @throws ScoreboardException if {@code isNotFound} is true
+     */
+    static void competitionNotFound(String competition, boolean isNotFound) {
+        if (isNotFound) {
+            throw new ScoreboardException(null, COMPETITION_NOT_FOUND, competition);
+        }
+    }
+
+    /**
+     * Throws a {@code ScoreboardException} if a competition with the specified name already exists.
+     *
+     * @param competition the competition name to check
+     * @param exists      whether the competition already exists (true to throw)
+     * @throws ScoreboardException if {@code exists} is true
+     */
+    static void competitionExists(String competition, boolean exists) {
+        if (exists) {
+            throw new ScoreboardException(null, COMPETITION_EXISTS, competition);
         }
     }
 }
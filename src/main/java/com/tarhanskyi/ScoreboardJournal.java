@@ -0,0 +1,477 @@
+package com.tarhanskyi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+import static com.tarhanskyi.Constants.TEAM_NAME_LENGTH_LIMIT;
+
+/**
+ * Append-only journal of board changes on a memory-mapped file, used to rebuild a board after a restart.
+ * <p>
+ * Every start, score update and finish is appended as a small checksummed binary record while the changed
+ * match is locked, so the records of one match are in the order they were applied.
+ * The file is mapped in fixed-size regions; a record never spans two regions.
+ * <p>
+ * Records written to the mapping survive a crash of the process right away. How they are made durable
+ * against a crash of the machine is chosen with {@link FsyncPolicy}.
+ * <p>
+ * On open, the journal is replayed up to the first torn or corrupted record, the rest of the file is
+ * discarded, and the matches that were still ongoing are handed over to the {@link ScoreboardService}
+ * the journal is attached to, with their original IDs, start times, scores and versions.
+ * A journal can be attached to only one scoreboard.
+ */
+public final class ScoreboardJournal implements AutoCloseable {
+
+    /**
+     * When appended records are forced to the storage device.
+     */
+    public enum FsyncPolicy {
+        /**
+         * Leave writing back to the operating system.
+         */
+        NEVER,
+        /**
+         * Force the journal in the background every {@link #SYNC_INTERVAL}.
+         */
+        PERIODIC,
+        /**
+         * Force the journal before a change returns, once the changed match is unlocked, so a slow device
+         * never holds up writers of other matches. Writers that finish at the same time share a single force
+         * (group commit).
+         */
+        ALWAYS
+    }
+
+    /**
+     * Interval of background forces with {@link FsyncPolicy#PERIODIC}.
+     */
+    static final Duration SYNC_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * Size of a mapped region of a new journal file.
+     */
+    static final int DEFAULT_REGION_SIZE = 8 << 20;
+
+    private static final int MAGIC = 0x53424A31;
+    private static final int FILE_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * Length of a record that marks the rest of its region as unused.
+     */
+    private static final int PADDING = -1;
+
+    private static final byte STARTED = 1;
+    private static final byte UPDATED = 2;
+    private static final byte FINISHED = 3;
+
+    /**
+     * Size of the fixed fields of a start record: type, ID and start time.
+     */
+    private static final int STARTED_FIELDS_SIZE = 1 + 2 * Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Largest payload of a start record whose team names have no surrounding whitespace,
+     * at up to 4 UTF-8 bytes per code point. Names may be padded with any amount of whitespace,
+     * so longer records are allowed as long as they fit a region.
+     */
+    private static final int MAX_PAYLOAD_SIZE = STARTED_FIELDS_SIZE + 2 * (Short.BYTES + 4 * TEAM_NAME_LENGTH_LIMIT);
+
+    /**
+     * Largest encoded team name; its length is stored as an unsigned short.
+     */
+    private static final int MAX_NAME_SIZE = 0xFFFF;
+
+    private final FileChannel channel;
+    private final FsyncPolicy policy;
+    private final int regionSize;
+    private final List<Match> recovered;
+    private final ScheduledExecutorService syncer;
+    private final AtomicBoolean attached = new AtomicBoolean();
+    private final ScoreboardListener writer = new Writer();
+
+    /**
+     * Record being encoded, grown for names padded with whitespace, and its checksum, guarded by {@code this}.
+     */
+    private ByteBuffer record = ByteBuffer.allocate(MAX_PAYLOAD_SIZE);
+    private final CRC32C checksum = new CRC32C();
+
+    /**
+     * Mapped region records are appended to and its offset in the file, guarded by {@code this}.
+     */
+    private MappedByteBuffer region;
+    private long regionStart;
+    private boolean closed;
+
+    /**
+     * Filled regions not forced yet, guarded by {@code this}.
+     */
+    private final List<MappedByteBuffer> filled = new ArrayList<>();
+
+    /**
+     * End of the last appended record in the file.
+     */
+    private volatile long written;
+
+    /**
+     * End of the records known to be forced to the device, guarded by {@code syncLock}.
+     */
+    private long synced;
+    private final Object syncLock = new Object();
+
+    private ScoreboardJournal(FileChannel channel, FsyncPolicy policy, int newRegionSize) throws IOException {
+        this.channel = channel;
+        this.policy = policy;
+        long size = channel.size();
+        Map<UUID, Match> live = new LinkedHashMap<>();
+        long end;
+        if (size == 0) {
+            regionSize = newRegionSize;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+            region.putInt(MAGIC).putInt(regionSize);
+            end = FILE_HEADER_SIZE;
+        } else {
+            regionSize = readRegionSize(channel, size);
+            end = replay(live);
+            if (end < size) {
+                channel.truncate(end);
+            }
+            regionStart = end - end % regionSize;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+            region.position((int) (end - regionStart));
+        }
+        written = end;
+        synced = end;
+        recovered = List.copyOf(live.values());
+        if (policy == FsyncPolicy.PERIODIC) {
+            syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "scoreboard-journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = SYNC_INTERVAL.toNanos();
+            syncer.scheduleWithFixedDelay(() -> sync(written), interval, interval, TimeUnit.NANOSECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Opens a journal file, creating it if it does not exist, and replays it.
+     *
+     * @param path   the journal file
+     * @param policy when appended records are forced to the storage device
+     * @return the opened journal
+     * @throws IOException          if the file cannot be opened or is not a scoreboard journal
+     * @throws NullPointerException if any argument is null
+     */
+    public static ScoreboardJournal open(Path path, FsyncPolicy policy) throws IOException {
+        return open(path, policy, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Opens a journal file like {@link #open(Path, FsyncPolicy)}.
+     *
+     * @param regionSize the size of a mapped region if the file is new; an existing file keeps its own
+     */
+    static ScoreboardJournal open(Path path, FsyncPolicy policy, int regionSize) throws IOException {
+        Objects.requireNonNull(path, ErrorMessages.PATH_NULL);
+        Objects.requireNonNull(policy, ErrorMessages.FSYNC_POLICY_NULL);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new ScoreboardJournal(channel, policy, regionSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Attaches the journal to a scoreboard.
+     *
+     * @return the matches that were ongoing when the journal was last written
+     * @throws IllegalStateException if the journal is already attached
+     */
+    List<Match> attach() {
+        if (!attached.compareAndSet(false, true)) {
+            throw new IllegalStateException(ErrorMessages.JOURNAL_ATTACHED);
+        }
+        return recovered;
+    }
+
+    /**
+     * @return the listener appending board changes to this journal
+     */
+    ScoreboardListener writer() {
+        return writer;
+    }
+
+    /**
+     * Forces all appended records to the storage device and closes the file.
+     * The attached scoreboard must not be changed afterward.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        if (policy != FsyncPolicy.NEVER) {
+            sync(written);
+        }
+        channel.close();
+    }
+
+    private static int readRegionSize(FileChannel channel, long size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // read the whole header
+        }
+        int regionSize = header.getInt(Integer.BYTES);
+        if (size < FILE_HEADER_SIZE || header.getInt(0) != MAGIC
+                || regionSize <= FILE_HEADER_SIZE + RECORD_HEADER_SIZE + MAX_PAYLOAD_SIZE || regionSize % Integer.BYTES != 0) {
+            throw new IOException(ErrorMessages.JOURNAL_FORMAT);
+        }
+        return regionSize;
+    }
+
+    /**
+     * Applies the records of the file to the given matches, one mapped region at a time.
+     *
+     * @param live the ongoing matches by ID, in the order they were started
+     * @return the end of the last intact record in the file
+     */
+    private long replay(Map<UUID, Match> live) throws IOException {
+        long size = channel.size();
+        for (long start = 0; start < size; start += regionSize) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+            buffer.position(start == 0 ? FILE_HEADER_SIZE : 0);
+            int end = replayRegion(buffer, live);
+            if (end >= 0) {
+                return start + end;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the end of the last intact record in the region, or -1 if the records continue in the next region
+     */
+    private int replayRegion(ByteBuffer buffer, Map<UUID, Match> live) {
+        while (buffer.remaining() >= Integer.BYTES) {
+            int position = buffer.position();
+            int length = buffer.getInt();
+            if (length == PADDING) {
+                return -1;
+            }
+            if (length <= 0 || length > maxRecordSize() || buffer.remaining() < Integer.BYTES + length) {
+                return position;
+            }
+            int expected = buffer.getInt();
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            checksum.reset();
+            checksum.update(payload);
+            if ((int) checksum.getValue() != expected) {
+                return position;
+            }
+            payload.rewind();
+            apply(payload, live);
+            buffer.position(align(buffer.position() + length));
+        }
+        return buffer.hasRemaining() ? buffer.position() : -1;
+    }
+
+    private static void apply(ByteBuffer payload, Map<UUID, Match> live) {
+        byte type = payload.get();
+        UUID id = new UUID(payload.getLong(), payload.getLong());
+        switch (type) {
+            case STARTED -> {
+                Instant startTime = Instant.ofEpochSecond(payload.getLong(), payload.getInt());
+                live.put(id, new Match(id, readName(payload), readName(payload), 0, 0, startTime));
+            }
+            case UPDATED -> live.computeIfPresent(id, (key, match) -> new Match(id, match.homeTeam(), match.awayTeam(),
+                    payload.getInt(), payload.getInt(), match.startTime(), payload.getLong()));
+            case FINISHED -> live.remove(id);
+            default -> throw new IllegalStateException(ErrorMessages.JOURNAL_FORMAT);
+        }
+    }
+
+    private static String readName(ByteBuffer payload) {
+        byte[] bytes = new byte[Short.toUnsignedInt(payload.getShort())];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the encoded name is longer than {@code MAX_NAME_SIZE}
+     */
+    private static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_SIZE) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.JOURNAL_NAME_SIZE, bytes.length, MAX_NAME_SIZE));
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the largest payload of a record, so that it fits an empty region after the file header
+     */
+    private int maxRecordSize() {
+        return regionSize - FILE_HEADER_SIZE - RECORD_HEADER_SIZE;
+    }
+
+    private static int align(int position) {
+        return (position + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+
+    /**
+     * Appends a record of the match; it is forced later, when the change is done or in the background.
+     * The record is sized from the encoded team names, so names padded with whitespace fit as well.
+     *
+     * @throws IllegalArgumentException if a team name is too long to be journaled
+     * @throws IllegalStateException    if the journal is closed
+     * @throws UncheckedIOException     if the next region of the file cannot be mapped
+     */
+    private void append(byte type, Match match) {
+        byte[] home = null;
+        byte[] away = null;
+        int size = MAX_PAYLOAD_SIZE;
+        if (type == STARTED) {
+            home = encodeName(match.homeTeam());
+            away = encodeName(match.awayTeam());
+            size = STARTED_FIELDS_SIZE + 2 * Short.BYTES + home.length + away.length;
+            if (size > maxRecordSize()) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.JOURNAL_RECORD_SIZE, size, maxRecordSize()));
+            }
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException(ErrorMessages.JOURNAL_CLOSED);
+            }
+            if (record.capacity() < size) {
+                record = ByteBuffer.allocate(size);
+            }
+            record.clear();
+            record.put(type).putLong(match.id().getMostSignificantBits()).putLong(match.id().getLeastSignificantBits());
+            switch (type) {
+                case STARTED -> {
+                    record.putLong(match.startTime().getEpochSecond()).putInt(match.startTime().getNano());
+                    record.putShort((short) home.length).put(home);
+                    record.putShort((short) away.length).put(away);
+                }
+                case UPDATED -> record.putInt(match.homeScore()).putInt(match.awayScore()).putLong(match.version());
+                default -> { }
+            }
+            record.flip();
+            int length = record.remaining();
+            checksum.reset();
+            checksum.update(record.array(), 0, length);
+            if (region.remaining() < RECORD_HEADER_SIZE + length) {
+                nextRegion();
+            }
+            region.putInt(length).putInt((int) checksum.getValue()).put(record);
+            region.position(Math.min(align(region.position()), regionSize));
+            written = regionStart + region.position();
+        }
+    }
+
+    /**
+     * Marks the rest of the current region as unused and maps the next one.
+     * The filled region is left to the next force, which covers it before the current region.
+     */
+    private void nextRegion() {
+        if (region.remaining() >= Integer.BYTES) {
+            region.putInt(PADDING);
+        }
+        if (policy != FsyncPolicy.NEVER) {
+            filled.add(region);
+        }
+        try {
+            regionStart += regionSize;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forces the records up to the given end, unless another writer has already done it.
+     * Writers waiting here while a force is running are all covered by the next one.
+     *
+     * @param end the end of the last record that must be forced
+     */
+    private void sync(long end) {
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;
+            }
+            List<MappedByteBuffer> regions;
+            long target;
+            synchronized (this) {
+                regions = new ArrayList<>(filled);
+                regions.add(region);
+                filled.clear();
+                target = written;
+            }
+            for (MappedByteBuffer current : regions) {
+                current.force();
+            }
+            synced = target;
+        }
+    }
+
+    /**
+     * Appends board changes to the journal.
+     */
+    private final class Writer implements ScoreboardListener {
+        @Override
+        public void matchStarted(Match match) {
+            append(STARTED, match);
+        }
+
+        @Override
+        public void scoreUpdated(Match previous, Match updated) {
+            append(UPDATED, updated);
+        }
+
+        @Override
+        public void matchFinished(Match match) {
+            append(FINISHED, match);
+        }
+
+        @Override
+        public void changesApplied() {
+            if (policy == FsyncPolicy.ALWAYS) {
+                sync(written);
+            }
+        }
+    }
+}
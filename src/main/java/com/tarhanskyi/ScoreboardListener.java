@@ -0,0 +1,36 @@
+package com.tarhanskyi;
+
+/**
+ * Internal hook notified about every change of a {@link ScoreboardService}.
+ * <p>
+ * Callbacks run on the writer thread while the changed match is locked,
+ * so changes of the same match are seen in the order they were applied.
+ * They run before the change is published to the summary: an exception thrown by a callback rejects
+ * a start or an update, while a finished match is taken off the board regardless.
+ * These callbacks must be fast and must never block; work that may block, such as forcing a file,
+ * belongs in {@link #changesApplied()}.
+ */
+interface ScoreboardListener {
+
+    /**
+     * @param match the started match
+     */
+    default void matchStarted(Match match) { }
+
+    /**
+     * @param previous the match before the change
+     * @param updated  the match after the change
+     */
+    default void scoreUpdated(Match previous, Match updated) { }
+
+    /**
+     * @param match the finished match with its final score
+     */
+    default void matchFinished(Match match) { }
+
+    /**
+     * Called on the writer thread once a write call is done with the board, no match is locked anymore
+     * and its changes, if any, are published, but before the call returns. May block.
+     */
+    default void changesApplied() { }
+}
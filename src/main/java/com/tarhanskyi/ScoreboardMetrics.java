@@ -0,0 +1,238 @@
+package com.tarhanskyi;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters and latency histograms of the public operations of a {@link ScoreboardService}.
+ * <p>
+ * Counters are {@link LongAdder}s and histograms are {@link LatencyHistogram}s, so recording never blocks
+ * and scales with the number of writers. When metrics are disabled in {@link ScoreboardOptions},
+ * every recording method returns right after checking a final field, without reading the clock.
+ * <p>
+ * Read the metrics with {@link #snapshot()}, or through JMX after {@link #registerMBean(ObjectName)}.
+ */
+public final class ScoreboardMetrics implements ScoreboardMetricsMXBean {
+
+    /**
+     * Public operations of {@link ScoreboardService} that are measured.
+     * A {@code try*} method is measured as the operation it tries.
+     */
+    public enum Operation {
+        START_MATCH,
+        UPDATE_SCORE,
+        FINISH_MATCH,
+        APPLY_BATCH,
+        GET_SUMMARY,
+        GET_SUMMARY_PAGE,
+        GET_SUMMARY_CHANGES,
+        GET_SUMMARY_AT,
+        FIND_BY_TEAM_PREFIX,
+        GET_TOP_MATCHES,
+        GET_RENDERED_SUMMARY,
+        SNAPSHOT_TO
+    }
+
+    /**
+     * Latency distribution of an operation.
+     *
+     * @param count     the number of recorded calls
+     * @param p50Nanos  the median latency
+     * @param p99Nanos  the 99th percentile latency
+     * @param p999Nanos the 99.9th percentile latency
+     * @param maxNanos  the highest latency
+     */
+    public record Latency(long count, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) { }
+
+    /**
+     * Metrics at one point in time.
+     *
+     * @param enabled        whether the scoreboard records metrics
+     * @param operations     the latency distribution of each operation
+     * @param rejections     the number of rejected calls by status
+     * @param liveMatches    the number of ongoing matches
+     * @param summaryVersion the version of the latest published summary
+     * @param summaryBuild   the latency distribution of building a new summary after a change
+     */
+    public record Snapshot(
+            boolean enabled,
+            Map<Operation, Latency> operations,
+            Map<ScoreboardResult.Status, Long> rejections,
+            int liveMatches,
+            long summaryVersion,
+            Latency summaryBuild
+    ) {
+        /**
+         * Constructs a new {@code Snapshot} instance with unmodifiable copies of the maps.
+         */
+        public Snapshot {
+            operations = Map.copyOf(operations);
+            rejections = Map.copyOf(rejections);
+        }
+    }
+
+    private final boolean enabled;
+    private final IntSupplier liveMatches;
+    private final LongSupplier summaryVersion;
+
+    private final LongAdder[] calls = new LongAdder[Operation.values().length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder[] rejections = new LongAdder[ScoreboardResult.Status.values().length];
+    private final LatencyHistogram summaryBuild = new LatencyHistogram();
+
+    /**
+     * @param enabled        whether to record metrics
+     * @param liveMatches    the gauge of ongoing matches
+     * @param summaryVersion the gauge of the latest published summary version
+     */
+    ScoreboardMetrics(boolean enabled, IntSupplier liveMatches, LongSupplier summaryVersion) {
+        this.enabled = enabled;
+        this.liveMatches = liveMatches;
+        this.summaryVersion = summaryVersion;
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return the current time to pass to the recording methods, or zero if metrics are disabled
+     */
+    long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a call of the operation that started at the given time.
+     */
+    void record(Operation operation, long started) {
+        if (enabled) {
+            calls[operation.ordinal()].increment();
+            latencies[operation.ordinal()].record(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Records the rejection of a call that failed with the given exception.
+     * Exceptions that are not rejections of the arguments or the board state are not counted.
+     */
+    void rejected(RuntimeException failure) {
+        if (!enabled) {
+            return;
+        }
+        ScoreboardResult.Status status = switch (failure) {
+            case ScoreboardException e -> e.status();
+            case IllegalArgumentException ignored -> ScoreboardResult.Status.INVALID_ARGUMENT;
+            case NullPointerException ignored -> ScoreboardResult.Status.INVALID_ARGUMENT;
+            default -> null;
+        };
+        if (status != null) {
+            rejections[status.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Records the rejection reported by a {@code try*} method, if the result is one.
+     */
+    void rejected(ScoreboardResult result) {
+        if (enabled && !result.isSuccess()) {
+            rejections[result.status().ordinal()].increment();
+        }
+    }
+
+    /**
+     * Records building a new summary that started at the given time.
+     */
+    void summaryBuilt(long started) {
+        if (enabled) {
+            summaryBuild.record(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * @return the current metrics
+     */
+    public Snapshot snapshot() {
+        Map<Operation, Latency> operations = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, latencies[operation.ordinal()].stats());
+        }
+        Map<ScoreboardResult.Status, Long> rejected = new EnumMap<>(ScoreboardResult.Status.class);
+        for (ScoreboardResult.Status status : ScoreboardResult.Status.values()) {
+            if (status != ScoreboardResult.Status.OK) {
+                rejected.put(status, rejections[status.ordinal()].sum());
+            }
+        }
+        return new Snapshot(enabled, operations, rejected, liveMatches.getAsInt(), summaryVersion.getAsLong(),
+                summaryBuild.stats());
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     *
+     * @param name the name to register the metrics under
+     * @throws JMException if the metrics cannot be registered, for example under a name that is taken
+     */
+    public void registerMBean(ObjectName name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            counts.put(operation.name(), calls[operation.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        snapshot().rejections().forEach((status, count) -> counts.put(status.name(), count));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyNanos() {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        Snapshot snapshot = snapshot();
+        for (Operation operation : Operation.values()) {
+            putLatency(percentiles, operation.name(), snapshot.operations().get(operation));
+        }
+        putLatency(percentiles, "SUMMARY_BUILD", snapshot.summaryBuild());
+        return percentiles;
+    }
+
+    private static void putLatency(Map<String, Long> percentiles, String name, Latency latency) {
+        percentiles.put(name + ".p50", latency.p50Nanos());
+        percentiles.put(name + ".p99", latency.p99Nanos());
+        percentiles.put(name + ".p999", latency.p999Nanos());
+        percentiles.put(name + ".max", latency.maxNanos());
+    }
+
+    @Override
+    public int getLiveMatches() {
+        return liveMatches.getAsInt();
+    }
+
+    @Override
+    public long getSummaryVersion() {
+        return summaryVersion.getAsLong();
+    }
+}
@@ -0,0 +1,41 @@
+package com.tarhanskyi;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ScoreboardMetrics}. Operations, statuses and percentiles are keyed by name,
+ * latencies are in nanoseconds.
+ */
+public interface ScoreboardMetricsMXBean {
+
+    /**
+     * @return whether the scoreboard records metrics
+     */
+    boolean isEnabled();
+
+    /**
+     * @return the number of calls of each {@link ScoreboardMetrics.Operation}
+     */
+    Map<String, Long> getOperationCounts();
+
+    /**
+     * @return the number of rejected calls by the {@link ScoreboardResult.Status} of the rejection
+     */
+    Map<String, Long> getRejectionCounts();
+
+    /**
+     * @return the p50, p99, p999 and maximum latency of each operation and of building the summary,
+     * keyed like {@code UPDATE_SCORE.p99}
+     */
+    Map<String, Long> getLatencyNanos();
+
+    /**
+     * @return the number of ongoing matches
+     */
+    int getLiveMatches();
+
+    /**
+     * @return the version of the latest published summary
+     */
+    long getSummaryVersion();
+}
@@ -0,0 +1,80 @@
+package com.tarhanskyi;
+
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Configuration of a {@link ScoreboardService}.
+ *
+ * @param matchesLimit   the maximum number of active matches (positive)
+ * @param idGenerator    the generator of the IDs of new matches
+ * @param metricsEnabled whether the scoreboard records {@link ScoreboardMetrics}
+ * @param archive        the archive that receives every finished match, or {@code null} to keep no archive
+ * @param historyLimit   the number of summary versions kept for {@link ScoreboardService#getSummaryAt}, 0 to keep none
+ */
+public record ScoreboardOptions(int matchesLimit, MatchIdGenerator idGenerator, boolean metricsEnabled,
+                                MatchArchive archive, int historyLimit) {
+
+    /**
+     * @throws IllegalArgumentException if the matches limit is not positive or the history limit is negative
+     * @throws NullPointerException     if the ID generator is null
+     */
+    public ScoreboardOptions {
+        if (matchesLimit <= 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.MATCHES_LIMIT_RANGE, matchesLimit));
+        }
+        Objects.requireNonNull(idGenerator, ErrorMessages.ID_GENERATOR_NULL);
+        if (historyLimit < 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.HISTORY_LIMIT_RANGE, historyLimit));
+        }
+    }
+
+    /**
+     * @return options with {@code MATCHES_LIMIT} active matches, random match IDs, no metrics, no archive and no history
+     */
+    public static ScoreboardOptions defaults() {
+        return new ScoreboardOptions(Constants.MATCHES_LIMIT, MatchIdGenerator.random(), false, null, 0);
+    }
+
+    /**
+     * @param matchesLimit the maximum number of active matches (positive)
+     * @return a copy of these options with the given limit
+     */
+    public ScoreboardOptions withMatchesLimit(int matchesLimit) {
+        return new ScoreboardOptions(matchesLimit, idGenerator, metricsEnabled, archive, historyLimit);
+    }
+
+    /**
+     * @param idGenerator the generator of the IDs of new matches
+     * @return a copy of these options with the given ID generator
+     */
+    public ScoreboardOptions withIdGenerator(MatchIdGenerator idGenerator) {
+        return new ScoreboardOptions(matchesLimit, idGenerator, metricsEnabled, archive, historyLimit);
+    }
+
+    /**
+     * @param metricsEnabled whether the scoreboard records {@link ScoreboardMetrics}
+     * @return a copy of these options with metrics enabled or disabled
+     */
+    public ScoreboardOptions withMetricsEnabled(boolean metricsEnabled) {
+        return new ScoreboardOptions(matchesLimit, idGenerator, metricsEnabled, archive, historyLimit);
+    }
+
+    /**
+     * @param archive the archive that receives every finished match, or {@code null} to keep no archive
+     * @return a copy of these options with the given archive
+     */
+    public ScoreboardOptions withArchive(MatchArchive archive) {
+        return new ScoreboardOptions(matchesLimit, idGenerator, metricsEnabled, archive, historyLimit);
+    }
+
+    /**
+     * @param historyLimit the number of summary versions kept for {@link ScoreboardService#getSummaryAt},
+     *                     0 to keep none
+     * @return a copy of these options with the given history limit
+     */
+    public ScoreboardOptions withHistoryLimit(int historyLimit) {
+        return new ScoreboardOptions(matchesLimit, idGenerator, metricsEnabled, archive, historyLimit);
+    }
+}
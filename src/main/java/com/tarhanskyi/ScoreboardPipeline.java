@@ -0,0 +1,263 @@
+package com.tarhanskyi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Single-writer execution mode of a {@link ScoreboardService}: callers enqueue commands and get
+ * a {@link CompletableFuture}, and one writer thread applies them.
+ * <p>
+ * Commands go to a preallocated ring buffer. A caller claims a slot with one atomic increment, writes
+ * its command and publishes the slot; it waits only while the ring is full. The writer takes every
+ * published command up to {@code maxBatch} and applies them with {@link ScoreboardService#applyBatch},
+ * so the board sees a single writer and publishes the summary once per batch instead of once per command.
+ * Under contention this turns many competing writers rebuilding the summary into one writer rebuilding it
+ * once for many commands.
+ * <p>
+ * Commands are applied in the order their slots were claimed. A future completes with the match after its
+ * command, or exceptionally with the reason it was rejected, exactly as the synchronous method would
+ * have thrown it. Futures are completed on the writer thread, so slow dependent actions should be attached
+ * with the {@code *Async} methods of {@link CompletableFuture}.
+ */
+public final class ScoreboardPipeline implements AutoCloseable {
+
+    /**
+     * Default number of slots of the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Default maximum number of commands applied as one batch.
+     */
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    /**
+     * Set in the claim counter once the pipeline is closed, so every later claim sees it.
+     */
+    private static final long CLOSED = 1L << 62;
+
+    /**
+     * Time a caller sleeps before checking again whether a slot of a full ring was freed.
+     */
+    private static final long FULL_WAIT_NANOS = 10_000;
+
+    /**
+     * Number of times the idle writer yields before it parks, so a steady stream of commands
+     * does not pay for waking it up.
+     */
+    private static final int IDLE_YIELDS = 16;
+
+    private final ScoreboardService service;
+    private final int mask;
+    private final int maxBatch;
+
+    private final ScoreCommand[] commands;
+    private final CompletableFuture<?>[] futures;
+    /**
+     * Sequence number of the command published in each slot; a slot is ready for the writer
+     * once it holds the sequence the writer expects.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * Next sequence number to claim, with {@code CLOSED} set once the pipeline is closed.
+     */
+    private final AtomicLong claimed = new AtomicLong();
+    /**
+     * First sequence number not yet applied; the slots of the sequences before it can be reused.
+     */
+    private volatile long applied;
+    /**
+     * Number of commands claimed before the pipeline was closed, or -1 while it is open.
+     */
+    private volatile long closedAt = -1;
+    private volatile boolean writerParked;
+
+    private final Thread writer;
+
+    /**
+     * Creates a pipeline with {@value #DEFAULT_CAPACITY} slots and batches of up to {@value #DEFAULT_MAX_BATCH} commands.
+     *
+     * @param service the board to apply the commands to
+     * @throws NullPointerException if the service is null
+     */
+    public ScoreboardPipeline(ScoreboardService service) {
+        this(service, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Creates a pipeline and starts its writer thread.
+     *
+     * @param service  the board to apply the commands to
+     * @param capacity the number of slots of the ring buffer (a positive power of two)
+     * @param maxBatch the maximum number of commands applied as one batch (positive)
+     * @throws IllegalArgumentException if the capacity is not a positive power of two or the batch is not positive
+     * @throws NullPointerException     if the service is null
+     */
+    public ScoreboardPipeline(ScoreboardService service, int capacity, int maxBatch) {
+        this.service = Objects.requireNonNull(service, ErrorMessages.SERVICE_NULL);
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.PIPELINE_CAPACITY_RANGE, capacity));
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.BATCH_SIZE_RANGE, maxBatch));
+        }
+        this.mask = capacity - 1;
+        this.maxBatch = maxBatch;
+        this.commands = new ScoreCommand[capacity];
+        this.futures = new CompletableFuture<?>[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.writer = Thread.ofPlatform().name("scoreboard-pipeline").daemon().start(this::drain);
+    }
+
+    /**
+     * Enqueues {@link ScoreboardService#startMatch(String, String)}.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @return the future of the started match
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public CompletableFuture<Match> startMatchAsync(String homeTeam, String awayTeam) {
+        return enqueue(new ScoreCommand.Start(homeTeam, awayTeam));
+    }
+
+    /**
+     * Enqueues {@link ScoreboardService#updateScore(UUID, int, int)}.
+     *
+     * @param matchId   the UUID of the match to update
+     * @param homeScore the new score for the home team
+     * @param awayScore the new score for the away team
+     * @return the future of the updated match
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public CompletableFuture<Match> updateScoreAsync(UUID matchId, int homeScore, int awayScore) {
+        return enqueue(new ScoreCommand.UpdateScore(matchId, homeScore, awayScore));
+    }
+
+    /**
+     * Enqueues {@link ScoreboardService#finishMatch(UUID)}.
+     *
+     * @param matchId the UUID of the match to finish
+     * @return the future of the finished match with its final score
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public CompletableFuture<Match> finishMatchAsync(UUID matchId) {
+        return enqueue(new ScoreCommand.Finish(matchId));
+    }
+
+    /**
+     * Stops accepting commands, waits until the writer has applied every command enqueued before,
+     * and stops the writer.
+     */
+    @Override
+    public void close() {
+        long before = claimed.getAndUpdate(value -> value | CLOSED);
+        if ((before & CLOSED) == 0) {
+            closedAt = before;
+            LockSupport.unpark(writer);
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Match> enqueue(ScoreCommand command) {
+        long sequence = claimed.getAndIncrement();
+        if ((sequence & CLOSED) != 0) {
+            throw new IllegalStateException(ErrorMessages.PIPELINE_CLOSED);
+        }
+        while (sequence - applied > mask) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_WAIT_NANOS);
+        }
+        CompletableFuture<Match> future = new CompletableFuture<>();
+        int slot = (int) sequence & mask;
+        commands[slot] = command;
+        futures[slot] = future;
+        published.set(slot, sequence);
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        return future;
+    }
+
+    /**
+     * Body of the writer thread: applies the published commands in batches, in sequence order,
+     * until the pipeline is closed and every command claimed before was applied.
+     */
+    private void drain() {
+        List<ScoreCommand> batch = new ArrayList<>(maxBatch);
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            while (batch.size() < maxBatch && published.get((int) (next + batch.size()) & mask) == next + batch.size()) {
+                batch.add(commands[(int) (next + batch.size()) & mask]);
+            }
+            if (batch.isEmpty()) {
+                long end = closedAt;
+                if (end >= 0 && next >= end) {
+                    return;
+                }
+                if (idle++ < IDLE_YIELDS) {
+                    Thread.yield();
+                    continue;
+                }
+                writerParked = true;
+                if (published.get((int) next & mask) != next && closedAt == end) {
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+                continue;
+            }
+            idle = 0;
+            complete(next, batch);
+            next += batch.size();
+            applied = next;
+            batch.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(long first, List<ScoreCommand> batch) {
+        List<CommandResult> results = null;
+        RuntimeException failure = null;
+        try {
+            results = service.applyBatch(batch);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            int slot = (int) (first + i) & mask;
+            CompletableFuture<Match> future = (CompletableFuture<Match>) futures[slot];
+            commands[slot] = null;
+            futures[slot] = null;
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else if (results.get(i).isSuccess()) {
+                future.complete(results.get(i).match());
+            } else {
+                future.completeExceptionally(results.get(i).failure());
+            }
+        }
+    }
+}
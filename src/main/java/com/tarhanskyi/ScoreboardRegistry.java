@@ -0,0 +1,156 @@
+package com.tarhanskyi;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Registry of independent scoreboards, one per competition.
+ * <p>
+ * Every competition is a separate {@link ScoreboardService} shard with its own limit,
+ * so writers of different competitions never contend with each other.
+ * The global summary is a lazy merge of the already sorted shard snapshots, so nothing is re-sorted.
+ *
+ * @author Taras Tarhasnkyi
+ */
+public class ScoreboardRegistry {
+
+    private final Map<String, ScoreboardService> shards = new ConcurrentHashMap<>();
+
+    /**
+     * Limit of active matches for competitions created without an explicit one.
+     */
+    private final int defaultMatchesLimit;
+
+    /**
+     * Creates a registry whose competitions are limited to {@code MATCHES_LIMIT} active matches by default.
+     */
+    public ScoreboardRegistry() {
+        this(Constants.MATCHES_LIMIT);
+    }
+
+    /**
+     * Creates a registry with a custom default limit of active matches per competition.
+     *
+     * @param defaultMatchesLimit the default maximum number of active matches per competition (positive)
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public ScoreboardRegistry(int defaultMatchesLimit) {
+        if (defaultMatchesLimit <= 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.MATCHES_LIMIT_RANGE, defaultMatchesLimit));
+        }
+        this.defaultMatchesLimit = defaultMatchesLimit;
+    }
+
+    /**
+     * Creates a new competition with its own limit of active matches.
+     *
+     * @param competition  the name of the competition (non-null)
+     * @param matchesLimit the maximum number of active matches of the competition (positive)
+     * @return the scoreboard of the new competition
+     * @throws ScoreboardException      if the competition already exists
+     * @throws NullPointerException     if the name is null
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public ScoreboardService createCompetition(String competition, int matchesLimit) {
+        ScoreboardService service = new ScoreboardService(matchesLimit);
+        ScoreboardException.competitionExists(competition, shards.putIfAbsent(competition, service) != null);
+        return service;
+    }
+
+    /**
+     * Returns the scoreboard of a competition, creating it with the default limit if it does not exist yet.
+     *
+     * @param competition the name of the competition (non-null)
+     * @return the scoreboard of the competition
+     * @throws NullPointerException if the name is null
+     */
+    public ScoreboardService getOrCreateCompetition(String competition) {
+        return shards.computeIfAbsent(competition, name -> new ScoreboardService(defaultMatchesLimit));
+    }
+
+    /**
+     * Returns the scoreboard of an existing competition.
+     *
+     * @param competition the name of the competition (non-null)
+     * @return the scoreboard of the competition
+     * @throws ScoreboardException  if the competition does not exist
+     * @throws NullPointerException if the name is null
+     */
+    public ScoreboardService getCompetition(String competition) {
+        ScoreboardService service = shards.get(competition);
+        ScoreboardException.competitionNotFound(competition, service == null);
+        return service;
+    }
+
+    /**
+     * Removes a competition together with all its matches.
+     *
+     * @param competition the name of the competition (non-null)
+     * @throws ScoreboardException  if the competition does not exist
+     * @throws NullPointerException if the name is null
+     */
+    public void removeCompetition(String competition) {
+        ScoreboardException.competitionNotFound(competition, shards.remove(competition) == null);
+    }
+
+    /**
+     * @return the names of all competitions (unmodifiable copy)
+     */
+    public Set<String> getCompetitions() {
+        return Set.copyOf(shards.keySet());
+    }
+
+    /**
+     * Returns the summary of a single competition, see {@link ScoreboardService#getSummary()}.
+     *
+     * @param competition the name of the competition (non-null)
+     * @return a sorted list of the ongoing matches of the competition
+     * @throws ScoreboardException if the competition does not exist
+     */
+    public List<Match> getSummary(String competition) {
+        return getCompetition(competition).getSummary();
+    }
+
+    /**
+     * Returns the ongoing matches of all competitions in summary order.
+     * <p>
+     * The stream lazily merges the latest snapshots of the shards, taken when this method is called,
+     * so consuming only the head of it costs only as much as the head.
+     *
+     * @return a sorted stream of the ongoing matches of all competitions
+     */
+    public Stream<Match> getGlobalSummary() {
+        List<Iterator<Match>> sources = new ArrayList<>(shards.size());
+        for (ScoreboardService service : shards.values()) {
+            sources.add(service.getSnapshot().matches().iterator());
+        }
+        Iterator<Match> merged = new MergingIterator<>(sources, Match.SUMMARY_ORDER);
+        // not SORTED: that flag implies the natural order, and matches have none
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Returns the first {@code count} matches of the global summary.
+     *
+     * @param count the maximum number of matches to return (non-negative)
+     * @return a sorted list with at most {@code count} ongoing matches of all competitions
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public List<Match> getGlobalTopMatches(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_COUNT, count));
+        }
+        return getGlobalSummary().limit(count).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.tarhanskyi;
+
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Outcome of a {@code try*} operation of {@link ScoreboardService}.
+ * <p>
+ * Rejections are reported with preallocated instances, one per {@link Status},
+ * so a rejected operation allocates nothing.
+ *
+ * @param status the outcome of the operation
+ * @param match  the match after the operation (the final state for a finished match), or {@code null} if rejected
+ */
+public record ScoreboardResult(
+        Status status,
+        Match match
+) {
+    /**
+     * Outcome of an operation.
+     */
+    public enum Status {
+        /** The operation was applied. */
+        OK,
+        /** A required argument was null, or a team name or score was invalid. */
+        INVALID_ARGUMENT,
+        /** No ongoing match has the given ID. */
+        NOT_FOUND,
+        /** One of the teams is already in an ongoing match. */
+        MATCH_EXISTS,
+        /** The board already holds its maximum number of matches. */
+        LIMIT_REACHED,
+        /** The match was changed since the version the caller expected. */
+        VERSION_MISMATCH
+    }
+
+    static final ScoreboardResult INVALID_ARGUMENT = new ScoreboardResult(Status.INVALID_ARGUMENT, null);
+    static final ScoreboardResult NOT_FOUND = new ScoreboardResult(Status.NOT_FOUND, null);
+    static final ScoreboardResult MATCH_EXISTS = new ScoreboardResult(Status.MATCH_EXISTS, null);
+    static final ScoreboardResult LIMIT_REACHED = new ScoreboardResult(Status.LIMIT_REACHED, null);
+    static final ScoreboardResult VERSION_MISMATCH = new ScoreboardResult(Status.VERSION_MISMATCH, null);
+
+    /**
+     * Constructs a new {@code ScoreboardResult} instance.
+     *
+     * @throws NullPointerException     if the status is null
+     * @throws IllegalArgumentException if a successful result has no match, or a rejected one has a match
+     */
+    public ScoreboardResult {
+        Objects.requireNonNull(status, ErrorMessages.STATUS_NULL);
+        if ((status == Status.OK) != (match != null)) {
+            throw new IllegalArgumentException(ErrorMessages.RESULT_STATE);
+        }
+    }
+
+    /**
+     * @return {@code true} if the operation was applied
+     */
+    public boolean isSuccess() {
+        return status == Status.OK;
+    }
+
+    static ScoreboardResult ok(Match match) {
+        return new ScoreboardResult(Status.OK, match);
+    }
+}
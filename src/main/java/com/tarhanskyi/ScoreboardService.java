@@ -1,9 +1,18 @@
 package com.tarhanskyi;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
 
 /**
  * Service responsible for managing football matches on a scoreboard.
@@ -16,6 +25,129 @@ public class ScoreboardService {
 
     private final Map<UUID, Match> matches = new ConcurrentHashMap<>();
 
+    /**
+     * Ongoing matches in {@link Match#SUMMARY_ORDER}, published as an immutable snapshot after every change.
+     * A match is republished while its map entry is locked, so changes of the same match
+     * reach the snapshot in the order they were applied, and the snapshot never holds
+     * more than one version of the same match.
+     */
+    private final AtomicReference<SummarySnapshot> snapshot = new AtomicReference<>(SummarySnapshot.empty());
+
+    /**
+     * Team name to the ID of the match the team is playing in.
+     * A team is reserved here before its match becomes visible and released when the match is finished.
+     */
+    private final Map<String, UUID> teams = new ConcurrentHashMap<>();
+
+    /**
+     * Number of reserved match slots, including matches that are still being started.
+     */
+    private final AtomicInteger activeMatches = new AtomicInteger();
+
+    /**
+     * Teams of ongoing matches sorted by their folded names, for {@link #findMatchesByTeamPrefix(String, int)}.
+     */
+    private final TeamPrefixIndex teamIndex = new TeamPrefixIndex();
+
+    /**
+     * Maximum number of matches this board can hold at the same time.
+     */
+    private final int matchesLimit;
+
+    private final MatchIdGenerator idGenerator;
+
+    /**
+     * Internal consumers of board changes, notified while the changed match is locked and before the change
+     * is published, so a listener that fails rejects the change.
+     */
+    private final List<ScoreboardListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final SummaryCache renderedSummaries = new SummaryCache();
+
+    private final SummaryChangeLog summaryChanges = new SummaryChangeLog();
+
+    /**
+     * Versions of the summary by time, or {@code null} if the options keep no history.
+     */
+    private final BoardHistory history;
+
+    private final ScoreboardEventPublisher events =
+            new ScoreboardEventPublisher(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+
+    private final ScoreboardMetrics metrics;
+
+    private final MatchArchive archive;
+
+    /**
+     * Creates a scoreboard limited to {@code MATCHES_LIMIT} active matches.
+     */
+    public ScoreboardService() {
+        this(Constants.MATCHES_LIMIT);
+    }
+
+    /**
+     * Creates a scoreboard with a custom limit of active matches.
+     *
+     * @param matchesLimit the maximum number of active matches (positive)
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public ScoreboardService(int matchesLimit) {
+        this(ScoreboardOptions.defaults().withMatchesLimit(matchesLimit));
+    }
+
+    /**
+     * Creates a scoreboard with the given options.
+     *
+     * @param options the limit of active matches, the generator of match IDs, whether to record metrics
+     *                and the archive of finished matches
+     * @throws NullPointerException if the options are null
+     */
+    public ScoreboardService(ScoreboardOptions options) {
+        Objects.requireNonNull(options, ErrorMessages.OPTIONS_NULL);
+        this.matchesLimit = options.matchesLimit();
+        this.idGenerator = options.idGenerator();
+        this.metrics = new ScoreboardMetrics(options.metricsEnabled(), activeMatches::get, () -> snapshot.get().version());
+        this.archive = options.archive();
+        this.history = options.historyLimit() == 0 ? null : new BoardHistory(options.historyLimit(), snapshot.get());
+        listeners.add(events);
+        if (archive != null) {
+            listeners.add(archive.recorder());
+        }
+    }
+
+    /**
+     * Creates a scoreboard that records its changes in a journal, starting with the matches
+     * that were ongoing when the journal was last written.
+     *
+     * @param matchesLimit the maximum number of active matches (positive)
+     * @param journal      the journal to replay and append to, not attached to another scoreboard
+     * @throws IllegalArgumentException if the limit is not positive
+     * @throws IllegalStateException    if the journal is already attached to a scoreboard
+     * @throws ScoreboardException      if the journal has more ongoing matches than the limit
+     * @throws NullPointerException     if the journal is null
+     */
+    public ScoreboardService(int matchesLimit, ScoreboardJournal journal) {
+        this(ScoreboardOptions.defaults().withMatchesLimit(matchesLimit), journal);
+    }
+
+    /**
+     * Creates a scoreboard with the given options that records its changes in a journal.
+     *
+     * @param options the limit of active matches and the generator of match IDs
+     * @param journal the journal to replay and append to, not attached to another scoreboard
+     * @throws IllegalStateException if the journal is already attached to a scoreboard
+     * @throws ScoreboardException   if the journal has more ongoing matches than the limit
+     * @throws NullPointerException  if any argument is null
+     * @see #ScoreboardService(int, ScoreboardJournal)
+     */
+    public ScoreboardService(ScoreboardOptions options, ScoreboardJournal journal) {
+        this(options);
+        Objects.requireNonNull(journal, ErrorMessages.JOURNAL_NULL);
+        restore(journal.attach());
+        // first, so a change the journal fails to record is rejected before other listeners see it
+        listeners.add(0, journal.writer());
+    }
+
     /**
      * Starts a new match with the given home and away teams.
      *
@@ -27,19 +159,21 @@ public class ScoreboardService {
      * @throws IllegalArgumentException if team names are invalid, identical, or scores are out of bounds
      */
     public Match startMatch(String homeTeam, String awayTeam) {
-        ScoreboardException.matchLimitReached(matches.size());
-        matches.values().stream()
-                .flatMap(match -> Stream.of(match.homeTeam(), match.awayTeam()))
-                .filter(team -> team.equals(homeTeam) || team.equals(awayTeam))
-                .findAny()
-                .ifPresent(ScoreboardException::matchExistsFor);
-        Match match = Match.start(homeTeam, awayTeam);
-        matches.put(match.id(), match);
-        return match;
+        long started = metrics.start();
+        try {
+            return start(Match.start(idGenerator.nextId(), homeTeam, awayTeam), true);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            written(ScoreboardMetrics.Operation.START_MATCH, started);
+        }
     }
 
     /**
-     * Updates the score for a given match by ID.
+     * Updates the score for a given match by ID, regardless of concurrent changes (last writer wins).
+     * The update is applied atomically to the current version of the match,
+     * so a finished match is never brought back.
      *
      * @param matchId   the UUID of the match to update
      * @param homeScore the new score for the home team (must be between 0 and {@code SCORE_LIMIT})
@@ -49,11 +183,43 @@ public class ScoreboardService {
      * @throws IllegalArgumentException if scores are out of bounds
      */
     public Match updateScore(UUID matchId, int homeScore, int awayScore) {
-        Match match = matches.get(matchId);
-        ScoreboardException.notFoundById(matchId, match == null);
-        Match updated = Match.updateScore(match, homeScore, awayScore);
-        matches.put(updated.id(), updated);
-        return updated;
+        long started = metrics.start();
+        try {
+            return update(matchId, homeScore, awayScore, true);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            written(ScoreboardMetrics.Operation.UPDATE_SCORE, started);
+        }
+    }
+
+    /**
+     * Updates the score for a given match by ID only if the match is still at the expected version.
+     * This lets several writers update the same match without losing each other's changes:
+     * a writer that lost the race gets an exception and can re-read the match and retry.
+     *
+     * @param matchId         the UUID of the match to update
+     * @param expectedVersion the {@link Match#version()} the update is based on (not negative)
+     * @param homeScore       the new score for the home team (must be between 0 and {@code SCORE_LIMIT})
+     * @param awayScore       the new score for the away team (must be between 0 and {@code SCORE_LIMIT})
+     * @return the updated {@link Match}
+     * @throws ScoreboardException      if the match is not found or its version differs from the expected one
+     * @throws IllegalArgumentException if the expected version is negative or scores are out of bounds
+     */
+    public Match updateScore(UUID matchId, long expectedVersion, int homeScore, int awayScore) {
+        long started = metrics.start();
+        try {
+            if (expectedVersion < 0) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_VERSION, expectedVersion));
+            }
+            return update(matchId, expectedVersion, homeScore, awayScore);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            written(ScoreboardMetrics.Operation.UPDATE_SCORE, started);
+        }
     }
 
     /**
@@ -63,8 +229,96 @@ public class ScoreboardService {
      * @throws ScoreboardException if the match is not found
      */
     public void finishMatch(UUID matchId) {
-        ScoreboardException.notFoundById(matchId, !matches.containsKey(matchId));
-        matches.remove(matchId);
+        long started = metrics.start();
+        try {
+            finish(matchId, true);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            written(ScoreboardMetrics.Operation.FINISH_MATCH, started);
+        }
+    }
+
+    /**
+     * Starts a new match like {@link #startMatch(String, String)}, but reports a rejection
+     * with a preallocated result instead of an exception.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @return the started match, or the reason it was not started; a rejection allocates nothing
+     */
+    public ScoreboardResult tryStartMatch(String homeTeam, String awayTeam) {
+        long started = metrics.start();
+        return measured(ScoreboardMetrics.Operation.START_MATCH, started, tryStart(homeTeam, awayTeam));
+    }
+
+    /**
+     * Updates the score of a match like {@link #updateScore(UUID, int, int)}, but reports a rejection
+     * with a preallocated result instead of an exception.
+     *
+     * @param matchId   the UUID of the match to update
+     * @param homeScore the new score for the home team
+     * @param awayScore the new score for the away team
+     * @return the updated match, or the reason it was not updated; a rejection allocates nothing
+     */
+    public ScoreboardResult tryUpdateScore(UUID matchId, int homeScore, int awayScore) {
+        long started = metrics.start();
+        return measured(ScoreboardMetrics.Operation.UPDATE_SCORE, started, tryUpdate(matchId, homeScore, awayScore));
+    }
+
+    /**
+     * Updates the score of a match like {@link #updateScore(UUID, long, int, int)}, but reports a rejection
+     * with a preallocated result instead of an exception.
+     *
+     * @param matchId         the UUID of the match to update
+     * @param expectedVersion the {@link Match#version()} the update is based on (not negative)
+     * @param homeScore       the new score for the home team
+     * @param awayScore       the new score for the away team
+     * @return the updated match, or the reason it was not updated; a negative expected version is
+     * an invalid argument. A rejection allocates nothing
+     */
+    public ScoreboardResult tryUpdateScore(UUID matchId, long expectedVersion, int homeScore, int awayScore) {
+        long started = metrics.start();
+        return measured(ScoreboardMetrics.Operation.UPDATE_SCORE, started,
+                tryUpdate(matchId, expectedVersion, homeScore, awayScore));
+    }
+
+    /**
+     * Finishes a match like {@link #finishMatch(UUID)}, but reports a rejection
+     * with a preallocated result instead of an exception.
+     *
+     * @param matchId the UUID of the match to finish
+     * @return the finished match with its final score, or the reason it was not finished;
+     * a rejection allocates nothing
+     */
+    public ScoreboardResult tryFinishMatch(UUID matchId) {
+        long started = metrics.start();
+        return measured(ScoreboardMetrics.Operation.FINISH_MATCH, started, tryFinish(matchId));
+    }
+
+    /**
+     * Applies a batch of commands and publishes the result as a single change of the board.
+     * <p>
+     * The arguments of all commands are validated before any of them is applied.
+     * Valid commands are then applied in order; a command that fails does not stop the others.
+     * Readers of {@link #getSummary()} and {@link #getSnapshot()} see either none or all of the batch,
+     * as the summary is rebuilt only once, after the last command.
+     *
+     * @param commands the commands to apply, in order (non-null, without null elements)
+     * @return the result of each command, in the order of {@code commands}
+     * @throws NullPointerException if the list or any of its commands is null
+     */
+    public List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+        long started = metrics.start();
+        try {
+            return apply(commands);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            written(ScoreboardMetrics.Operation.APPLY_BATCH, started);
+        }
     }
 
     /**
@@ -74,13 +328,814 @@ public class ScoreboardService {
      *     <li>Start time (the most recent first) </li>
      * </ul>
      *
+     * The list is copied from the latest {@link SummarySnapshot}, so no sorting happens here.
+     *
      * @return a sorted list of ongoing {@link Match} instances
      */
     public List<Match> getSummary() {
-        return matches.values().stream()
-                .sorted(Comparator
-                        .comparingInt(Match::totalScore)
-                        .thenComparing(Match::startTime).reversed())
-                .collect(Collectors.toList());
+        long started = metrics.start();
+        List<Match> summary = new ArrayList<>(snapshot.get().matches());
+        metrics.record(ScoreboardMetrics.Operation.GET_SUMMARY, started);
+        return summary;
+    }
+
+    /**
+     * Returns the latest published snapshot of the board.
+     * The call neither blocks nor allocates: the same instance is returned until the board changes.
+     *
+     * @return the current {@link SummarySnapshot}
+     */
+    public SummarySnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Returns the current summary rendered to the given format.
+     * The rendering is cached until the board changes, and concurrent callers wait
+     * for a single rendering instead of repeating it.
+     *
+     * @param format the format to render the summary to
+     * @return the UTF-8 encoded summary, read-only
+     * @throws NullPointerException if the format is null
+     */
+    public ByteBuffer getRenderedSummary(SummaryFormat format) {
+        long started = metrics.start();
+        try {
+            Objects.requireNonNull(format, ErrorMessages.FORMAT_NULL);
+            return renderedSummaries.get(snapshot.get(), format);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.GET_RENDERED_SUMMARY, started);
+        }
+    }
+
+    /**
+     * Writes the current state of the board to a checksummed binary file.
+     * The state is the latest published snapshot, so writers are never stopped and the file is consistent
+     * even while the board keeps changing. The file is replaced atomically.
+     *
+     * @param path the file to write
+     * @throws IOException          if the file cannot be written
+     * @throws NullPointerException if the path is null
+     */
+    public void snapshotTo(Path path) throws IOException {
+        long started = metrics.start();
+        try {
+            Objects.requireNonNull(path, ErrorMessages.PATH_NULL);
+            SnapshotFile.write(path, matchesLimit, snapshot.get().matches());
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.SNAPSHOT_TO, started);
+        }
+    }
+
+    /**
+     * Creates a scoreboard from a file written by {@link #snapshotTo(Path)}, with the same limit of active matches
+     * and the same matches, including their IDs, start times and versions.
+     *
+     * @param path the snapshot file
+     * @return the restored scoreboard
+     * @throws IOException          if the file cannot be read, is not a snapshot or is corrupted
+     * @throws NullPointerException if the path is null
+     */
+    public static ScoreboardService restoreFrom(Path path) throws IOException {
+        return restoreFrom(path, ScoreboardOptions.defaults());
+    }
+
+    /**
+     * Creates a scoreboard from a file written by {@link #snapshotTo(Path)}, like {@link #restoreFrom(Path)},
+     * configured with the given options. The limit of active matches is taken from the file.
+     *
+     * @param path    the snapshot file
+     * @param options the generator of match IDs, whether to record metrics, the archive and the history limit
+     * @return the restored scoreboard
+     * @throws IOException          if the file cannot be read, is not a snapshot or is corrupted
+     * @throws NullPointerException if any argument is null
+     */
+    public static ScoreboardService restoreFrom(Path path, ScoreboardOptions options) throws IOException {
+        Objects.requireNonNull(path, ErrorMessages.PATH_NULL);
+        Objects.requireNonNull(options, ErrorMessages.OPTIONS_NULL);
+        SnapshotFile.Contents contents = SnapshotFile.read(path);
+        ScoreboardService service = new ScoreboardService(options.withMatchesLimit(contents.matchesLimit()));
+        service.restore(contents.matches());
+        return service;
+    }
+
+    /**
+     * Returns the first {@code count} matches of the summary, in the same order as {@link #getSummary()}.
+     *
+     * @param count the maximum number of matches to return (non-negative)
+     * @return a sorted list with at most {@code count} ongoing {@link Match} instances
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public List<Match> getTopMatches(int count) {
+        long started = metrics.start();
+        try {
+            if (count < 0) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_COUNT, count));
+            }
+            List<Match> summary = snapshot.get().matches();
+            return new ArrayList<>(summary.subList(0, Math.min(count, summary.size())));
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.GET_TOP_MATCHES, started);
+        }
+    }
+
+    /**
+     * Returns what changed in the summary since a version the client already has, so a polling client
+     * downloads the few matches that changed instead of the whole summary.
+     * <p>
+     * The board remembers the changes of its last {@code SummaryChangeLog.CAPACITY} versions.
+     * For an older version, or one this board never had, the delta holds the whole summary instead.
+     * Start with version {@code 0} to get the whole summary the first time.
+     *
+     * @param version the {@link SummaryDelta#version()} of the last delta, or {@link SummarySnapshot#version()}
+     * @return the changes since the version, or the whole summary
+     * @throws IllegalArgumentException if the version is negative
+     */
+    public SummaryDelta getSummaryChangesSince(long version) {
+        long started = metrics.start();
+        try {
+            if (version < 0) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_VERSION, version));
+            }
+            SummarySnapshot current = snapshot.get();
+            List<SummaryChange> changes = version == 0 ? null : summaryChanges.changesSince(version, current);
+            if (changes == null || changes.size() > current.matches().size()) {
+                return new SummaryDelta(version, current.version(), true, List.of(), current.matches());
+            }
+            return new SummaryDelta(version, current.version(), false, changes, List.of());
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.GET_SUMMARY_CHANGES, started);
+        }
+    }
+
+    /**
+     * Returns the summary as it was at a past moment, from the last version published at or before it.
+     * <p>
+     * The board keeps its last {@link ScoreboardOptions#historyLimit()} versions in a structure that shares
+     * the unchanged matches between versions, so a version costs memory in proportion to its changes,
+     * and the summary of any kept moment is read without replaying changes.
+     *
+     * @param moment the moment to look at
+     * @return a sorted list of the matches that were ongoing at that moment
+     * @throws IllegalArgumentException if the moment is before the oldest version kept
+     * @throws IllegalStateException    if the board keeps no history
+     * @throws NullPointerException     if the moment is null
+     */
+    public List<Match> getSummaryAt(Instant moment) {
+        long started = metrics.start();
+        try {
+            Objects.requireNonNull(moment, ErrorMessages.MOMENT_NULL);
+            if (history == null) {
+                throw new IllegalStateException(ErrorMessages.HISTORY_DISABLED);
+            }
+            List<Match> summary = history.at(moment);
+            if (summary == null) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.MOMENT_NOT_KEPT, moment, history.oldest()));
+            }
+            return summary;
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.GET_SUMMARY_AT, started);
+        }
+    }
+
+    /**
+     * Finds the ongoing matches of the teams whose names start with a prefix, ignoring case and accents,
+     * so {@code "cura"} finds {@code "Curaçao"}. Matches are ordered by the team name that matched,
+     * and a match whose both teams match is returned once.
+     * <p>
+     * The teams are kept in a sorted index, so the lookup reads only the matching teams
+     * instead of the whole board.
+     *
+     * @param prefix the start of a team name; leading and trailing whitespace is ignored
+     * @param limit  the maximum number of matches to return (non-negative)
+     * @return at most {@code limit} ongoing {@link Match} instances with their current scores
+     * @throws IllegalArgumentException if {@code limit} is negative
+     * @throws NullPointerException     if the prefix is null
+     */
+    public List<Match> findMatchesByTeamPrefix(String prefix, int limit) {
+        long started = metrics.start();
+        try {
+            Objects.requireNonNull(prefix, ErrorMessages.PREFIX_NULL);
+            if (limit < 0) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_COUNT, limit));
+            }
+            Map<UUID, Match> found = new LinkedHashMap<>();
+            for (UUID id : teamIndex.matching(prefix)) {
+                if (found.size() == limit) {
+                    break;
+                }
+                Match match = matches.get(id);
+                if (match != null) {
+                    found.putIfAbsent(id, match);
+                }
+            }
+            return new ArrayList<>(found.values());
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.FIND_BY_TEAM_PREFIX, started);
+        }
+    }
+
+    /**
+     * Returns one window of the summary, in the same order as {@link #getSummary()}.
+     * Only the matches of the window are copied from the latest snapshot.
+     *
+     * @param offset the number of matches to skip (non-negative)
+     * @param limit  the maximum number of matches to return (non-negative)
+     * @return a sorted list with at most {@code limit} ongoing {@link Match} instances,
+     * empty if {@code offset} is past the last match
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative
+     */
+    public List<Match> getSummary(int offset, int limit) {
+        long started = metrics.start();
+        try {
+            return window(snapshot.get(), offset, limit);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.GET_SUMMARY_PAGE, started);
+        }
+    }
+
+    /**
+     * Returns the page of the summary after the cursor.
+     * <p>
+     * The first page, read with {@link SummaryCursor#first()}, comes from the latest snapshot, and the cursors
+     * of the following pages stay on that snapshot. So a client paging through the summary sees one
+     * consistent version of the board, whatever changes in the meantime; it starts over from
+     * {@link SummaryCursor#first()} to see the changes.
+     *
+     * @param cursor the cursor returned with the previous page, or {@link SummaryCursor#first()}
+     * @param limit  the maximum number of matches of the page (non-negative)
+     * @return the matches after the cursor and the cursor of the next page
+     * @throws IllegalArgumentException if {@code limit} is negative or the cursor was returned by another board
+     * @throws NullPointerException     if the cursor is null
+     */
+    public SummaryPage getSummaryAfter(SummaryCursor cursor, int limit) {
+        long started = metrics.start();
+        try {
+            Objects.requireNonNull(cursor, ErrorMessages.CURSOR_NULL);
+            if (cursor.board() != null && cursor.board() != this) {
+                throw new IllegalArgumentException(ErrorMessages.FOREIGN_CURSOR);
+            }
+            SummarySnapshot pinned = cursor.snapshot() == null ? snapshot.get() : cursor.snapshot();
+            List<Match> page = window(pinned, cursor.offset(), limit);
+            int end = cursor.offset() + page.size();
+            SummaryCursor next = end < pinned.matches().size() ? SummaryCursor.of(this, pinned, end) : null;
+            return new SummaryPage(page, next);
+        } catch (RuntimeException e) {
+            metrics.rejected(e);
+            throw e;
+        } finally {
+            metrics.record(ScoreboardMetrics.Operation.GET_SUMMARY_PAGE, started);
+        }
+    }
+
+    /**
+     * Returns the feed of board changes: match started, score updated and match finished.
+     * <p>
+     * Events are delivered asynchronously and never slow down the writers.
+     * A subscriber that falls behind receives only the latest score of each match,
+     * and is cancelled with {@code onError} if it is so far behind that its buffer overflows.
+     *
+     * @return the publisher of {@link ScoreboardEvent}s
+     */
+    public Flow.Publisher<ScoreboardEvent> events() {
+        return events;
+    }
+
+    /**
+     * Returns the counters and latency histograms of this board.
+     * Unless metrics were enabled in the {@link ScoreboardOptions}, nothing is recorded
+     * and only the gauges of live matches and summary version change.
+     *
+     * @return the metrics of this board
+     */
+    public ScoreboardMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the archive that receives the matches finished on this board, as set in the {@link ScoreboardOptions}.
+     *
+     * @return the archive, or {@code null} if this board keeps no archive
+     */
+    public MatchArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Registers an internal consumer of the changes of this board.
+     *
+     * @param listener the listener, notified while the changed match is locked
+     */
+    void addListener(ScoreboardListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the ID of the ongoing match between the two teams, without allocating.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @return the ID of the match, or {@code null} if the teams are not playing each other
+     */
+    UUID findMatchId(String homeTeam, String awayTeam) {
+        UUID matchId = teams.get(homeTeam);
+        if (matchId == null || !matchId.equals(teams.get(awayTeam))) {
+            return null;
+        }
+        Match match = matches.get(matchId);
+        return match != null && match.homeTeam().equals(homeTeam) ? matchId : null;
+    }
+
+    /**
+     * Starts a match for {@link #tryStartMatch(String, String)}.
+     */
+    private ScoreboardResult tryStart(String homeTeam, String awayTeam) {
+        if (homeTeam == null || awayTeam == null || TeamNames.isSameTeam(homeTeam, awayTeam)
+                || !TeamNames.isValid(homeTeam) || !TeamNames.isValid(awayTeam)) {
+            return ScoreboardResult.INVALID_ARGUMENT;
+        }
+        if (teams.containsKey(homeTeam) || teams.containsKey(awayTeam)) {
+            return ScoreboardResult.MATCH_EXISTS;
+        }
+        if (!tryReserveSlot()) {
+            return ScoreboardResult.LIMIT_REACHED;
+        }
+        Match match = Match.start(idGenerator.nextId(), homeTeam, awayTeam);
+        if (tryReserveTeams(match) != null) {
+            activeMatches.decrementAndGet();
+            return ScoreboardResult.MATCH_EXISTS;
+        }
+        insert(match, true);
+        return ScoreboardResult.ok(match);
+    }
+
+    /**
+     * Updates a match for {@link #tryUpdateScore(UUID, int, int)}.
+     */
+    private ScoreboardResult tryUpdate(UUID matchId, int homeScore, int awayScore) {
+        if (matchId == null || !Match.isValidScore(homeScore) || !Match.isValidScore(awayScore)) {
+            return ScoreboardResult.INVALID_ARGUMENT;
+        }
+        if (!matches.containsKey(matchId)) {
+            return ScoreboardResult.NOT_FOUND;
+        }
+        Match updated = matches.computeIfPresent(matchId,
+                (id, match) -> reindex(match, Match.updateScore(match, homeScore, awayScore), true));
+        return updated == null ? ScoreboardResult.NOT_FOUND : ScoreboardResult.ok(updated);
+    }
+
+    /**
+     * Updates a match for {@link #tryUpdateScore(UUID, long, int, int)}.
+     */
+    private ScoreboardResult tryUpdate(UUID matchId, long expectedVersion, int homeScore, int awayScore) {
+        if (matchId == null || expectedVersion < 0
+                || !Match.isValidScore(homeScore) || !Match.isValidScore(awayScore)) {
+            return ScoreboardResult.INVALID_ARGUMENT;
+        }
+        Match current = matches.get(matchId);
+        if (current == null) {
+            return ScoreboardResult.NOT_FOUND;
+        }
+        if (current.version() != expectedVersion) {
+            return ScoreboardResult.VERSION_MISMATCH;
+        }
+        boolean[] applied = new boolean[1];
+        Match updated = matches.computeIfPresent(matchId, (id, match) -> {
+            if (match.version() != expectedVersion) {
+                return match;
+            }
+            applied[0] = true;
+            return reindex(match, Match.updateScore(match, homeScore, awayScore), true);
+        });
+        if (updated == null) {
+            return ScoreboardResult.NOT_FOUND;
+        }
+        return applied[0] ? ScoreboardResult.ok(updated) : ScoreboardResult.VERSION_MISMATCH;
+    }
+
+    /**
+     * Finishes a match for {@link #tryFinishMatch(UUID)}.
+     */
+    private ScoreboardResult tryFinish(UUID matchId) {
+        if (matchId == null) {
+            return ScoreboardResult.INVALID_ARGUMENT;
+        }
+        Match removed = matches.remove(matchId);
+        if (removed == null) {
+            return ScoreboardResult.NOT_FOUND;
+        }
+        release(removed, true);
+        return ScoreboardResult.ok(removed);
+    }
+
+    /**
+     * Validates and applies a batch for {@link #applyBatch(List)}, recording every rejected command.
+     */
+    private List<CommandResult> apply(List<ScoreCommand> commands) {
+        Match[] started = new Match[commands.size()];
+        RuntimeException[] invalid = new RuntimeException[commands.size()];
+        for (int i = 0; i < commands.size(); i++) {
+            // a null command rejects the whole batch before anything is applied
+            ScoreCommand command = Objects.requireNonNull(commands.get(i), ErrorMessages.COMMAND_NULL);
+            try {
+                switch (command) {
+                    case ScoreCommand.Start start -> started[i] = Match.start(idGenerator.nextId(), start.homeTeam(), start.awayTeam());
+                    case ScoreCommand.UpdateScore update -> {
+                        Objects.requireNonNull(update.matchId(), ErrorMessages.MATCH_ID);
+                        Match.validateScores(update.homeScore(), update.awayScore());
+                    }
+                    case ScoreCommand.Finish finish -> Objects.requireNonNull(finish.matchId(), ErrorMessages.MATCH_ID);
+                }
+            } catch (IllegalArgumentException | NullPointerException e) {
+                metrics.rejected(e);
+                invalid[i] = e;
+            }
+        }
+
+        List<CommandResult> results = new ArrayList<>(commands.size());
+        Map<UUID, Match> changed = new HashMap<>();
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                ScoreCommand command = commands.get(i);
+                if (invalid[i] != null) {
+                    results.add(CommandResult.failure(command, invalid[i]));
+                    continue;
+                }
+                try {
+                    Match match = switch (command) {
+                        case ScoreCommand.Start ignored -> start(started[i], false);
+                        case ScoreCommand.UpdateScore update ->
+                                update(update.matchId(), update.homeScore(), update.awayScore(), false);
+                        case ScoreCommand.Finish finish -> finish(finish.matchId(), false);
+                    };
+                    changed.put(match.id(), command instanceof ScoreCommand.Finish ? null : match);
+                    results.add(CommandResult.success(command, match));
+                } catch (ScoreboardException e) {
+                    metrics.rejected(e);
+                    results.add(CommandResult.failure(command, e));
+                } catch (RuntimeException e) {
+                    if (command instanceof ScoreCommand.Finish finish && !matches.containsKey(finish.matchId())) {
+                        // a listener failed after the match was taken off the board
+                        changed.put(finish.matchId(), null);
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            if (!changed.isEmpty()) {
+                publish(changed);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Records a call of a {@code try*} method and the rejection it reports, if any.
+     *
+     * @return {@code result}
+     */
+    private ScoreboardResult measured(ScoreboardMetrics.Operation operation, long started, ScoreboardResult result) {
+        metrics.rejected(result);
+        written(operation, started);
+        return result;
+    }
+
+    /**
+     * Ends a call that may have changed the board: lets the listeners finish the change now that no match
+     * is locked, then records the call.
+     */
+    private void written(ScoreboardMetrics.Operation operation, long started) {
+        try {
+            for (ScoreboardListener listener : listeners) {
+                listener.changesApplied();
+            }
+        } finally {
+            metrics.record(operation, started);
+        }
+    }
+
+    /**
+     * Copies one window of the matches of a snapshot.
+     *
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative
+     */
+    private static List<Match> window(SummarySnapshot snapshot, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_OFFSET, offset));
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.NEGATIVE_COUNT, limit));
+        }
+        List<Match> summary = snapshot.matches();
+        int from = Math.min(offset, summary.size());
+        return new ArrayList<>(summary.subList(from, from + Math.min(limit, summary.size() - from)));
+    }
+
+    /**
+     * Reserves a slot and both teams for the match, then puts it on the board.
+     *
+     * @param match   the validated match to start
+     * @param publish whether to publish the change to the summary right away
+     * @return the started match
+     * @throws ScoreboardException if the match limit is reached or a team is already in a match
+     */
+    private Match start(Match match, boolean publish) {
+        if (!tryReserveSlot()) {
+            // the counter never goes above the limit, so a failed reservation means the board is full
+            ScoreboardException.matchLimitReached(matchesLimit, matchesLimit);
+        }
+        String busyTeam = tryReserveTeams(match);
+        if (busyTeam != null) {
+            activeMatches.decrementAndGet();
+            ScoreboardException.matchExistsFor(busyTeam);
+        }
+        insert(match, publish);
+        return match;
+    }
+
+    /**
+     * Puts previously started matches back on the board, keeping their IDs, start times and versions,
+     * and publishes them as a single change. Listeners are not notified.
+     *
+     * @param restored the matches to put back
+     * @throws ScoreboardException if the matches do not fit the limit or a team is in more than one match
+     */
+    private void restore(Collection<Match> restored) {
+        if (restored.isEmpty()) {
+            return;
+        }
+        for (Match match : restored) {
+            if (!tryReserveSlot()) {
+                ScoreboardException.matchLimitReached(matchesLimit, matchesLimit);
+            }
+            String busyTeam = tryReserveTeams(match);
+            if (busyTeam != null) {
+                ScoreboardException.matchExistsFor(busyTeam);
+            }
+            matches.put(match.id(), match);
+        }
+        publish(new HashMap<>(matches));
+    }
+
+    /**
+     * Puts a match with reserved slot and teams on the board.
+     * If a listener rejects the match, its slot and teams are released.
+     *
+     * @param match   the match to insert
+     * @param publish whether to publish the change to the summary right away
+     */
+    private void insert(Match match, boolean publish) {
+        try {
+            matches.computeIfAbsent(match.id(), id -> reindex(null, match, publish));
+        } catch (RuntimeException e) {
+            unreserve(match);
+            throw e;
+        }
+    }
+
+    /**
+     * Atomically applies new scores to the current version of a match, whatever that version is.
+     *
+     * @param matchId   the UUID of the match to update
+     * @param homeScore the new score for the home team
+     * @param awayScore the new score for the away team
+     * @param publish   whether to publish the change to the summary right away
+     * @return the updated match
+     * @throws ScoreboardException      if the match is not found
+     * @throws IllegalArgumentException if scores are out of bounds
+     */
+    private Match update(UUID matchId, int homeScore, int awayScore, boolean publish) {
+        Match updated = matches.computeIfPresent(matchId,
+                (id, match) -> reindex(match, Match.updateScore(match, homeScore, awayScore), publish));
+        ScoreboardException.notFoundById(matchId, updated == null);
+        return updated;
+    }
+
+    /**
+     * Atomically applies new scores to a match if it is still at the expected version, and publishes the change.
+     *
+     * @param matchId         the UUID of the match to update
+     * @param expectedVersion the version the match must be at
+     * @param homeScore       the new score for the home team
+     * @param awayScore       the new score for the away team
+     * @return the updated match
+     * @throws ScoreboardException      if the match is not found or its version differs from the expected one
+     * @throws IllegalArgumentException if scores are out of bounds
+     */
+    private Match update(UUID matchId, long expectedVersion, int homeScore, int awayScore) {
+        Match updated = matches.computeIfPresent(matchId, (id, match) -> {
+            ScoreboardException.versionMismatch(id, expectedVersion, match.version());
+            return reindex(match, Match.updateScore(match, homeScore, awayScore), true);
+        });
+        ScoreboardException.notFoundById(matchId, updated == null);
+        return updated;
+    }
+
+    /**
+     * Removes a match from the board and releases its teams and slot.
+     *
+     * @param matchId the UUID of the match to finish
+     * @param publish whether to publish the change to the summary right away
+     * @return the finished match with its final score
+     * @throws ScoreboardException if the match is not found
+     */
+    private Match finish(UUID matchId, boolean publish) {
+        Match removed = matches.remove(matchId);
+        ScoreboardException.notFoundById(matchId, removed == null);
+        release(removed, publish);
+        return removed;
+    }
+
+    /**
+     * Takes a match removed from the board off the summary and releases its teams and slot.
+     *
+     * @param removed the match just removed from the board
+     * @param publish whether to publish the change to the summary right away
+     */
+    private void release(Match removed, boolean publish) {
+        try {
+            reindex(removed, null, publish);
+        } finally {
+            unreserve(removed);
+        }
+    }
+
+    /**
+     * Releases the teams and the slot of a match that is not on the board.
+     *
+     * @param match the match to release
+     */
+    private void unreserve(Match match) {
+        teamIndex.remove(match.homeTeam(), match.id());
+        teamIndex.remove(match.awayTeam(), match.id());
+        teams.remove(match.homeTeam(), match.id());
+        teams.remove(match.awayTeam(), match.id());
+        activeMatches.decrementAndGet();
+    }
+
+    /**
+     * Takes one of the {@code matchesLimit} match slots.
+     *
+     * @return {@code false} if all slots are taken
+     */
+    private boolean tryReserveSlot() {
+        int current;
+        do {
+            current = activeMatches.get();
+            if (current >= matchesLimit) {
+                return false;
+            }
+        } while (!activeMatches.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Reserves both teams of the match, or none of them.
+     *
+     * @param match the match being started
+     * @return the name of the team that is already in a match, or {@code null} if both teams were reserved
+     */
+    private String tryReserveTeams(Match match) {
+        if (teams.putIfAbsent(match.homeTeam(), match.id()) != null) {
+            return match.homeTeam();
+        }
+        if (teams.putIfAbsent(match.awayTeam(), match.id()) != null) {
+            teams.remove(match.homeTeam(), match.id());
+            return match.awayTeam();
+        }
+        teamIndex.add(match.homeTeam(), match.id());
+        teamIndex.add(match.awayTeam(), match.id());
+        return null;
+    }
+
+    /**
+     * Notifies the listeners of a change, then publishes a snapshot with the previous version of the match
+     * replaced by the next one.
+     * Must be called while the map entry of the match is locked, or after the entry was removed.
+     * <p>
+     * A listener that throws rejects a start or an update: nothing is published and the exception
+     * leaves the map entry unchanged. A finished match is already off the board, so it is taken off
+     * the summary even then.
+     *
+     * @param previous the version being replaced, or {@code null} for a new match
+     * @param next     the version to publish, or {@code null} for a finished match
+     * @param publish  whether to publish the change to the summary right away
+     * @return {@code next}, so the call can be used as a map remapping result
+     */
+    private Match reindex(Match previous, Match next, boolean publish) {
+        if (previous == next) {
+            return next;
+        }
+        try {
+            for (ScoreboardListener listener : listeners) {
+                if (previous == null) {
+                    listener.matchStarted(next);
+                } else if (next == null) {
+                    listener.matchFinished(previous);
+                } else {
+                    listener.scoreUpdated(previous, next);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (next == null && publish) {
+                publish(previous, null);
+            }
+            throw e;
+        }
+        if (publish) {
+            publish(previous, next);
+        }
+        return next;
+    }
+
+    /**
+     * Publishes a snapshot with the previous version of a match replaced by the next one.
+     * Every attempt copies the whole summary, so concurrent writers that lose the compare-and-set pay
+     * the {@code O(n)} copy once more; see {@link SummarySnapshot}.
+     *
+     * @param previous the version being replaced, or {@code null} for a new match
+     * @param next     the version to publish, or {@code null} for a finished match
+     */
+    private void publish(Match previous, Match next) {
+        long started = metrics.start();
+        SummarySnapshot current;
+        SummarySnapshot published;
+        do {
+            current = snapshot.get();
+            published = current.replace(previous, next);
+        } while (!snapshot.compareAndSet(current, published));
+        Match before = current.find(previous);
+        summaryChanges.record(published.version(), before, next);
+        if (history != null) {
+            history.record(published, before, next);
+        }
+        metrics.summaryBuilt(started);
+    }
+
+    /**
+     * Publishes a snapshot with the versions of the matches a batch has changed.
+     * <p>
+     * The versions are the ones the batch has stored, not re-read from the board: another writer may have
+     * published a newer version of a match while still holding its entry, before the board stores it.
+     * So a change is left out if the snapshot already holds the same or a newer version of the match,
+     * and a match that was finished in the meantime is taken off the summary.
+     *
+     * @param changed the version of each match the batch has changed, keyed by match ID;
+     *                {@code null} for a finished match
+     */
+    private void publish(Map<UUID, Match> changed) {
+        long started = metrics.start();
+        SummarySnapshot current;
+        SummarySnapshot next;
+        Map<UUID, Match> previous;
+        Map<UUID, Match> changes;
+        do {
+            current = snapshot.get();
+            Map<UUID, Match> published = current.findAll(changed.keySet());
+            previous = new HashMap<>();
+            changes = new HashMap<>();
+            for (Map.Entry<UUID, Match> change : changed.entrySet()) {
+                UUID id = change.getKey();
+                Match match = matches.containsKey(id) ? change.getValue() : null;
+                Match before = published.get(id);
+                boolean newer = match == null ? before != null : before == null || before.version() < match.version();
+                if (newer) {
+                    changes.put(id, match);
+                    if (before != null) {
+                        previous.put(id, before);
+                    }
+                }
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            next = current.replaceAll(changes);
+        } while (!snapshot.compareAndSet(current, next));
+        summaryChanges.record(next.version(), previous, changes);
+        if (history != null) {
+            history.record(next, previous, changes);
+        }
+        metrics.summaryBuilt(started);
     }
-}
\ No newline at end of file
+}
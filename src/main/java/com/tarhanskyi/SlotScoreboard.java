@@ -0,0 +1,380 @@
+package com.tarhanskyi;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Scoreboard engine that keeps matches in preallocated primitive arrays instead of {@link Match} records.
+ * <p>
+ * A match lives in a slot. Its state is packed into a single {@code long}: whether the slot is live,
+ * the generation of the slot, the version and both scores. The start time is kept as epoch nanos and the teams as
+ * IDs from a dictionary of team names. A slot takes 24 bytes no matter how many times its score changes,
+ * and a score update is a single compare-and-set of the state that allocates nothing.
+ * <p>
+ * A match is addressed by a handle made of its slot and generation, so a handle of a finished match
+ * never reaches the match that reuses its slot. The handle is also the lower half of the match ID,
+ * so matches can be addressed by ID without a lookup table. {@link Match} objects are built only when a method
+ * returns them.
+ * <p>
+ * Starting and finishing matches is serialized; score updates and reads never block.
+ * The generation has the full 32 bits of the handle, and a slot whose generation is exhausted is retired
+ * instead of reused, so a handle never addresses another match however long it is kept.
+ * The version has 17 bits and wraps around after as many score changes.
+ *
+ * @see ScoreboardService
+ */
+public class SlotScoreboard {
+
+    private static final VarHandle STATE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final long LIVE = 1L << 63;
+    private static final int GENERATION_SHIFT = 31;
+    private static final long GENERATION_MASK = 0xFFFF_FFFFL;
+    private static final int VERSION_SHIFT = 14;
+    private static final long VERSION_MASK = 0x1_FFFF;
+    private static final int SCORE_BITS = 7;
+    private static final int SCORE_MASK = 0x7F;
+
+    /**
+     * Upper half of the IDs of this board's matches.
+     */
+    private final long boardId = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * Packed state of every slot, see {@link #state(long, long, int, int)}; a slot that is not live has the bit cleared.
+     * The other fields of a slot are written before the slot becomes live and do not change while it is live.
+     */
+    private final long[] states;
+    private final long[] startNanos;
+    private final int[] homeTeams;
+    private final int[] awayTeams;
+
+    /**
+     * Lock serializing starts and finishes. It guards the free slots and the team dictionary.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int[] freeSlots;
+    private int freeCount;
+    private final Map<String, Integer> teamIds = new HashMap<>();
+
+    /**
+     * Team names by team ID, replaced with a bigger copy when full.
+     */
+    private volatile String[] teamNames = new String[16];
+
+    /**
+     * Slot of the match each team plays in plus one, or zero if the team is not in a match, by team ID.
+     */
+    private int[] teamSlots = new int[16];
+
+    /**
+     * Creates a board limited to {@code MATCHES_LIMIT} active matches.
+     */
+    public SlotScoreboard() {
+        this(Constants.MATCHES_LIMIT);
+    }
+
+    /**
+     * Creates a board with all slots preallocated.
+     *
+     * @param matchesLimit the maximum number of active matches (positive)
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public SlotScoreboard(int matchesLimit) {
+        if (matchesLimit <= 0) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.MATCHES_LIMIT_RANGE, matchesLimit));
+        }
+        states = new long[matchesLimit];
+        startNanos = new long[matchesLimit];
+        homeTeams = new int[matchesLimit];
+        awayTeams = new int[matchesLimit];
+        freeSlots = new int[matchesLimit];
+        for (int i = 0; i < matchesLimit; i++) {
+            freeSlots[i] = matchesLimit - 1 - i;
+        }
+        freeCount = matchesLimit;
+    }
+
+    /**
+     * Starts a new match like {@link ScoreboardService#startMatch(String, String)}.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @return the newly created {@link Match}
+     * @throws ScoreboardException      if the match limit is reached or a team is already in a match
+     * @throws NullPointerException     if any of the names is null
+     * @throws IllegalArgumentException if team names are invalid or identical
+     */
+    public Match startMatch(String homeTeam, String awayTeam) {
+        Instant startTime = Instant.now();
+        long handle = start(homeTeam, awayTeam, startTime);
+        return new Match(idOf(handle), homeTeam, awayTeam, 0, 0, startTime);
+    }
+
+    /**
+     * Starts a new match and returns its handle instead of the match.
+     *
+     * @see #startMatch(String, String)
+     */
+    public long start(String homeTeam, String awayTeam) {
+        return start(homeTeam, awayTeam, Instant.now());
+    }
+
+    private long start(String homeTeam, String awayTeam, Instant startTime) {
+        Match.validateTeams(homeTeam, awayTeam);
+        long nanos = startTime.getEpochSecond() * 1_000_000_000L + startTime.getNano();
+        lock.lock();
+        try {
+            int home = teamId(homeTeam);
+            int away = teamId(awayTeam);
+            if (teamSlots[home] != 0) {
+                ScoreboardException.matchExistsFor(homeTeam);
+            }
+            if (teamSlots[away] != 0) {
+                ScoreboardException.matchExistsFor(awayTeam);
+            }
+            if (freeCount == 0) {
+                ScoreboardException.matchLimitReached(states.length, states.length);
+            }
+            int slot = freeSlots[--freeCount];
+            long generation = generation((long) STATE.getAcquire(states, slot)) + 1;
+            startNanos[slot] = nanos;
+            homeTeams[slot] = home;
+            awayTeams[slot] = away;
+            STATE.setRelease(states, slot, state(generation, 0, 0, 0));
+            teamSlots[home] = slot + 1;
+            teamSlots[away] = slot + 1;
+            return handle(slot, generation);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates the score of a match like {@link ScoreboardService#updateScore(UUID, int, int)}.
+     *
+     * @param matchId   the ID of the match to update
+     * @param homeScore the new score for the home team
+     * @param awayScore the new score for the away team
+     * @return the updated {@link Match}
+     * @throws ScoreboardException      if the match is not found
+     * @throws IllegalArgumentException if scores are out of bounds
+     */
+    public Match updateScore(UUID matchId, int homeScore, int awayScore) {
+        long handle = handleOf(matchId);
+        int slot = slot(handle);
+        // the fields of the slot are only valid while it has the generation of the handle, which the update checks
+        long nanos = startNanos[slot];
+        int home = homeTeams[slot];
+        int away = awayTeams[slot];
+        VarHandle.loadLoadFence();
+        long state = update(handle, homeScore, awayScore);
+        String[] names = teamNames;
+        return new Match(matchId, names[home], names[away], homeScore, awayScore, Instant.ofEpochSecond(0, nanos),
+                version(state));
+    }
+
+    /**
+     * Updates the score of a match by its handle without allocating.
+     *
+     * @param handle    the handle of the match to update
+     * @param homeScore the new score for the home team
+     * @param awayScore the new score for the away team
+     * @return the version of the match after the update
+     * @throws ScoreboardException      if the match is not found
+     * @throws IllegalArgumentException if scores are out of bounds
+     */
+    public long updateScore(long handle, int homeScore, int awayScore) {
+        return version(update(handle, homeScore, awayScore));
+    }
+
+    /**
+     * @return the state of the slot after the update
+     */
+    private long update(long handle, int homeScore, int awayScore) {
+        Match.validateScores(homeScore, awayScore);
+        int slot = slot(handle);
+        long current;
+        long next;
+        do {
+            current = (long) STATE.getVolatile(states, slot);
+            if (!isLive(current, handle)) {
+                ScoreboardException.notFoundById(idOf(handle), true);
+            }
+            if (homeScore(current) == homeScore && awayScore(current) == awayScore) {
+                return current;
+            }
+            next = state(generation(current), version(current) + 1, homeScore, awayScore);
+        } while (!STATE.compareAndSet(states, slot, current, next));
+        return next;
+    }
+
+    /**
+     * Finishes a match like {@link ScoreboardService#finishMatch(UUID)}.
+     *
+     * @param matchId the ID of the match to finish
+     * @return the finished match with its final score
+     * @throws ScoreboardException if the match is not found
+     */
+    public Match finishMatch(UUID matchId) {
+        return finishMatch(handleOf(matchId));
+    }
+
+    /**
+     * Finishes a match by its handle.
+     *
+     * @see #finishMatch(UUID)
+     */
+    public Match finishMatch(long handle) {
+        int slot = slot(handle);
+        long current;
+        do {
+            current = (long) STATE.getVolatile(states, slot);
+            if (!isLive(current, handle)) {
+                ScoreboardException.notFoundById(idOf(handle), true);
+            }
+        } while (!STATE.compareAndSet(states, slot, current, current & ~LIVE));
+        Match finished = toMatch(slot, current);
+        lock.lock();
+        try {
+            teamSlots[homeTeams[slot]] = 0;
+            teamSlots[awayTeams[slot]] = 0;
+            if (generation(current) < GENERATION_MASK) {
+                freeSlots[freeCount++] = slot;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return finished;
+    }
+
+    /**
+     * @param handle the handle of a match
+     * @return the match, built from its slot
+     * @throws ScoreboardException if the match is not found
+     */
+    public Match getMatch(long handle) {
+        int slot = slot(handle);
+        long state = (long) STATE.getAcquire(states, slot);
+        Match match = isLive(state, handle) ? toMatch(slot, state) : null;
+        VarHandle.loadLoadFence();
+        if (match == null || generation((long) STATE.getAcquire(states, slot)) != generation(state)) {
+            ScoreboardException.notFoundById(idOf(handle), true);
+        }
+        return match;
+    }
+
+    /**
+     * @param matchId the ID of a match of this board
+     * @return the handle of the match
+     * @throws ScoreboardException if the ID does not belong to this board
+     */
+    public long handleOf(UUID matchId) {
+        ScoreboardException.notFoundById(matchId,
+                matchId == null || matchId.getMostSignificantBits() != boardId || slot(matchId.getLeastSignificantBits()) >= states.length);
+        return matchId.getLeastSignificantBits();
+    }
+
+    /**
+     * Builds the summary of ongoing matches like {@link ScoreboardService#getSummary()}.
+     * Every match in it is consistent; matches changed during the call may be in it in either version.
+     *
+     * @return a sorted list of ongoing {@link Match} instances
+     */
+    public List<Match> getSummary() {
+        List<Match> summary = new ArrayList<>();
+        for (int slot = 0; slot < states.length; slot++) {
+            long state = (long) STATE.getAcquire(states, slot);
+            if ((state & LIVE) == 0) {
+                continue;
+            }
+            Match match = toMatch(slot, state);
+            VarHandle.loadLoadFence();
+            if (generation((long) STATE.getAcquire(states, slot)) == generation(state)) {
+                summary.add(match);
+            }
+        }
+        summary.sort(Match.SUMMARY_ORDER);
+        return summary;
+    }
+
+    /**
+     * Finds the ID of a team, adding the team to the dictionary if it is new. Called under {@code lock}.
+     */
+    private int teamId(String team) {
+        Integer id = teamIds.get(team);
+        if (id != null) {
+            return id;
+        }
+        int newId = teamIds.size();
+        if (newId == teamSlots.length) {
+            teamSlots = Arrays.copyOf(teamSlots, 2 * newId);
+            teamNames = Arrays.copyOf(teamNames, 2 * newId);
+        }
+        teamNames[newId] = team;
+        teamIds.put(team, newId);
+        return newId;
+    }
+
+    /**
+     * Builds the match held in a slot with the given state. The result is only valid
+     * if the slot has still the same generation afterward.
+     */
+    private Match toMatch(int slot, long state) {
+        String[] names = teamNames;
+        long nanos = startNanos[slot];
+        return new Match(idOf(handle(slot, generation(state))), names[homeTeams[slot]], names[awayTeams[slot]],
+                homeScore(state), awayScore(state), Instant.ofEpochSecond(0, nanos), version(state));
+    }
+
+    private UUID idOf(long handle) {
+        return new UUID(boardId, handle);
+    }
+
+    private static boolean isLive(long state, long handle) {
+        return (state & LIVE) != 0 && generation(state) == handle >>> Integer.SIZE;
+    }
+
+    private static long handle(int slot, long generation) {
+        return generation << Integer.SIZE | slot;
+    }
+
+    private static int slot(long handle) {
+        return (int) handle & Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return the state of a live slot
+     */
+    private static long state(long generation, long version, int homeScore, int awayScore) {
+        return LIVE | generation << GENERATION_SHIFT | (version & VERSION_MASK) << VERSION_SHIFT
+                | (long) homeScore << SCORE_BITS | awayScore;
+    }
+
+    private static long generation(long state) {
+        return state >>> GENERATION_SHIFT & GENERATION_MASK;
+    }
+
+    private static long version(long state) {
+        return state >>> VERSION_SHIFT & VERSION_MASK;
+    }
+
+    private static int homeScore(long state) {
+        return (int) (state >>> SCORE_BITS) & SCORE_MASK;
+    }
+
+    private static int awayScore(long state) {
+        return (int) state & SCORE_MASK;
+    }
+}
@@ -0,0 +1,160 @@
+package com.tarhanskyi;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Binary file with the state of a scoreboard at one point in time.
+ * <p>
+ * Layout, big-endian: magic, format version, matches limit and match count ({@code int}s),
+ * then every match in summary order, then a CRC32C of everything before it.
+ * A match is its ID, start time (seconds and nanos), scores, version and the UTF-8 names of its teams,
+ * each prefixed with its length as an {@code int}. Files of format version 1 prefixed the names with
+ * an unsigned {@code short} and are still read.
+ */
+final class SnapshotFile {
+    private SnapshotFile() { }
+
+    private static final int MAGIC = 0x53425331;
+    private static final int FORMAT_VERSION = 2;
+    private static final int SHORT_NAMES_FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int FIXED_MATCH_SIZE = 2 * Long.BYTES + Long.BYTES + Integer.BYTES
+            + 2 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+
+    /**
+     * State read from a snapshot file.
+     *
+     * @param matchesLimit the limit of active matches of the scoreboard
+     * @param matches      the ongoing matches in summary order
+     */
+    record Contents(int matchesLimit, List<Match> matches) { }
+
+    /**
+     * Writes the matches to a temporary file next to the target and then moves it in place,
+     * so the target always holds a complete snapshot.
+     *
+     * @param path         the snapshot file
+     * @param matchesLimit the limit of active matches of the scoreboard
+     * @param matches      the ongoing matches
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path path, int matchesLimit, List<Match> matches) throws IOException {
+        byte[][] names = new byte[2 * matches.size()][];
+        int size = HEADER_SIZE + Integer.BYTES;
+        for (int i = 0; i < matches.size(); i++) {
+            names[2 * i] = matches.get(i).homeTeam().getBytes(StandardCharsets.UTF_8);
+            names[2 * i + 1] = matches.get(i).awayTeam().getBytes(StandardCharsets.UTF_8);
+            size += FIXED_MATCH_SIZE + names[2 * i].length + names[2 * i + 1].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(matchesLimit).putInt(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            Match match = matches.get(i);
+            buffer.putLong(match.id().getMostSignificantBits()).putLong(match.id().getLeastSignificantBits())
+                    .putLong(match.startTime().getEpochSecond()).putInt(match.startTime().getNano())
+                    .putInt(match.homeScore()).putInt(match.awayScore()).putLong(match.version())
+                    .putInt(names[2 * i].length).put(names[2 * i])
+                    .putInt(names[2 * i + 1].length).put(names[2 * i + 1]);
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) checksum.getValue()).flip();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the file, verifies its checksum and decodes the matches in one pass.
+     *
+     * @param path the snapshot file
+     * @return the state stored in the file
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupted
+     */
+    static Contents read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE + Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(ErrorMessages.SNAPSHOT_FORMAT);
+        }
+        int formatVersion = buffer.getInt(Integer.BYTES);
+        if (formatVersion != FORMAT_VERSION && formatVersion != SHORT_NAMES_FORMAT_VERSION) {
+            throw new IOException(ErrorMessages.SNAPSHOT_FORMAT);
+        }
+        boolean shortNames = formatVersion == SHORT_NAMES_FORMAT_VERSION;
+        int end = buffer.limit() - Integer.BYTES;
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(0, end));
+        if ((int) checksum.getValue() != buffer.getInt(end)) {
+            throw new IOException(ErrorMessages.SNAPSHOT_CORRUPTED);
+        }
+
+        buffer.position(2 * Integer.BYTES).limit(end);
+        try {
+            int matchesLimit = buffer.getInt();
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / FIXED_MATCH_SIZE) {
+                throw new IOException(ErrorMessages.SNAPSHOT_CORRUPTED);
+            }
+            List<Match> matches = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = new UUID(buffer.getLong(), buffer.getLong());
+                Instant startTime = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+                int homeScore = buffer.getInt();
+                int awayScore = buffer.getInt();
+                long version = buffer.getLong();
+                String homeTeam = readName(buffer, shortNames);
+                String awayTeam = readName(buffer, shortNames);
+                matches.add(new Match(id, homeTeam, awayTeam, homeScore, awayScore, startTime, version));
+            }
+            return new Contents(matchesLimit, matches);
+        } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            // the checksum matched, but the contents are not a valid board
+            throw new IOException(ErrorMessages.SNAPSHOT_CORRUPTED, e);
+        }
+    }
+
+    /**
+     * @throws IOException if the length of the name runs past the end of the matches
+     */
+    private static String readName(ByteBuffer buffer, boolean shortNames) throws IOException {
+        int length = shortNames ? Short.toUnsignedInt(buffer.getShort()) : buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException(ErrorMessages.SNAPSHOT_CORRUPTED);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package com.tarhanskyi;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+/**
+ * Summaries rendered for the latest snapshot of a board, one UTF-8 payload per {@link SummaryFormat}.
+ * <p>
+ * A payload is rendered at most once per snapshot: the first reader of a missing payload renders it,
+ * and readers asking for it in the meantime wait for that reader instead of rendering it again.
+ * The payloads are dropped when a reader brings a newer snapshot, that is after the board has changed.
+ */
+final class SummaryCache {
+
+    private final AtomicReference<Entry> latest = new AtomicReference<>();
+    private final BiFunction<SummarySnapshot, SummaryFormat, byte[]> renderer;
+
+    /**
+     * Payloads of one snapshot, completed by the reader that rendered them.
+     */
+    private record Entry(SummarySnapshot snapshot, AtomicReferenceArray<CompletableFuture<byte[]>> payloads) {
+        private Entry(SummarySnapshot snapshot) {
+            this(snapshot, new AtomicReferenceArray<>(SummaryFormat.values().length));
+        }
+    }
+
+    SummaryCache() {
+        this(SummaryCache::render);
+    }
+
+    /**
+     * @param renderer the function rendering a snapshot to a format
+     */
+    SummaryCache(BiFunction<SummarySnapshot, SummaryFormat, byte[]> renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * @param snapshot the snapshot to render
+     * @param format   the format to render it to
+     * @return the rendered summary, read-only
+     */
+    ByteBuffer get(SummarySnapshot snapshot, SummaryFormat format) {
+        Entry entry = latest.get();
+        while (entry == null || entry.snapshot() != snapshot) {
+            if (entry != null && entry.snapshot().version() > snapshot.version()) {
+                // a newer snapshot is cached already, so this one is rendered without caching
+                return ByteBuffer.wrap(renderer.apply(snapshot, format)).asReadOnlyBuffer();
+            }
+            Entry fresh = new Entry(snapshot);
+            entry = latest.compareAndExchange(entry, fresh) == entry ? fresh : latest.get();
+        }
+
+        int index = format.ordinal();
+        CompletableFuture<byte[]> payload = entry.payloads().get(index);
+        if (payload == null) {
+            CompletableFuture<byte[]> rendering = new CompletableFuture<>();
+            payload = entry.payloads().compareAndExchange(index, null, rendering);
+            if (payload == null) {
+                try {
+                    rendering.complete(renderer.apply(snapshot, format));
+                } catch (RuntimeException e) {
+                    entry.payloads().set(index, null);
+                    rendering.completeExceptionally(e);
+                    throw e;
+                }
+                payload = rendering;
+            }
+        }
+        return ByteBuffer.wrap(payload.join()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Renders the snapshot to the format, see {@link SummaryFormat}.
+     */
+    static byte[] render(SummarySnapshot snapshot, SummaryFormat format) {
+        StringBuilder builder = new StringBuilder(64 * (snapshot.matches().size() + 1));
+        switch (format) {
+            case TEXT -> {
+                for (Match match : snapshot.matches()) {
+                    builder.append(match.homeTeam()).append(' ').append(match.homeScore()).append(" - ")
+                            .append(match.awayTeam()).append(' ').append(match.awayScore()).append('\n');
+                }
+            }
+            case JSON -> {
+                builder.append("{\"version\":").append(snapshot.version()).append(",\"matches\":[");
+                String separator = "";
+                for (Match match : snapshot.matches()) {
+                    builder.append(separator).append("{\"id\":\"").append(match.id());
+                    appendString(builder.append("\",\"homeTeam\":"), match.homeTeam());
+                    appendString(builder.append(",\"awayTeam\":"), match.awayTeam());
+                    builder.append(",\"homeScore\":").append(match.homeScore())
+                            .append(",\"awayScore\":").append(match.awayScore())
+                            .append(",\"startTime\":\"").append(match.startTime())
+                            .append("\",\"version\":").append(match.version()).append('}');
+                    separator = ",";
+                }
+                builder.append("]}");
+            }
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+}
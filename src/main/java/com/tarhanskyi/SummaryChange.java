@@ -0,0 +1,38 @@
+package com.tarhanskyi;
+
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Change of one match between two versions of the summary, returned by
+ * {@link ScoreboardService#getSummaryChangesSince(long)}.
+ *
+ * @param kind  what happened to the match
+ * @param match the match in the newer version, or its last version for a removed match
+ * @param rank  the position of the match in the newer summary, or {@code -1} for a removed match
+ */
+public record SummaryChange(Kind kind, Match match, int rank) {
+
+    /**
+     * What happened to a match between two versions of the summary.
+     */
+    public enum Kind {
+        /** The match was started. */
+        INSERTED,
+        /** The match was finished. */
+        REMOVED,
+        /** The score of the match changed, and with it possibly its rank. */
+        RESCORED
+    }
+
+    /**
+     * Constructs a new {@code SummaryChange} instance.
+     *
+     * @throws NullPointerException if the kind or the match is null
+     */
+    public SummaryChange {
+        Objects.requireNonNull(kind, ErrorMessages.CHANGE_KIND_NULL);
+        Objects.requireNonNull(match, ErrorMessages.MATCH_NULL);
+    }
+}
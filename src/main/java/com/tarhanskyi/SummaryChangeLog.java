@@ -0,0 +1,141 @@
+package com.tarhanskyi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer of the changes that produced the last {@code CAPACITY} summary snapshots.
+ * <p>
+ * The slot of a version is written right after its snapshot is published, so a reader that has already
+ * seen the snapshot may briefly find the slot still holding an older version; it waits for it a little,
+ * and then gives up, as it does for a version that was overwritten. A reader that gives up returns
+ * {@code null} and the caller sends the whole summary instead.
+ */
+final class SummaryChangeLog {
+
+    /**
+     * Number of versions remembered; a power of two.
+     */
+    static final int CAPACITY = 1024;
+
+    private static final int MASK = CAPACITY - 1;
+
+    /**
+     * Number of times a reader yields while waiting for the slot of a published version.
+     */
+    private static final int PENDING_RETRIES = 64;
+
+    private static final Match[] NO_MATCHES = new Match[0];
+
+    /**
+     * Changes that produced one version: the matches before and after, {@code null} for a match that was
+     * not on the summary before or was removed from it.
+     */
+    private record Entry(long version, Match[] before, Match[] after) { }
+
+    private final AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(CAPACITY);
+
+    /**
+     * Records the change of one match that produced a published snapshot.
+     *
+     * @param version the version of the published snapshot
+     * @param before  the match as it was in the previous snapshot, or {@code null} for a new match
+     * @param after   the match as it is in the published snapshot, or {@code null} for a finished match
+     */
+    void record(long version, Match before, Match after) {
+        Entry entry = before == null && after == null
+                ? new Entry(version, NO_MATCHES, NO_MATCHES)
+                : new Entry(version, new Match[]{before}, new Match[]{after});
+        slots.set(index(version), entry);
+    }
+
+    /**
+     * Records the changes of several matches published at once.
+     *
+     * @param version  the version of the published snapshot
+     * @param previous the versions the changed matches had in the previous snapshot, keyed by match ID
+     * @param changes  the latest version of each changed match, keyed by match ID; {@code null} for a finished match
+     */
+    void record(long version, Map<UUID, Match> previous, Map<UUID, Match> changes) {
+        List<Match> before = new ArrayList<>(changes.size());
+        List<Match> after = new ArrayList<>(changes.size());
+        changes.forEach((id, match) -> {
+            if (previous.containsKey(id) || match != null) {
+                before.add(previous.get(id));
+                after.add(match);
+            }
+        });
+        slots.set(index(version), new Entry(version, before.toArray(NO_MATCHES), after.toArray(NO_MATCHES)));
+    }
+
+    /**
+     * Merges the changes between a version and a snapshot, so each changed match is listed once,
+     * compared to how it was in the older version.
+     *
+     * @param since   the version known to the client
+     * @param current the latest snapshot
+     * @return the changes, removed matches first and then the others by rank,
+     * or {@code null} if the changes are no longer remembered
+     */
+    List<SummaryChange> changesSince(long since, SummarySnapshot current) {
+        long to = current.version();
+        if (since > to || to - since > CAPACITY) {
+            return null;
+        }
+        Map<UUID, Match[]> changed = new LinkedHashMap<>();
+        for (long version = since + 1; version <= to; version++) {
+            Entry entry = await(version);
+            if (entry == null) {
+                return null;
+            }
+            for (int i = 0; i < entry.before.length; i++) {
+                Match before = entry.before[i];
+                Match after = entry.after[i];
+                UUID id = before != null ? before.id() : after.id();
+                changed.computeIfAbsent(id, key -> new Match[]{before, null})[1] = after;
+            }
+        }
+
+        List<SummaryChange> removed = new ArrayList<>();
+        List<SummaryChange> placed = new ArrayList<>();
+        for (Match[] change : changed.values()) {
+            Match before = change[0];
+            Match after = change[1];
+            if (after == null) {
+                if (before != null) {
+                    removed.add(new SummaryChange(SummaryChange.Kind.REMOVED, before, -1));
+                }
+            } else if (!after.equals(before)) {
+                int rank = Collections.binarySearch(current.matches(), after, Match.SUMMARY_ORDER);
+                SummaryChange.Kind kind = before == null ? SummaryChange.Kind.INSERTED : SummaryChange.Kind.RESCORED;
+                placed.add(new SummaryChange(kind, after, rank));
+            }
+        }
+        placed.sort((first, second) -> Integer.compare(first.rank(), second.rank()));
+        removed.addAll(placed);
+        return removed;
+    }
+
+    /**
+     * @return the entry of the version, or {@code null} if it was overwritten or is still not written
+     */
+    private Entry await(long version) {
+        for (int retry = 0; retry <= PENDING_RETRIES; retry++) {
+            Entry entry = slots.get(index(version));
+            if (entry != null && entry.version >= version) {
+                return entry.version == version ? entry : null;
+            }
+            Thread.yield();
+        }
+        return null;
+    }
+
+    private static int index(long version) {
+        return (int) (version & MASK);
+    }
+}
@@ -0,0 +1,57 @@
+package com.tarhanskyi;
+
+/**
+ * Position in the summary of a scoreboard, returned with every {@link SummaryPage}.
+ * <p>
+ * A cursor holds the snapshot its first page was read from, so all pages read with it come from
+ * the same version of the board: no match is skipped or repeated, even while scores change between requests.
+ * The snapshot is kept in memory for as long as the cursor is reachable.
+ */
+public final class SummaryCursor {
+
+    private static final SummaryCursor FIRST = new SummaryCursor(null, null, 0);
+
+    private final Object board;
+    private final SummarySnapshot snapshot;
+    private final int offset;
+
+    private SummaryCursor(Object board, SummarySnapshot snapshot, int offset) {
+        this.board = board;
+        this.snapshot = snapshot;
+        this.offset = offset;
+    }
+
+    /**
+     * @return a cursor before the first match of the latest snapshot of the board it is used with
+     */
+    public static SummaryCursor first() {
+        return FIRST;
+    }
+
+    /**
+     * @return the version of the board the pages of this cursor are read from,
+     * or -1 for {@link #first()}, which reads from the latest version
+     */
+    public long version() {
+        return snapshot == null ? -1 : snapshot.version();
+    }
+
+    /**
+     * @return the number of matches before this cursor
+     */
+    public int offset() {
+        return offset;
+    }
+
+    static SummaryCursor of(Object board, SummarySnapshot snapshot, int offset) {
+        return new SummaryCursor(board, snapshot, offset);
+    }
+
+    Object board() {
+        return board;
+    }
+
+    SummarySnapshot snapshot() {
+        return snapshot;
+    }
+}
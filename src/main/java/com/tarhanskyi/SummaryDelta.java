@@ -0,0 +1,39 @@
+package com.tarhanskyi;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Changes of the summary since a version known to a client, returned by
+ * {@link ScoreboardService#getSummaryChangesSince(long)}.
+ * <p>
+ * A delta either lists the changes, or, if the board no longer remembers them, holds the whole summary:
+ * <ul>
+ *     <li>{@code full == false}: the removed matches come first, then the inserted and re-scored ones
+ *     in the order of their rank. Taking the removed and re-scored matches out of the summary of
+ *     {@code fromVersion}, then putting the inserted and re-scored ones at their ranks in this order,
+ *     yields the summary of {@code version}</li>
+ *     <li>{@code full == true}: {@code changes} is empty and {@code summary} replaces the client's summary</li>
+ * </ul>
+ *
+ * @param fromVersion the version the changes start from
+ * @param version     the version of the summary after the changes
+ * @param full        whether the delta holds the whole summary instead of changes
+ * @param changes     the changes, empty for a full delta
+ * @param summary     the whole summary of {@code version} for a full delta, empty otherwise
+ */
+public record SummaryDelta(long fromVersion, long version, boolean full, List<SummaryChange> changes,
+                           List<Match> summary) {
+
+    /**
+     * Constructs a new {@code SummaryDelta} instance.
+     *
+     * @throws NullPointerException if the changes or the summary are null
+     */
+    public SummaryDelta {
+        Objects.requireNonNull(changes, ErrorMessages.CHANGES_NULL);
+        Objects.requireNonNull(summary, ErrorMessages.MATCHES_NULL);
+    }
+}
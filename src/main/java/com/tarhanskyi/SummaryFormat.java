@@ -0,0 +1,17 @@
+package com.tarhanskyi;
+
+/**
+ * Formats a summary can be rendered to with {@link ScoreboardService#getRenderedSummary(SummaryFormat)}.
+ * Both are encoded in UTF-8.
+ */
+public enum SummaryFormat {
+    /**
+     * One ongoing match per line in summary order, as {@code Home x - Away y}.
+     */
+    TEXT,
+    /**
+     * JSON object with the snapshot {@code version} and the {@code matches} array in summary order.
+     * A match has the same fields as {@link Match}, with the start time in ISO-8601.
+     */
+    JSON
+}
@@ -0,0 +1,31 @@
+package com.tarhanskyi;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * One page of the summary read with a {@link SummaryCursor}.
+ *
+ * @param matches the matches of the page, in summary order
+ * @param next    the cursor of the next page, or {@code null} if this is the last page
+ */
+public record SummaryPage(List<Match> matches, SummaryCursor next) {
+
+    /**
+     * Constructs a new {@code SummaryPage} instance.
+     *
+     * @throws NullPointerException if the matches are null
+     */
+    public SummaryPage {
+        Objects.requireNonNull(matches, ErrorMessages.MATCHES_NULL);
+    }
+
+    /**
+     * @return {@code true} if there are matches after this page
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
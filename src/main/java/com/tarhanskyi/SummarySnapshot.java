@@ -0,0 +1,167 @@
+package com.tarhanskyi;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.tarhanskyi.Constants.ErrorMessages;
+
+/**
+ * Immutable, versioned view of the whole scoreboard, sorted by {@link Match#SUMMARY_ORDER}.
+ * <p>
+ * A new snapshot is published after every change of the board, so the same instance
+ * can be shared by any number of readers until the next change.
+ * <p>
+ * Reads are free, but a write is {@code O(n)}: every change copies the references of all {@code n} matches
+ * into a new array, and a writer that loses the race to publish copies them again from the newer snapshot.
+ * On a board of 10,000 matches that is about 40 KB per score update. Batches pay the copy once for all
+ * their changes; {@code SummaryPublicationBenchmark} measures the cost by board size and writer count.
+ *
+ * @param version   the number of changes applied to the board up to this snapshot
+ * @param timestamp the moment the snapshot was published
+ * @param matches   the ongoing matches in summary order (unmodifiable)
+ */
+public record SummarySnapshot(
+        long version,
+        Instant timestamp,
+        List<Match> matches
+) {
+    private static final Match[] NO_MATCHES = new Match[0];
+
+    /**
+     * Constructs a new {@code SummarySnapshot} instance.
+     *
+     * @throws NullPointerException if any required field is null
+     */
+    public SummarySnapshot {
+        Objects.requireNonNull(timestamp, ErrorMessages.TIMESTAMP_NULL);
+        Objects.requireNonNull(matches, ErrorMessages.MATCHES_NULL);
+    }
+
+    /**
+     * Factory method for the snapshot of an empty board.
+     *
+     * @return a snapshot with version zero and no matches
+     */
+    static SummarySnapshot empty() {
+        return of(0, NO_MATCHES);
+    }
+
+    /**
+     * Returns the next snapshot, with {@code previous} replaced by {@code next}.
+     * Positions are found with a binary search, so only the copy of the references is linear.
+     * <p>
+     * If a batch has changed the match without publishing yet, the snapshot may hold
+     * another version of it than {@code previous}; that version is replaced instead.
+     *
+     * @param previous the version of the match the writer has replaced, or {@code null} for a new match
+     * @param next     the version of the match to put in the snapshot, or {@code null} for a finished match
+     * @return a new snapshot with the version incremented by one
+     */
+    SummarySnapshot replace(Match previous, Match next) {
+        int size = matches.size();
+        int removeAt = previous == null ? -1 : indexOf(previous);
+        int insertAt = -1;
+        if (next != null) {
+            insertAt = Collections.binarySearch(matches, next, Match.SUMMARY_ORDER);
+            insertAt = insertAt >= 0 ? insertAt : -insertAt - 1;
+        }
+
+        Match[] result = new Match[size - (removeAt >= 0 ? 1 : 0) + (next != null ? 1 : 0)];
+        int written = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == insertAt) {
+                result[written++] = next;
+            }
+            if (i != removeAt) {
+                result[written++] = matches.get(i);
+            }
+        }
+        if (insertAt == size) {
+            result[written] = next;
+        }
+        return of(version + 1, result);
+    }
+
+    /**
+     * Returns the next snapshot with all the given matches replaced at once.
+     * The unchanged matches and the sorted changed ones are merged in a single pass.
+     *
+     * @param changes the latest version of each changed match, keyed by match ID; {@code null} for a finished match.
+     *                Every version must be newer than the one in this snapshot, if any
+     * @return a new snapshot with the version incremented by one
+     */
+    SummarySnapshot replaceAll(Map<UUID, Match> changes) {
+        Match[] added = changes.values().stream()
+                .filter(Objects::nonNull)
+                .sorted(Match.SUMMARY_ORDER)
+                .toArray(Match[]::new);
+        List<Match> result = new ArrayList<>(matches.size() + added.length);
+        int next = 0;
+        for (Match match : matches) {
+            if (changes.containsKey(match.id())) {
+                continue;
+            }
+            while (next < added.length && Match.SUMMARY_ORDER.compare(added[next], match) < 0) {
+                result.add(added[next++]);
+            }
+            result.add(match);
+        }
+        while (next < added.length) {
+            result.add(added[next++]);
+        }
+        return of(version + 1, result.toArray(NO_MATCHES));
+    }
+
+    /**
+     * @param match a version of a match, or {@code null}
+     * @return the version of the match in this snapshot, or {@code null} if the match is absent
+     */
+    Match find(Match match) {
+        int index = match == null ? -1 : indexOf(match);
+        return index < 0 ? null : matches.get(index);
+    }
+
+    /**
+     * Finds the matches with the given IDs in one pass over the snapshot.
+     *
+     * @param ids the IDs of the matches to find
+     * @return the version of each match in this snapshot, keyed by ID; absent matches are left out
+     */
+    Map<UUID, Match> findAll(Set<UUID> ids) {
+        Map<UUID, Match> found = new HashMap<>();
+        for (Match match : matches) {
+            if (ids.contains(match.id())) {
+                found.put(match.id(), match);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the position of the given match, or of another version of it, or {@code -1} if the match is absent
+     */
+    private int indexOf(Match match) {
+        int index = Collections.binarySearch(matches, match, Match.SUMMARY_ORDER);
+        if (index >= 0) {
+            return index;
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            if (matches.get(i).id().equals(match.id())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static SummarySnapshot of(long version, Match[] matches) {
+        return new SummarySnapshot(version, Instant.now(), Collections.unmodifiableList(Arrays.asList(matches)));
+    }
+}
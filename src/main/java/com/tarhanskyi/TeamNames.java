@@ -0,0 +1,134 @@
+package com.tarhanskyi;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+import static com.tarhanskyi.Constants.TEAM_NAME_LENGTH_LIMIT;
+
+/**
+ * Allocation-free validation of team names.
+ * <p>
+ * Accepts exactly the names whose trimmed form matches {@code TEAM_NAME_REGEX},
+ * but scans the characters in place instead of compiling a pattern and trimming a copy of the name.
+ */
+final class TeamNames {
+    private TeamNames() { }
+
+    /**
+     * ASCII characters allowed in a team name: letters, digits, whitespace and {@code -'.&(),/}.
+     */
+    private static final boolean[] ASCII_ALLOWED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ASCII_ALLOWED[c] = true;
+            ASCII_ALLOWED[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ASCII_ALLOWED[c] = true;
+        }
+        for (char c : " \t\n\u000B\f\r-'.&(),/".toCharArray()) {
+            ASCII_ALLOWED[c] = true;
+        }
+    }
+
+    /**
+     * Checks whether the trimmed name has 1 to {@code TEAM_NAME_LENGTH_LIMIT} allowed characters.
+     *
+     * @param name the team name (non-null)
+     * @return {@code true} if the name is valid
+     */
+    static boolean isValid(String name) {
+        int start = trimmedStart(name);
+        int end = trimmedEnd(name, start);
+        if (start == end) {
+            return false;
+        }
+        int count = 0;
+        for (int i = start; i < end; count++) {
+            if (count == TEAM_NAME_LENGTH_LIMIT) {
+                return false;
+            }
+            char c = name.charAt(i);
+            if (c < ASCII_ALLOWED.length) {
+                if (!ASCII_ALLOWED[c]) {
+                    return false;
+                }
+                i++;
+            } else {
+                int codePoint = name.codePointAt(i);
+                if (!Character.isLetter(codePoint)) {
+                    return false;
+                }
+                i += Character.charCount(codePoint);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether two names are the same once leading and trailing whitespace is ignored.
+     *
+     * @param first  the first team name (non-null)
+     * @param second the second team name (non-null)
+     * @return {@code true} if the trimmed names are equal
+     */
+    static boolean isSameTeam(String first, String second) {
+        int firstStart = trimmedStart(first);
+        int firstLength = trimmedEnd(first, firstStart) - firstStart;
+        int secondStart = trimmedStart(second);
+        int secondLength = trimmedEnd(second, secondStart) - secondStart;
+        return firstLength == secondLength && first.regionMatches(firstStart, second, secondStart, firstLength);
+    }
+
+    /**
+     * Folds a name for case- and accent-insensitive lookups: the trimmed name in lower case,
+     * with the accents of its letters removed ({@code "  Curaçao"} becomes {@code "curacao"}).
+     * ASCII names are folded without decomposing them.
+     *
+     * @param name the team name or a prefix of it (non-null)
+     * @return the folded name
+     */
+    static String fold(String name) {
+        int start = trimmedStart(name);
+        int end = trimmedEnd(name, start);
+        boolean ascii = true;
+        for (int i = start; i < end && ascii; i++) {
+            ascii = name.charAt(i) < ASCII_ALLOWED.length;
+        }
+        if (ascii) {
+            return name.substring(start, end).toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(name.substring(start, end), Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the index of the first character kept by {@link String#trim()}
+     */
+    private static int trimmedStart(String name) {
+        int start = 0;
+        while (start < name.length() && name.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * @return the index after the last character kept by {@link String#trim()}
+     */
+    private static int trimmedEnd(String name, int start) {
+        int end = name.length();
+        while (end > start && name.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tarhanskyi;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted index of the teams in ongoing matches, for lookups by the start of a team name.
+ * <p>
+ * Keys are the {@linkplain TeamNames#fold(String) folded} team name followed by the original name,
+ * so teams whose names fold to the same text are kept apart, and all teams starting with a prefix
+ * form one contiguous range of keys. A lookup is a search for the start of the range followed by a walk
+ * through the matching entries only. The index is thread-safe and lookups do not block writers.
+ */
+final class TeamPrefixIndex {
+
+    /**
+     * Separates the folded name from the original one; sorts before any character of a team name.
+     */
+    private static final char SEPARATOR = '\u0000';
+
+    /**
+     * Sorts after any character of a folded name, so it closes the range of a prefix.
+     */
+    private static final char RANGE_END = '\uffff';
+
+    private final ConcurrentSkipListMap<String, UUID> teams = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param team    the name of a team that joined a match
+     * @param matchId the ID of the match
+     */
+    void add(String team, UUID matchId) {
+        teams.put(key(team), matchId);
+    }
+
+    /**
+     * Removes a team, unless it has already joined another match.
+     *
+     * @param team    the name of a team that left a match
+     * @param matchId the ID of the match
+     */
+    void remove(String team, UUID matchId) {
+        teams.remove(key(team), matchId);
+    }
+
+    /**
+     * Returns a live view of the matches of the teams whose folded name starts with the folded prefix,
+     * in the order of the folded team names. A match is listed twice if both of its teams match.
+     *
+     * @param prefix the start of a team name, matched regardless of case and accents
+     * @return the IDs of the matches, read lazily
+     */
+    Collection<UUID> matching(String prefix) {
+        String folded = TeamNames.fold(prefix);
+        return teams.subMap(folded, true, folded + RANGE_END, false).values();
+    }
+
+    private static String key(String team) {
+        return TeamNames.fold(team) + SEPARATOR + team;
+    }
+}
@@ -0,0 +1,189 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for FeedIngestor.java")
+class FeedIngestorTest {
+
+    private static InputStream feed(String lines) {
+        return new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("feed lines start, update and finish matches")
+    void ok_ingest() throws Exception {
+        ScoreboardService service = new ScoreboardService();
+        try (FeedIngestor ingestor = new FeedIngestor(service)) {
+            long lines = ingestor.ingest(feed("""
+                    START|Spain|Brazil
+                    START|Mexico|Canada
+                    SCORE|Spain|Brazil|1|0
+                    SCORE|Mexico|Canada|0|2
+                    SCORE|Spain|Brazil|3|0
+                    START|Germany|France
+                    FINISH|Germany|France
+                    """));
+            ingestor.awaitApplied();
+
+            assertEquals(7, lines, "Every line should be read");
+            List<Match> summary = service.getSummary();
+            assertEquals(2, summary.size(), "Two matches should be ongoing");
+            assertEquals("Spain", summary.get(0).homeTeam(), "Spain should lead the summary");
+            assertEquals(3, summary.get(0).homeScore(), "The last score should be applied");
+            assertEquals(2, summary.get(1).awayScore(), "Canada should have scored twice");
+            assertEquals(new FeedIngestor.Stats(7, 7, 0, 0, 0), withoutRate(ingestor.stats()), "Stats");
+        }
+    }
+
+    @Test
+    @DisplayName("malformed lines and rejected commands are counted and skipped")
+    void bad_ingest_lines() throws Exception {
+        ScoreboardService service = new ScoreboardService();
+        try (FeedIngestor ingestor = new FeedIngestor(service)) {
+            ingestor.ingest(feed("START|Spain|Brazil\r\n"
+                    + "\n"
+                    + "KICKOFF|Spain|Brazil\n"
+                    + "SCORE|Spain|Brazil|1\n"
+                    + "SCORE|Spain|Brazil|x|0\n"
+                    + "START|Spain\n"
+                    + "START|" + "A".repeat(FeedLineParser.MAX_LINE_LENGTH) + "|Brazil\n"
+                    + "SCORE|Mexico|Canada|1|0\n"
+                    + "SCORE|Brazil|Spain|1|0\n"
+                    + "SCORE|Spain|Brazil|99|0\n"
+                    + "SCORE|Spain|Brazil|3|1"));
+            ingestor.awaitApplied();
+
+            assertEquals(new FeedIngestor.Stats(5, 2, 3, 5, 0), withoutRate(ingestor.stats()), "Stats");
+            Match spain = service.getSummary().getFirst();
+            assertEquals(3, spain.homeScore(), "The last line without a line separator should be applied");
+            assertEquals(1, spain.awayScore(), "The last line without a line separator should be applied");
+        }
+    }
+
+    @Test
+    @DisplayName("line longer than the read buffer is skipped")
+    void bad_ingest_longLine() throws Exception {
+        ScoreboardService service = new ScoreboardService();
+        try (FeedIngestor ingestor = new FeedIngestor(service)) {
+            long lines = ingestor.ingest(feed("START|" + "A".repeat(200_000) + "|Brazil\nSTART|Spain|Brazil\n"));
+            ingestor.awaitApplied();
+
+            assertEquals(2, lines, "The long line should be read as one line");
+            assertEquals(1, ingestor.stats().malformed(), "The long line should be malformed");
+            assertEquals(1, service.getSummary().size(), "The next line should be applied");
+        }
+    }
+
+    @Test
+    @DisplayName("updates of the same match are applied in order through small lanes")
+    void concurrent_ingest_order() throws Exception {
+        int matches = 40;
+        int updates = 50;
+        StringBuilder lines = new StringBuilder();
+        for (int m = 0; m < matches; m++) {
+            lines.append("START|Home ").append(m).append("|Away ").append(m).append('\n');
+        }
+        for (int goal = 1; goal <= updates; goal++) {
+            for (int m = 0; m < matches; m++) {
+                lines.append("SCORE|Home ").append(m).append("|Away ").append(m).append('|')
+                        .append(goal).append("|0\n");
+            }
+        }
+        ScoreboardService service = new ScoreboardService();
+        try (FeedIngestor ingestor = new FeedIngestor(service, 4, 2)) {
+            ingestor.ingest(feed(lines.toString()));
+            ingestor.awaitApplied();
+
+            assertEquals(matches * (updates + 1), ingestor.stats().applied(), "Every command should be applied");
+            for (Match match : service.getSummary()) {
+                assertEquals(updates, match.homeScore(), "The last update of " + match.homeTeam() + " should win");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("a team is started again only after its previous match on another lane has finished")
+    void concurrent_ingest_teamChangesLane() throws Exception {
+        int rounds = 1000;
+        StringBuilder lines = new StringBuilder("START|Team 1|Team 0\n");
+        for (int r = 1; r < rounds; r++) {
+            lines.append("FINISH|Team ").append(r).append("|Team ").append(r - 1).append('\n')
+                    .append("START|Team ").append(r + 1).append("|Team ").append(r).append('\n');
+        }
+        ScoreboardService service = new ScoreboardService();
+        try (FeedIngestor ingestor = new FeedIngestor(service, 16, 2)) {
+            ingestor.ingest(feed(lines.toString()));
+            ingestor.awaitApplied();
+
+            assertEquals(0, ingestor.stats().rejected(), "No start should overtake the finish of its away team");
+            List<Match> summary = service.getSummary();
+            assertEquals(1, summary.size(), "Only the last match should be ongoing");
+            assertEquals("Team " + rounds, summary.get(0).homeTeam(), "The last match should be ongoing");
+        }
+    }
+
+    @Test
+    @DisplayName("closed ingestor rejects new feeds")
+    void bad_ingest_closed() throws Exception {
+        FeedIngestor ingestor = new FeedIngestor(new ScoreboardService());
+        ingestor.close();
+        assertThrows(IllegalStateException.class, () -> ingestor.ingest(feed("START|Spain|Brazil\n")),
+                "A closed ingestor should not accept commands");
+    }
+
+    @Test
+    @DisplayName("invalid configuration is rejected")
+    void bad_create() {
+        ScoreboardService service = new ScoreboardService();
+        assertThrows(NullPointerException.class, () -> new FeedIngestor(null), "Service must not be null");
+        assertThrows(IllegalArgumentException.class, () -> new FeedIngestor(service, 0, 1), "Lanes must be positive");
+        assertThrows(IllegalArgumentException.class, () -> new FeedIngestor(service, 1, 0), "Capacity must be positive");
+    }
+
+    @Test
+    @DisplayName("parser reuses the names of known teams")
+    void ok_parser_names() {
+        FeedLineParser parser = new FeedLineParser();
+        byte[] first = "SCORE|Spain|Brazil|1|0".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "SCORE|Spain|Brazil|12|3".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(parser.parse(first, 0, first.length), "Line should be parsed");
+        String spain = parser.homeTeam;
+        assertTrue(parser.parse(second, 0, second.length), "Line should be parsed");
+        assertSame(spain, parser.homeTeam, "Known team names should be reused");
+        assertEquals(12, parser.homeScore, "Home score");
+        assertEquals(3, parser.awayScore, "Away score");
+        assertFalse(parser.parse(first, 0, 5), "Keyword alone is not a line");
+    }
+
+    @Test
+    @DisplayName("stream that fails to read is reported")
+    void bad_ingest_failingStream() throws Exception {
+        try (FeedIngestor ingestor = new FeedIngestor(new ScoreboardService())) {
+            InputStream failing = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("connection reset");
+                }
+            };
+            assertThrows(IOException.class, () -> ingestor.ingest(failing), "Read failures should be propagated");
+        }
+    }
+
+    private static FeedIngestor.Stats withoutRate(FeedIngestor.Stats stats) {
+        return new FeedIngestor.Stats(stats.received(), stats.applied(), stats.rejected(), stats.malformed(), 0);
+    }
+}
@@ -0,0 +1,167 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for MatchArchive.java")
+class MatchArchiveTest {
+    @TempDir
+    Path directory;
+
+    private static final Instant KICK_OFF = Instant.parse("2026-06-11T18:00:00Z");
+
+    private static ArchivedMatch match(int i) {
+        Instant start = KICK_OFF.plusSeconds(60L * i);
+        Match match = new Match(new UUID(i, -i), "Home " + i % 300, "Away " + i % 200,
+                i % 7, i % 5, start, i % 11);
+        return new ArchivedMatch(match, start.plusSeconds(5400).plusMillis(i % 1000));
+    }
+
+    private static void fill(MatchArchive archive, int from, int to) {
+        for (int i = from; i < to; i++) {
+            ArchivedMatch archived = match(i);
+            archive.add(archived.match(), archived.finishedAt());
+        }
+    }
+
+    @Test
+    @DisplayName("queries use the score, team and finish time indexes")
+    void ok_queries() {
+        MatchArchive archive = new MatchArchive();
+        Instant start = KICK_OFF;
+        Match spain = new Match(UUID.randomUUID(), "Spain", "Brazil", 3, 2, start, 5);
+        Match mexico = new Match(UUID.randomUUID(), "Mexico", "Spain", 1, 0, start, 1);
+        Match germany = new Match(UUID.randomUUID(), "Germany", "France", 4, 1, start, 5);
+        Match italy = new Match(UUID.randomUUID(), "Italy", "Canada", 0, 0, start, 0);
+        archive.add(spain, start.plusSeconds(5400));
+        archive.add(mexico, start.plusSeconds(5500));
+        archive.add(germany, start.plusSeconds(5600));
+        archive.add(italy, start.plusSeconds(5700));
+
+        assertEquals(4, archive.size(), "Every match should be archived");
+        assertEquals(List.of(germany, spain, mexico), matches(archive.topScoring(3)),
+                "Higher totals first, the latest first among ties");
+        assertEquals(List.of(mexico, spain), matches(archive.findByTeam("Spain", 10)),
+                "Home and away matches of a team, the latest first");
+        assertEquals(List.of(), archive.findByTeam("Portugal", 10), "Unknown team has no matches");
+        assertEquals(List.of(mexico, germany), matches(archive.finishedBetween(
+                start.plusSeconds(5500), start.plusSeconds(5700), 10)), "Range includes its start only");
+        assertEquals(List.of(mexico), matches(archive.finishedBetween(
+                start.plusSeconds(5401), start.plusSeconds(6000), 1)), "Range is limited");
+        assertEquals(start.plusSeconds(5600), archive.topScoring(1).getFirst().finishedAt(), "Finish time");
+    }
+
+    @Test
+    @DisplayName("board archives finished matches with their final score")
+    void ok_board() {
+        MatchArchive archive = new MatchArchive();
+        ScoreboardService service = new ScoreboardService(ScoreboardOptions.defaults().withArchive(archive));
+        Match match = service.startMatch("Spain", "Brazil");
+        Match finished = service.updateScore(match.id(), 2, 1);
+        service.finishMatch(match.id());
+        service.startMatch("Mexico", "Canada");
+
+        assertEquals(archive, service.getArchive(), "Board should expose its archive");
+        List<ArchivedMatch> archived = archive.findByTeam("Brazil", 10);
+        assertEquals(1, archived.size(), "Only the finished match should be archived");
+        Match stored = archived.getFirst().match();
+        assertEquals(finished.id(), stored.id(), "Match ID");
+        assertEquals(2, stored.homeScore(), "Final home score");
+        assertEquals(1, stored.awayScore(), "Final away score");
+        assertEquals(finished.version(), stored.version(), "Version");
+        assertEquals(finished.startTime().toEpochMilli(), stored.startTime().toEpochMilli(),
+                "Start time should be kept to the millisecond");
+    }
+
+    @Test
+    @DisplayName("spilled chunks are read back after reopening, and a torn tail is dropped")
+    void ok_spill_reopen() throws IOException {
+        Path path = directory.resolve("matches.archive");
+        int count = 2 * MatchArchive.CHUNK_SIZE + 100;
+        List<ArchivedMatch> top;
+        List<ArchivedMatch> team;
+        try (MatchArchive archive = MatchArchive.open(path)) {
+            fill(archive, 0, count);
+            top = archive.topScoring(50);
+            team = archive.findByTeam("Home 7", 20);
+        }
+        Files.write(path, new byte[]{0, 0, 1, 0, 0, 0}, StandardOpenOption.APPEND);
+        long torn = Files.size(path);
+
+        try (MatchArchive archive = MatchArchive.open(path)) {
+            assertTrue(Files.size(path) < torn, "Torn tail should be truncated");
+            assertEquals(count, archive.size(), "Every match should be read back");
+            assertEquals(top, archive.topScoring(50), "Top scoring matches should survive a reopen");
+            assertEquals(team, archive.findByTeam("Home 7", 20), "Team index should survive a reopen");
+            assertEquals(match(MatchArchive.CHUNK_SIZE), archive.finishedBetween(
+                    match(MatchArchive.CHUNK_SIZE).finishedAt(), Instant.MAX, 1).getFirst(),
+                    "Range should start in the second chunk");
+            fill(archive, count, count + 10);
+        }
+
+        try (MatchArchive archive = MatchArchive.open(path)) {
+            assertEquals(count + 10, archive.size(), "Matches added after a reopen should be kept");
+            assertEquals(match(count + 9), archive.finishedBetween(Instant.MIN, Instant.MAX, count + 10).getLast(),
+                    "Last match should be read back");
+        }
+    }
+
+    @Test
+    @DisplayName("team names padded past 32767 bytes are read back after reopening")
+    void ok_reopen_paddedNames() throws IOException {
+        Path path = directory.resolve("matches.archive");
+        String padded = "Spain" + " ".repeat(40_000);
+        Match match = new Match(UUID.randomUUID(), padded, "Brazil", 2, 1, KICK_OFF, 3);
+        try (MatchArchive archive = MatchArchive.open(path)) {
+            archive.add(match, KICK_OFF.plusSeconds(60));
+        }
+
+        try (MatchArchive archive = MatchArchive.open(path)) {
+            assertEquals(List.of(match), matches(archive.findByTeam(padded, 1)), "Padded name should be kept");
+        }
+    }
+
+    @Test
+    @DisplayName("matches out of order or after closing are rejected")
+    void bad_add() throws IOException {
+        MatchArchive archive = new MatchArchive();
+        Match match = new Match(UUID.randomUUID(), "Spain", "Brazil", 1, 0, KICK_OFF, 1);
+        archive.add(match, KICK_OFF.plusSeconds(60));
+
+        assertThrows(IllegalArgumentException.class, () -> archive.add(match, KICK_OFF.plusSeconds(59)),
+                "Finish times must not decrease");
+        assertThrows(IllegalArgumentException.class, () -> archive.add(match, KICK_OFF.minusSeconds(1)),
+                "Match must not finish before it starts");
+        assertThrows(IllegalArgumentException.class, () -> archive.topScoring(-1), "Limit must not be negative");
+        assertThrows(NullPointerException.class, () -> archive.findByTeam(null, 1), "Team must not be null");
+        archive.close();
+        assertThrows(IllegalStateException.class, () -> archive.add(match, KICK_OFF.plusSeconds(60)),
+                "Closed archive should not accept matches");
+        assertEquals(1, archive.size(), "Rejected matches should not be archived");
+    }
+
+    @Test
+    @DisplayName("file that is not an archive is rejected")
+    void bad_open() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.writeString(path, "not an archive");
+        assertThrows(IOException.class, () -> MatchArchive.open(path), "Foreign file should be rejected");
+    }
+
+    private static List<Match> matches(List<ArchivedMatch> archived) {
+        return archived.stream().map(ArchivedMatch::match).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Tests for MatchCodec.java")
+class MatchCodecTest {
+
+    @Test
+    @DisplayName("match round trip through heap and direct buffers")
+    void ok_roundTrip() {
+        Match match = Match.updateScore(Match.start("Atlético Madrid", "Beşiktaş"), 3, 2);
+        for (ByteBuffer buffer : List.of(ByteBuffer.allocate(MatchCodec.MAX_MATCH_SIZE),
+                ByteBuffer.allocateDirect(MatchCodec.MAX_MATCH_SIZE))) {
+            MatchCodec writer = new MatchCodec();
+            MatchCodec reader = new MatchCodec();
+
+            writer.encode(match, buffer);
+            writer.encode(match, buffer);
+            int size = buffer.position();
+            buffer.flip();
+
+            assertEquals(match, reader.decode(buffer), "First copy should carry the team names");
+            assertEquals(match, reader.decode(buffer), "Second copy should use dictionary IDs");
+            assertEquals(size, buffer.position(), "Whole input should be read");
+            assertEquals(2, reader.dictionarySize(), "Reader should learn both teams");
+        }
+    }
+
+    @Test
+    @DisplayName("dictionary replaces repeated team names with IDs")
+    void ok_dictionary() {
+        Match match = Match.start("Spain", "Brazil");
+        MatchCodec writer = new MatchCodec();
+        MatchCodec reader = new MatchCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * MatchCodec.MAX_MATCH_SIZE);
+
+        writer.encode(match, buffer);
+        int first = buffer.position();
+        writer.encode(match, buffer);
+        buffer.flip();
+
+        assertEquals(MatchCodec.MATCH_SIZE + 2 + "Spain".length() + "Brazil".length(), first, "Names written once");
+        assertEquals(MatchCodec.MATCH_SIZE, buffer.limit() - first, "Known teams should take two bytes each");
+        assertSame(reader.decode(buffer).homeTeam(), reader.decode(buffer).homeTeam(), "Names should be shared");
+    }
+
+    @Test
+    @DisplayName("summary round trip")
+    void ok_summaryRoundTrip() {
+        ScoreboardService service = new ScoreboardService();
+        for (int i = 0; i < 20; i++) {
+            Match match = service.startMatch("Home " + i, "Away " + i);
+            service.updateScore(match.id(), i % 7, i % 3);
+        }
+        MatchCodec writer = new MatchCodec();
+        MatchCodec reader = new MatchCodec();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+        writer.encodeSummary(service.getSummary(), buffer);
+        writer.encodeSummary(List.of(), buffer);
+        writer.encodeSummary(service.getSummary(), buffer);
+        buffer.flip();
+
+        assertEquals(service.getSummary(), reader.decodeSummary(buffer));
+        assertEquals(List.of(), reader.decodeSummary(buffer));
+        assertEquals(service.getSummary(), reader.decodeSummary(buffer));
+    }
+
+    @Test
+    @DisplayName("failed write leaves buffer and dictionary unchanged")
+    void bad_encode_overflow() {
+        Match match = Match.start("Spain", "Brazil");
+        MatchCodec writer = new MatchCodec();
+        MatchCodec reader = new MatchCodec();
+        ByteBuffer small = ByteBuffer.allocate(MatchCodec.MATCH_SIZE + 4);
+        small.put((byte) 7);
+
+        assertThrows(BufferOverflowException.class, () -> writer.encode(match, small));
+        assertThrows(BufferOverflowException.class, () -> writer.encodeSummary(List.of(match), small));
+        assertEquals(1, small.position(), "Buffer position should be restored");
+        assertEquals(0, writer.dictionarySize(), "Dictionary should be restored");
+
+        ByteBuffer buffer = ByteBuffer.allocate(MatchCodec.MAX_MATCH_SIZE);
+        writer.encode(match, buffer);
+        assertEquals(match, reader.decode(buffer.flip()), "Retried write should carry the team names");
+    }
+
+    @Test
+    @DisplayName("unknown team IDs are rejected")
+    void bad_decode() {
+        MatchCodec writer = new MatchCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * MatchCodec.MAX_MATCH_SIZE);
+        writer.encode(Match.start("Spain", "Brazil"), buffer);
+        writer.encode(Match.start("Spain", "Brazil"), buffer);
+        buffer.flip();
+        buffer.position(buffer.limit() - MatchCodec.MATCH_SIZE);
+
+        assertThrows(IllegalArgumentException.class, () -> new MatchCodec().decode(buffer), "Reader missed the names");
+        assertThrows(NullPointerException.class, () -> writer.encode(null, buffer));
+    }
+
+    @Test
+    @DisplayName("names padded with whitespace round trip or are rejected without corrupting the stream")
+    void ok_paddedNames() {
+        MatchCodec writer = new MatchCodec();
+        MatchCodec reader = new MatchCodec();
+        Match padded = Match.start("Spain" + " ".repeat(300), "Brazil");
+        Match tooLong = Match.start("Mexico", "Canada" + " ".repeat(MatchCodec.MAX_NAME_SIZE));
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        buffer.put((byte) 7);
+
+        assertThrows(IllegalArgumentException.class, () -> writer.encode(tooLong, buffer), "Name is too long");
+        assertEquals(1, buffer.position(), "Buffer position should be restored");
+        assertEquals(0, writer.dictionarySize(), "Dictionary should be restored");
+
+        writer.encode(padded, buffer);
+        writer.encode(padded, buffer);
+        buffer.flip().get();
+        assertEquals(padded, reader.decode(buffer), "Padded name should be decoded");
+        assertEquals(padded, reader.decode(buffer), "Padded name should be referenced by ID");
+    }
+}
@@ -0,0 +1,83 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for MatchIdGenerator.java")
+class MatchIdGeneratorTest {
+    private static final int THREADS = 4;
+    private static final int IDS_PER_THREAD = 20_000;
+
+    @Test
+    @DisplayName("concurrency: every generator returns unique IDs")
+    void concurrent_nextId_unique() throws InterruptedException {
+        for (MatchIdGenerator generator : List.of(MatchIdGenerator.random(), MatchIdGenerator.timeOrdered(),
+                MatchIdGenerator.sequential())) {
+            Set<UUID> ids = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        ids.add(generator.nextId());
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor did not finish in time");
+            assertEquals(THREADS * IDS_PER_THREAD, ids.size(), "IDs should be unique");
+        }
+    }
+
+    @Test
+    @DisplayName("time-ordered IDs are UUIDv7 and increase within a thread")
+    void ok_timeOrdered() {
+        MatchIdGenerator generator = MatchIdGenerator.timeOrdered();
+        long before = System.currentTimeMillis();
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.nextId();
+            assertEquals(7, next.version(), "Version should be 7");
+            assertEquals(2, next.variant(), "Variant should be IETF");
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0,
+                    "IDs should increase");
+            previous = next;
+        }
+        assertTrue(previous.getMostSignificantBits() >>> 16 >= before, "IDs should start with the current time");
+    }
+
+    @Test
+    @DisplayName("sequential IDs count up within a thread")
+    void ok_sequential() {
+        MatchIdGenerator generator = MatchIdGenerator.sequential();
+        UUID first = generator.nextId();
+        UUID second = generator.nextId();
+
+        assertEquals(first.getMostSignificantBits(), second.getMostSignificantBits(), "Prefix should be shared");
+        assertEquals(first.getLeastSignificantBits() + 1, second.getLeastSignificantBits(), "Counter should grow by one");
+    }
+
+    @Test
+    @DisplayName("concurrency: sequential IDs stay unique across many short-lived threads")
+    void concurrent_sequential_manyThreads() throws InterruptedException {
+        MatchIdGenerator generator = MatchIdGenerator.sequential();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        int threads = 10_000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> ids.add(generator.nextId()));
+            }
+        }
+        assertEquals(threads, ids.size(), "Every thread should get its own ID");
+    }
+}
@@ -15,6 +15,7 @@ import static com.tarhanskyi.Constants.TEAM_NAME_REGEX;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @DisplayName("Tests for Match.java")
 class MatchTest {
@@ -59,6 +60,29 @@ class MatchTest {
         assertEquals(match.startTime(), update.startTime());
     }
 
+    @Test
+    void shouldIncrementVersionOnScoreChange() {
+        Match match = Match.start("Home", "Away");
+        assertEquals(0, match.version());
+
+        Match updated = Match.updateScore(match, 1, 0);
+        assertEquals(1, updated.version());
+        assertEquals(2, Match.updateScore(updated, 1, 1).version());
+        assertSame(updated, Match.updateScore(updated, 1, 0), "Same score should not create a new version");
+    }
+
+    @Test
+    void shouldCopyTeamsAndCheckScoresOnScoreChange() {
+        Match match = new Match(validId, "Spain" + " ".repeat(1000), "Brazil", 1, 0, now, 4);
+
+        Match updated = Match.updateScore(match, 2, 0);
+        assertSame(match.homeTeam(), updated.homeTeam(), "Validated names should be reused");
+        assertEquals(new Match(validId, match.homeTeam(), "Brazil", 2, 0, now, 5), updated);
+        assertEquals(updated.hashCode(), new Match(validId, match.homeTeam(), "Brazil", 2, 0, now, 5).hashCode());
+        assertThrows(IllegalArgumentException.class, () -> Match.updateScore(match, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> Match.updateScore(match, 0, Constants.SCORE_LIMIT + 1));
+    }
+
     @Test
     void shouldThrowForNullFields() {
         assertThrows(NullPointerException.class, () -> new Match(null, randomTeamName(), randomTeamName(), 0, 0, now));
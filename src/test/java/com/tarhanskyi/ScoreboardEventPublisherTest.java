@@ -0,0 +1,158 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for ScoreboardEventPublisher.java")
+class ScoreboardEventPublisherTest {
+
+    /**
+     * Subscriber recording everything it receives; events are delivered on the calling thread.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<ScoreboardEvent> {
+        private final List<ScoreboardEvent> events = new ArrayList<>();
+        private final long initialRequest;
+        private Flow.Subscription subscription;
+        private Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(ScoreboardEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private final ScoreboardEventPublisher publisher = new ScoreboardEventPublisher(Runnable::run, 4);
+
+    @Test
+    @DisplayName("events are delivered in order")
+    void ok_deliverInOrder() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        Match match = Match.start("Home", "Away");
+        Match updated = Match.updateScore(match, 1, 0);
+        publisher.matchStarted(match);
+        publisher.scoreUpdated(match, updated);
+        publisher.matchFinished(updated);
+
+        assertEquals(List.of(
+                new ScoreboardEvent.MatchStarted(match),
+                new ScoreboardEvent.ScoreUpdated(updated),
+                new ScoreboardEvent.MatchFinished(updated)), subscriber.events);
+        assertNull(subscriber.error, "No error expected");
+    }
+
+    @Test
+    @DisplayName("pending updates of the same match are coalesced")
+    void ok_coalesceUpdates() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        Match match = Match.start("Home", "Away");
+        publisher.matchStarted(match);
+        Match previous = match;
+        for (int i = 1; i <= 10; i++) {
+            Match updated = Match.updateScore(previous, i, 0);
+            publisher.scoreUpdated(previous, updated);
+            previous = updated;
+        }
+        assertEquals(0, subscriber.events.size(), "Nothing should be delivered without demand");
+
+        subscriber.subscription.request(10);
+        assertEquals(List.of(
+                new ScoreboardEvent.MatchStarted(match),
+                new ScoreboardEvent.ScoreUpdated(previous)), subscriber.events);
+    }
+
+    @Test
+    @DisplayName("subscriber is cancelled when its buffer overflows")
+    void bad_bufferOverflow() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        for (int i = 0; i < 5; i++) {
+            publisher.matchStarted(Match.start("Home" + i, "Away" + i));
+        }
+
+        assertInstanceOf(IllegalStateException.class, subscriber.error, "Overflow should be signalled");
+        publisher.matchStarted(Match.start("Home", "Away"));
+        subscriber.subscription.request(10);
+        assertEquals(0, subscriber.events.size(), "Cancelled subscriber should get no events");
+    }
+
+    @Test
+    @DisplayName("non-positive request is an error")
+    void bad_nonPositiveRequest() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error, "Rule 3.9 violation should be signalled");
+    }
+
+    @Test
+    @DisplayName("invalid arguments")
+    void bad_arguments() {
+        assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardEventPublisher(Runnable::run, 0));
+    }
+
+    @Test
+    @DisplayName("scoreboard changes are published asynchronously")
+    void ok_serviceEvents() throws InterruptedException {
+        ScoreboardService service = new ScoreboardService();
+        CountDownLatch finished = new CountDownLatch(1);
+        List<ScoreboardEvent> events = new ArrayList<>();
+        service.events().subscribe(new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(ScoreboardEvent item) {
+                events.add(item);
+                if (item instanceof ScoreboardEvent.MatchFinished) {
+                    finished.countDown();
+                }
+            }
+        });
+
+        Match match = service.startMatch("Home", "Away");
+        service.updateScore(match.id(), 1, 0);
+        service.finishMatch(match.id());
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS), "Finish event should be delivered");
+        assertEquals(match, events.getFirst().match(), "First event should be the start");
+        assertEquals(1, events.getLast().match().homeScore(), "Last event should have the final score");
+    }
+}
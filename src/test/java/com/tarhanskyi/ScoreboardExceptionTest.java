@@ -2,10 +2,15 @@ package com.tarhanskyi;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.UUID;
 
 import static com.tarhanskyi.Constants.MATCHES_LIMIT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
@@ -66,4 +71,47 @@ class ScoreboardExceptionTest {
             ScoreboardException.matchLimitReached(MATCHES_LIMIT - 1);
         });
     }
+
+    @Test
+    @DisplayName("should throw when match version differs")
+    void shouldThrowWhenVersionDiffers() {
+        UUID id = UUID.randomUUID();
+
+        ScoreboardException ex = assertThrows(ScoreboardException.class, () -> {
+            ScoreboardException.versionMismatch(id, 1, 2);
+        });
+
+        assertEquals("Match " + id + " was changed, expected version: 1, actual: 2", ex.getMessage());
+        assertDoesNotThrow(() -> ScoreboardException.versionMismatch(id, 2, 2));
+    }
+
+    @Test
+    @DisplayName("should be stackless and keep the message")
+    void shouldBeStackless() {
+        ScoreboardException ex = assertThrows(ScoreboardException.class, () -> {
+            ScoreboardException.matchExistsFor("Real Madrid");
+        });
+
+        assertEquals(0, ex.getStackTrace().length, "Exception should not capture a stack trace");
+        assertEquals("Match already exists for a team: Real Madrid", ex.getMessage());
+        assertSame(ex.getMessage(), ex.getMessage(), "Message should be formatted once");
+    }
+
+    @Test
+    @DisplayName("should keep the message when serialized")
+    void shouldSerializeMessage() throws Exception {
+        ScoreboardException ex = assertThrows(ScoreboardException.class, () -> {
+            ScoreboardException.matchExistsFor("Real Madrid");
+        });
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ex);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ScoreboardException read = (ScoreboardException) in.readObject();
+            assertEquals(ex.getMessage(), read.getMessage(), "Message should survive serialization");
+            assertSame(ex.status(), read.status(), "Status should survive serialization");
+        }
+    }
 }
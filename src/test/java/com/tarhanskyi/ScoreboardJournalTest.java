@@ -0,0 +1,213 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for ScoreboardJournal.java")
+class ScoreboardJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("replay rebuilds the board with original start times and versions")
+    void ok_replay() throws IOException {
+        for (ScoreboardJournal.FsyncPolicy policy : ScoreboardJournal.FsyncPolicy.values()) {
+            replay(directory.resolve(policy + ".journal"), policy);
+        }
+    }
+
+    private void replay(Path path, ScoreboardJournal.FsyncPolicy policy) throws IOException {
+        List<Match> expected;
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, policy)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            Match spain = service.startMatch("Spain", "Brazil");
+            Match mexico = service.startMatch("Mexico", "Canada");
+            Match germany = service.startMatch("Germany", "France");
+            service.updateScore(spain.id(), 1, 0);
+            service.updateScore(spain.id(), 2, 0);
+            service.updateScore(mexico.id(), 0, 5);
+            service.finishMatch(germany.id());
+            service.startMatch("Germany", "Italy");
+            expected = service.getSummary();
+        }
+
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, policy)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            assertEquals(expected, service.getSummary(), "Replay should restore the board as it was");
+
+            Match mexico = expected.getFirst();
+            assertEquals(mexico.version() + 1, service.updateScore(mexico.id(), 0, 6).version(),
+                    "Versions should continue after replay");
+            assertThrows(ScoreboardException.class, () -> service.startMatch("Spain", "Portugal"),
+                    "Teams of replayed matches should be reserved");
+        }
+    }
+
+    @Test
+    @DisplayName("records continue across mapped regions")
+    void ok_replay_regions() throws IOException {
+        Path path = directory.resolve("board.journal");
+        List<Match> expected;
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.ALWAYS, 512)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            Match match = service.startMatch("Spain", "Brazil");
+            for (int i = 1; i <= 40; i++) {
+                service.updateScore(match.id(), i, i / 2);
+                if (i % 10 == 0) {
+                    service.finishMatch(service.startMatch("Team " + i, "Rival " + i).id());
+                }
+            }
+            service.startMatch("Mexico", "Canada");
+            expected = service.getSummary();
+        }
+        assertTrue(Files.size(path) > 512 * 3, "Journal should span several regions");
+
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.NEVER)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            assertEquals(expected, service.getSummary(), "Replay should follow records across regions");
+        }
+    }
+
+    @Test
+    @DisplayName("concurrency: records are forced after the changed match is unlocked")
+    void concurrent_sync_unlocked() throws Exception {
+        Path path = directory.resolve("board.journal");
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.ALWAYS)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            Match match = service.startMatch("Spain", "Brazil");
+            AtomicReference<Future<Match>> concurrent = new AtomicReference<>();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                service.addListener(new ScoreboardListener() {
+                    @Override
+                    public void changesApplied() {
+                        if (concurrent.get() == null) {
+                            // would wait forever if the entry of the match were still locked
+                            concurrent.set(executor.submit(() -> service.updateScore(match.id(), 2, 0)));
+                            assertDoesNotThrow(() -> concurrent.get().get(5, TimeUnit.SECONDS));
+                        }
+                    }
+                });
+                service.updateScore(match.id(), 1, 0);
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(2, concurrent.get().get().version(), "Concurrent update should run during the force");
+        }
+    }
+
+    @Test
+    @DisplayName("replay stops at a corrupted record and appends after the last intact one")
+    void bad_replay_corrupted() throws IOException {
+        Path path = directory.resolve("board.journal");
+        Match started;
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.ALWAYS)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            started = service.startMatch("Spain", "Brazil");
+            service.updateScore(started.id(), 3, 3);
+            service.startMatch("Mexico", "Canada");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 8);
+            long second = 8 + ((8 + length.getInt(0) + 3) & -4);
+            ByteBuffer corrupted = ByteBuffer.allocate(1);
+            channel.read(corrupted, second + 20);
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) ~corrupted.get(0)}), second + 20);
+        }
+
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.ALWAYS)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            assertEquals(List.of(started), service.getSummary(), "Records after the corrupted one should be dropped");
+            service.updateScore(started.id(), 1, 0);
+        }
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.ALWAYS)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            assertEquals(1, service.getSummary().getFirst().totalScore(), "Records appended after recovery should replay");
+        }
+    }
+
+    @Test
+    @DisplayName("invalid journal usage")
+    void bad_journal() throws IOException {
+        Path garbage = directory.resolve("garbage.journal");
+        Files.write(garbage, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        assertThrows(IOException.class, () -> ScoreboardJournal.open(garbage, ScoreboardJournal.FsyncPolicy.NEVER));
+        Path unaligned = directory.resolve("unaligned.journal");
+        Files.write(unaligned, ByteBuffer.allocate(8).putInt(0x53424A31).putInt(4097).array());
+        assertThrows(IOException.class, () -> ScoreboardJournal.open(unaligned, ScoreboardJournal.FsyncPolicy.NEVER),
+                "Region size must be aligned");
+
+        Path path = directory.resolve("board.journal");
+        ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.NEVER);
+        new ScoreboardService(10, journal);
+        assertThrows(IllegalStateException.class, () -> new ScoreboardService(10, journal), "Journal attached twice");
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("replayed matches must fit the limit")
+    void bad_replay_limit() throws IOException {
+        Path path = directory.resolve("board.journal");
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.NEVER)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            service.startMatch("Spain", "Brazil");
+            service.startMatch("Mexico", "Canada");
+        }
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.NEVER)) {
+            assertThrows(ScoreboardException.class, () -> new ScoreboardService(1, journal));
+        }
+    }
+
+    @Test
+    @DisplayName("names padded with whitespace are journaled and replayed")
+    void ok_replay_paddedNames() throws IOException {
+        Path path = directory.resolve("board.journal");
+        String padded = "Spain" + " ".repeat(300);
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.NEVER)) {
+            ScoreboardService service = new ScoreboardService(10, journal);
+            service.updateScore(service.startMatch(padded, "France").id(), 1, 0);
+        }
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.NEVER)) {
+            List<Match> summary = new ScoreboardService(10, journal).getSummary();
+            assertEquals(1, summary.size(), "Padded match should be replayed");
+            assertEquals(padded, summary.getFirst().homeTeam(), "Name should be replayed as it was started");
+        }
+    }
+
+    @Test
+    @DisplayName("a start the journal cannot record leaves the board unchanged")
+    void bad_journal_recordTooLarge() throws IOException {
+        Path path = directory.resolve("board.journal");
+        try (ScoreboardJournal journal = ScoreboardJournal.open(path, ScoreboardJournal.FsyncPolicy.NEVER, 512)) {
+            ScoreboardService service = new ScoreboardService(1, journal);
+            assertThrows(IllegalArgumentException.class, () -> service.startMatch("Spain" + " ".repeat(600), "France"),
+                    "Record larger than a region");
+
+            assertTrue(service.getSummary().isEmpty(), "Rejected match should not be published");
+            assertEquals(0, service.getSnapshot().version(), "Nothing should be published");
+            Match match = service.startMatch("Spain", "France");
+            service.finishMatch(match.id());
+            assertTrue(service.getSummary().isEmpty(), "Teams and slot should have been released");
+        }
+    }
+}
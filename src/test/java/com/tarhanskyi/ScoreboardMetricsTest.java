@@ -0,0 +1,160 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for ScoreboardMetrics.java")
+class ScoreboardMetricsTest {
+
+    private static ScoreboardService metered() {
+        return new ScoreboardService(ScoreboardOptions.defaults().withMetricsEnabled(true));
+    }
+
+    @Test
+    @DisplayName("calls and rejections are counted per operation and status")
+    void ok_counts() {
+        ScoreboardService service = metered();
+        Match match = service.startMatch("Spain", "Brazil");
+        service.updateScore(match.id(), 1, 0);
+        service.tryUpdateScore(match.id(), 2, 0);
+        assertThrows(ScoreboardException.class, () -> service.startMatch("Spain", "Mexico"));
+        assertThrows(IllegalArgumentException.class, () -> service.updateScore(match.id(), -1, 0));
+        assertEquals(ScoreboardResult.Status.NOT_FOUND, service.tryFinishMatch(UUID.randomUUID()).status());
+        service.getSummary();
+        service.finishMatch(match.id());
+
+        ScoreboardMetrics.Snapshot snapshot = service.getMetrics().snapshot();
+        assertTrue(snapshot.enabled(), "Metrics should be enabled");
+        assertEquals(2, snapshot.operations().get(ScoreboardMetrics.Operation.START_MATCH).count(),
+                "Rejected calls should be measured too");
+        assertEquals(3, snapshot.operations().get(ScoreboardMetrics.Operation.UPDATE_SCORE).count(),
+                "try* calls should be measured as the operation they try");
+        assertEquals(2, snapshot.operations().get(ScoreboardMetrics.Operation.FINISH_MATCH).count(), "Finishes");
+        assertEquals(1, snapshot.operations().get(ScoreboardMetrics.Operation.GET_SUMMARY).count(), "Summaries");
+        assertEquals(1L, snapshot.rejections().get(ScoreboardResult.Status.MATCH_EXISTS), "Busy team");
+        assertEquals(1L, snapshot.rejections().get(ScoreboardResult.Status.INVALID_ARGUMENT), "Invalid score");
+        assertEquals(1L, snapshot.rejections().get(ScoreboardResult.Status.NOT_FOUND), "Unknown match");
+        assertEquals(0, snapshot.liveMatches(), "No match should be live");
+        assertEquals(4, snapshot.summaryVersion(), "Four changes should have been published");
+        assertEquals(4, snapshot.summaryBuild().count(), "Every published change should be measured");
+    }
+
+    @Test
+    @DisplayName("rejected commands of a batch are counted")
+    void ok_counts_batch() {
+        ScoreboardService service = metered();
+        service.applyBatch(List.of(
+                new ScoreCommand.Start("Spain", "Brazil"),
+                new ScoreCommand.Start("Spain", "Mexico"),
+                new ScoreCommand.Finish(UUID.randomUUID())));
+
+        ScoreboardMetrics.Snapshot snapshot = service.getMetrics().snapshot();
+        assertEquals(1, snapshot.operations().get(ScoreboardMetrics.Operation.APPLY_BATCH).count(), "One batch");
+        assertEquals(1L, snapshot.rejections().get(ScoreboardResult.Status.MATCH_EXISTS), "Busy team");
+        assertEquals(1L, snapshot.rejections().get(ScoreboardResult.Status.NOT_FOUND), "Unknown match");
+        assertEquals(1, snapshot.summaryBuild().count(), "The batch should be published once");
+    }
+
+    @Test
+    @DisplayName("disabled metrics record nothing but keep the gauges")
+    void ok_disabled() {
+        ScoreboardService service = new ScoreboardService();
+        Match match = service.startMatch("Spain", "Brazil");
+        service.updateScore(match.id(), 1, 0);
+
+        ScoreboardMetrics.Snapshot snapshot = service.getMetrics().snapshot();
+        assertFalse(snapshot.enabled(), "Metrics should be disabled by default");
+        snapshot.operations().values().forEach(latency -> assertEquals(0, latency.count(), "Nothing recorded"));
+        assertEquals(0, snapshot.summaryBuild().count(), "Nothing recorded");
+        assertEquals(1, snapshot.liveMatches(), "Live matches are read from the board");
+        assertEquals(2, snapshot.summaryVersion(), "Summary version is read from the board");
+    }
+
+    @Test
+    @DisplayName("percentiles are reported within the bucket precision")
+    void ok_histogram_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        ScoreboardMetrics.Latency latency = histogram.stats();
+        assertEquals(1000, latency.count(), "Count");
+        assertEquals(1_000_000, latency.maxNanos(), "Max");
+        assertWithin(500_000, latency.p50Nanos(), "p50");
+        assertWithin(990_000, latency.p99Nanos(), "p99");
+        assertWithin(999_000, latency.p999Nanos(), "p999");
+    }
+
+    @Test
+    @DisplayName("every value falls into a bucket whose bounds contain it")
+    void ok_histogram_buckets() {
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(value <= LatencyHistogram.upperBound(bucket), "Upper bound of " + value);
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBound(bucket - 1), "Lower bound of " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("metrics are readable through JMX")
+    void ok_jmx() throws Exception {
+        ScoreboardService service = metered();
+        service.startMatch("Spain", "Brazil");
+        ObjectName name = new ObjectName("com.tarhanskyi:type=ScoreboardMetrics,name=test");
+        service.getMetrics().registerMBean(name);
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(1, server.getAttribute(name, "LiveMatches"), "Live matches over JMX");
+            assertEquals(true, server.getAttribute(name, "Enabled"), "Enabled over JMX");
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+        assertEquals(1L, service.getMetrics().getOperationCounts().get("START_MATCH"), "Operation counts by name");
+        assertTrue(service.getMetrics().getLatencyNanos().containsKey("START_MATCH.p99"), "Percentiles by name");
+    }
+
+    @Test
+    @DisplayName("concurrency: every call of many writers is counted")
+    void concurrent_counts() throws Exception {
+        ScoreboardService service = metered();
+        Match match = service.startMatch("Spain", "Brazil");
+        int threads = 8;
+        int updates = 1000;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < updates; i++) {
+                        service.updateScore(match.id(), i % 10, 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(threads * updates,
+                service.getMetrics().snapshot().operations().get(ScoreboardMetrics.Operation.UPDATE_SCORE).count(),
+                "No update should be lost");
+    }
+
+    private static void assertWithin(long expected, long actual, String message) {
+        assertTrue(actual >= expected && actual <= expected * 1.125, message + ": " + actual);
+    }
+}
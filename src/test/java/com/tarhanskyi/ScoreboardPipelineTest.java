@@ -0,0 +1,119 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for ScoreboardPipeline.java")
+class ScoreboardPipelineTest {
+
+    @Test
+    @DisplayName("commands are applied in order and complete their futures")
+    void ok_async() throws Exception {
+        ScoreboardService service = new ScoreboardService();
+        try (ScoreboardPipeline pipeline = new ScoreboardPipeline(service)) {
+            Match spain = pipeline.startMatchAsync("Spain", "Brazil").get(5, TimeUnit.SECONDS);
+            CompletableFuture<Match> first = pipeline.updateScoreAsync(spain.id(), 1, 0);
+            CompletableFuture<Match> second = pipeline.updateScoreAsync(spain.id(), 2, 0);
+            Match mexico = pipeline.startMatchAsync("Mexico", "Canada").get(5, TimeUnit.SECONDS);
+            Match finished = pipeline.finishMatchAsync(mexico.id()).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, first.get().homeScore(), "First update should be applied first");
+            assertEquals(2, second.get().version(), "Second update should follow the first");
+            assertEquals(mexico.id(), finished.id(), "Finish should return the finished match");
+            assertEquals(List.of(second.get()), service.getSummary(), "Board should hold the applied commands");
+        }
+    }
+
+    @Test
+    @DisplayName("rejected commands complete exceptionally without stopping the pipeline")
+    void bad_async_rejected() throws Exception {
+        ScoreboardService service = new ScoreboardService();
+        try (ScoreboardPipeline pipeline = new ScoreboardPipeline(service)) {
+            CompletableFuture<Match> started = pipeline.startMatchAsync("Spain", "Brazil");
+            CompletableFuture<Match> duplicate = pipeline.startMatchAsync("Spain", "Portugal");
+            CompletableFuture<Match> invalid = pipeline.updateScoreAsync(UUID.randomUUID(), -1, 0);
+            CompletableFuture<Match> missing = pipeline.finishMatchAsync(UUID.randomUUID());
+
+            ExecutionException exists = assertThrows(ExecutionException.class, duplicate::get, "Team is busy");
+            assertInstanceOf(ScoreboardException.class, exists.getCause(), "Rejection should be the board's exception");
+            ExecutionException negative = assertThrows(ExecutionException.class, invalid::get, "Score is invalid");
+            assertInstanceOf(IllegalArgumentException.class, negative.getCause(), "Invalid arguments are rejected");
+            assertThrows(ExecutionException.class, missing::get, "Match does not exist");
+            assertEquals(List.of(started.get()), service.getSummary(), "Valid commands should still be applied");
+        }
+    }
+
+    @Test
+    @DisplayName("many producers through a small ring keep the order of each producer")
+    void concurrent_async() throws Exception {
+        int producers = 8;
+        int updates = 500;
+        ScoreboardService service = new ScoreboardService();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try (ScoreboardPipeline pipeline = new ScoreboardPipeline(service, 16, 4)) {
+            List<Future<CompletableFuture<Match>>> lasts = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                lasts.add(executor.submit(() -> {
+                    Match match = pipeline.startMatchAsync("Home " + producer, "Away " + producer).join();
+                    CompletableFuture<Match> last = null;
+                    for (int goal = 1; goal <= updates; goal++) {
+                        last = pipeline.updateScoreAsync(match.id(), goal % (Constants.SCORE_LIMIT + 1), 0);
+                    }
+                    return last;
+                }));
+            }
+            for (Future<CompletableFuture<Match>> last : lasts) {
+                assertEquals(updates, last.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS).version(),
+                        "Every update of a producer should be applied in order");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (Match match : service.getSummary()) {
+            assertEquals(updates % (Constants.SCORE_LIMIT + 1), match.homeScore(),
+                    "The last update of " + match.homeTeam() + " should win");
+        }
+    }
+
+    @Test
+    @DisplayName("close applies the queued commands and rejects new ones")
+    void bad_async_closed() throws Exception {
+        ScoreboardService service = new ScoreboardService();
+        ScoreboardPipeline pipeline = new ScoreboardPipeline(service);
+        CompletableFuture<Match> queued = pipeline.startMatchAsync("Spain", "Brazil");
+        pipeline.close();
+        pipeline.close();
+
+        assertTrue(queued.isDone(), "Queued commands should be applied before close returns");
+        assertEquals(1, service.getSummary().size(), "Queued start should be on the board");
+        assertThrows(IllegalStateException.class, () -> pipeline.startMatchAsync("Mexico", "Canada"),
+                "A closed pipeline should not accept commands");
+    }
+
+    @Test
+    @DisplayName("invalid configuration is rejected")
+    void bad_create() {
+        ScoreboardService service = new ScoreboardService();
+        assertThrows(NullPointerException.class, () -> new ScoreboardPipeline(null), "Service must not be null");
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardPipeline(service, 12, 4),
+                "Capacity must be a power of two");
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardPipeline(service, 16, 0),
+                "Batch must be positive");
+    }
+}
@@ -0,0 +1,102 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Tests for ScoreboardRegistry.java")
+class ScoreboardRegistryTest {
+    private ScoreboardRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ScoreboardRegistry();
+    }
+
+    @Test
+    @DisplayName("competitions are independent shards")
+    void ok_competitions() {
+        ScoreboardService worldCup = registry.createCompetition("World Cup", 2);
+        ScoreboardService league = registry.getOrCreateCompetition("League");
+
+        worldCup.startMatch("Spain", "Brazil");
+        league.startMatch("Spain", "Brazil");
+        worldCup.startMatch("Mexico", "Canada");
+
+        assertSame(worldCup, registry.getCompetition("World Cup"));
+        assertSame(league, registry.getOrCreateCompetition("League"));
+        assertEquals(Set.of("World Cup", "League"), registry.getCompetitions());
+        assertEquals(2, registry.getSummary("World Cup").size(), "Shard should only have its own matches");
+        assertEquals(1, registry.getSummary("League").size(), "Shard should only have its own matches");
+        assertThrows(ScoreboardException.class, () -> worldCup.startMatch("Germany", "France"), "Shard limit");
+    }
+
+    @Test
+    @DisplayName("unknown and duplicate competitions")
+    void bad_competitions() {
+        registry.createCompetition("World Cup", 10);
+
+        assertThrows(ScoreboardException.class, () -> registry.createCompetition("World Cup", 10));
+        assertThrows(ScoreboardException.class, () -> registry.getCompetition("Unknown"));
+        assertThrows(ScoreboardException.class, () -> registry.getSummary("Unknown"));
+        assertThrows(ScoreboardException.class, () -> registry.removeCompetition("Unknown"));
+        assertThrows(IllegalArgumentException.class, () -> registry.createCompetition("League", 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardRegistry(0));
+        assertThrows(IllegalArgumentException.class, () -> registry.getGlobalTopMatches(-1));
+
+        registry.removeCompetition("World Cup");
+        assertEquals(Set.of(), registry.getCompetitions());
+    }
+
+    @Test
+    @DisplayName("global summary merges all competitions in summary order")
+    void ok_globalSummary() {
+        Random random = new Random();
+        List<Match> expected = new ArrayList<>();
+        for (int c = 0; c < 5; c++) {
+            ScoreboardService service = registry.getOrCreateCompetition("Competition " + c);
+            for (int m = 0; m < 20; m++) {
+                Match match = service.startMatch("Home " + m, "Away " + m);
+                expected.add(service.updateScore(match.id(), random.nextInt(5), random.nextInt(5)));
+            }
+        }
+        registry.getOrCreateCompetition("Empty");
+        expected.sort(Match.SUMMARY_ORDER);
+
+        assertEquals(expected, registry.getGlobalSummary().toList(), "Global summary should be merged in order");
+        assertEquals(expected.subList(0, 7), registry.getGlobalTopMatches(7), "Top matches should be the head");
+    }
+
+    @Test
+    @DisplayName("global summary can be re-sorted downstream")
+    void ok_globalSummary_sorted() {
+        ScoreboardService service = registry.getOrCreateCompetition("World Cup");
+        Match first = service.startMatch("Spain", "Brazil");
+        Match second = service.startMatch("Mexico", "Canada");
+        Comparator<Match> byHomeTeam = Comparator.comparing(Match::homeTeam);
+
+        assertFalse(registry.getGlobalSummary().spliterator().hasCharacteristics(Spliterator.SORTED),
+                "Matches have no natural order");
+        assertEquals(List.of(second, first), registry.getGlobalSummary().sorted(byHomeTeam).toList(),
+                "Sorting by another order should not be skipped");
+    }
+
+    @Test
+    @DisplayName("global summary of an empty registry")
+    void ok_globalSummary_empty() {
+        assertEquals(0, registry.getGlobalSummary().count());
+        assertEquals(List.of(), registry.getGlobalTopMatches(10));
+    }
+}
@@ -2,16 +2,27 @@ package com.tarhanskyi;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.zip.CRC32C;
 
 import static com.tarhanskyi.Constants.TEAM_NAME_LENGTH_LIMIT;
 import static com.tarhanskyi.Constants.SCORE_LIMIT;
@@ -20,9 +31,13 @@ import static com.tarhanskyi.Constants.TEAM_NAME_REGEX;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 @DisplayName("Tests for ScoreboardService.java")
 class ScoreboardServiceTest {
@@ -88,6 +103,16 @@ class ScoreboardServiceTest {
         }
 
 
+        @Test
+        @DisplayName("custom limit of active games")
+        void bad_createMatch_customLimit() {
+            service = new ScoreboardService(2);
+            startRandomMatch();
+            startRandomMatch();
+            assertThrows(ScoreboardException.class, ScoreboardServiceTest.this::startRandomMatch, "Too many games started");
+            assertThrows(IllegalArgumentException.class, () -> new ScoreboardService(0));
+        }
+
         @Test
         @DisplayName("concurrency: multiple matches without exceptions or duplicates")
         void concurrent_startMatch_shouldNotThrowOrDuplicate() throws InterruptedException {
@@ -113,6 +138,89 @@ class ScoreboardServiceTest {
             assertEquals(threadCount, names.size(), "All matches should be created uniquely");
         }
 
+        @RepeatedTest(10)
+        @DisplayName("concurrency: a team can be reserved by only one match")
+        void concurrent_startMatch_sameTeam() throws InterruptedException {
+            int threadCount = 10;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            Set<UUID> started = ConcurrentHashMap.newKeySet();
+
+            for (int i = 0; i < threadCount; i++) {
+                int index = i;
+                executor.submit(() -> {
+                    try {
+                        started.add(service.startMatch("Team", "Opponent" + index).id());
+                    } catch (ScoreboardException ignored) {
+                        // expected for every thread but one
+                    }
+                });
+            }
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "Executor did not finish in time");
+
+            assertEquals(1, started.size(), "Only one match should be started for the team");
+            assertEquals(1, service.getSummary().size(), "Summary should have only one match");
+        }
+
+        @Test
+        @DisplayName("concurrency: limit holds under contention")
+        void concurrent_startMatch_limit() throws InterruptedException {
+            int threadCount = 20;
+            int perThread = MATCHES_LIMIT / 10;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+            for (int i = 0; i < threadCount; i++) {
+                int index = i;
+                executor.submit(() -> {
+                    for (int j = 0; j < perThread; j++) {
+                        try {
+                            service.startMatch("Home" + index + "-" + j, "Away" + index + "-" + j);
+                        } catch (ScoreboardException ignored) {
+                            // expected once the limit is reached
+                        }
+                    }
+                });
+            }
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "Executor did not finish in time");
+
+            assertEquals(MATCHES_LIMIT, service.getSummary().size(), "Summary should be filled up to the limit");
+        }
+
+        @Test
+        @DisplayName("options set the limit and the ID generator")
+        void ok_createMatch_options() {
+            UUID id = UUID.randomUUID();
+            service = new ScoreboardService(ScoreboardOptions.defaults().withMatchesLimit(1).withIdGenerator(() -> id));
+
+            assertEquals(id, service.startMatch("Spain", "Brazil").id(), "ID should come from the generator");
+            assertThrows(ScoreboardException.class, () -> service.startMatch("Mexico", "Canada"), "Limit reached");
+            assertThrows(IllegalArgumentException.class, () -> ScoreboardOptions.defaults().withMatchesLimit(0));
+            assertThrows(NullPointerException.class, () -> ScoreboardOptions.defaults().withIdGenerator(null));
+        }
+
+        @Test
+        @DisplayName("teams are released when a match is finished")
+        void ok_createMatch_afterFinish() {
+            Match match = startRandomMatch();
+            service.finishMatch(match.id());
+
+            Match again = service.startMatch(match.homeTeam(), match.awayTeam());
+            assertNotNull(again, "Teams should be free after the match is finished");
+        }
+
+        @Test
+        @DisplayName("failed start keeps the free team available")
+        void ok_createMatch_rollback() {
+            Match match = startRandomMatch();
+            String freeTeam = match.homeTeam() + "X";
+
+            assertThrows(ScoreboardException.class, () -> service.startMatch(freeTeam, match.awayTeam()));
+            assertNotNull(service.startMatch(freeTeam, match.awayTeam() + "X"), "Rolled back team should be free");
+        }
+
         private final Consumer<String> CREATE_MATCH_NEGATIVE_CASE = (name) -> {
             String validName = randomTeamName();
             String message = String.format("Wrong team name: %s", name);
@@ -209,6 +317,69 @@ class ScoreboardServiceTest {
 
 
 
+        @Test
+        @DisplayName("conditional update requires the current version")
+        void ok_updateScore_expectedVersion() {
+            Match match = startRandomMatch();
+
+            Match updated = service.updateScore(match.id(), match.version(), 1, 0);
+            assertEquals(match.version() + 1, updated.version(), "Version should be incremented");
+            assertThrows(ScoreboardException.class, () -> service.updateScore(match.id(), match.version(), 2, 0));
+            assertEquals(1, service.getSummary().getFirst().homeScore(), "Stale update should not be applied");
+        }
+
+        @Test
+        @DisplayName("conditional update of a finished match")
+        void bad_updateScore_expectedVersionAfterFinish() {
+            Match match = startRandomMatch();
+            service.finishMatch(match.id());
+
+            assertThrows(ScoreboardException.class, () -> service.updateScore(match.id(), match.version(), 1, 0));
+            assertEquals(0, service.getSummary().size(), "Finished match should not come back");
+        }
+
+        @Test
+        @DisplayName("conditional update with a negative version")
+        void bad_updateScore_negativeVersion() {
+            Match match = startRandomMatch();
+
+            assertThrows(IllegalArgumentException.class, () -> service.updateScore(match.id(), -1L, 1, 0));
+            assertSame(ScoreboardResult.INVALID_ARGUMENT, service.tryUpdateScore(match.id(), -1L, 1, 0));
+            assertEquals(List.of(match), service.getSummary(), "Negative version should not match any version");
+        }
+
+        @Test
+        @DisplayName("concurrency: conditional updates do not lose increments")
+        void concurrent_updateScore_expectedVersion() throws InterruptedException {
+            Match match = startRandomMatch();
+            int threadCount = 5;
+            int perThread = SCORE_LIMIT / threadCount;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+            for (int i = 0; i < threadCount; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < perThread; j++) {
+                        while (true) {
+                            Match current = service.getSummary().getFirst();
+                            try {
+                                service.updateScore(current.id(), current.version(), current.homeScore() + 1, 0);
+                                break;
+                            } catch (ScoreboardException ignored) {
+                                // lost the race, read again
+                            }
+                        }
+                    }
+                });
+            }
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor did not finish in time");
+
+            Match result = service.getSummary().getFirst();
+            assertEquals(threadCount * perThread, result.homeScore(), "No increment should be lost");
+            assertEquals(threadCount * perThread, result.version(), "Every increment should produce a version");
+        }
+
         @Test
         @DisplayName("same input repeatedly")
         void ok_updateScore_sameInputRepeatedly() {
@@ -346,6 +517,169 @@ class ScoreboardServiceTest {
             }
         }
 
+        @Test
+        @DisplayName("top matches are the head of the summary")
+        void ok_topMatches() {
+            for (int i = 0; i < 10; i++) {
+                Match match = startRandomMatch();
+                service.updateScore(match.id(), i % 3, i % 4);
+            }
+            List<Match> summary = service.getSummary();
+
+            assertEquals(summary.subList(0, 3), service.getTopMatches(3), "Top matches should follow summary order");
+            assertEquals(summary, service.getTopMatches(MATCHES_LIMIT), "Top matches should be capped by board size");
+            assertEquals(0, service.getTopMatches(0).size(), "Zero top matches should be empty");
+            assertThrows(IllegalArgumentException.class, () -> service.getTopMatches(-1));
+        }
+
+        @Test
+        @DisplayName("summary window by offset and limit")
+        void ok_summaryWindow() {
+            for (int i = 0; i < 10; i++) {
+                Match match = startRandomMatch();
+                service.updateScore(match.id(), i % 3, i % 4);
+            }
+            List<Match> summary = service.getSummary();
+
+            assertEquals(summary.subList(0, 3), service.getSummary(0, 3), "First window");
+            assertEquals(summary.subList(3, 7), service.getSummary(3, 4), "Middle window");
+            assertEquals(summary.subList(8, 10), service.getSummary(8, 5), "Last window should be cut at the end");
+            assertEquals(List.of(), service.getSummary(10, 5), "Window past the end should be empty");
+            assertEquals(List.of(), service.getSummary(Integer.MAX_VALUE, Integer.MAX_VALUE), "No overflow");
+            assertThrows(IllegalArgumentException.class, () -> service.getSummary(-1, 1));
+            assertThrows(IllegalArgumentException.class, () -> service.getSummary(0, -1));
+        }
+
+        @Test
+        @DisplayName("cursor pages stay on the version of the first page")
+        void ok_summaryAfter() {
+            for (int i = 0; i < 5; i++) {
+                startRandomMatch();
+            }
+            List<Match> summary = service.getSummary();
+
+            SummaryPage first = service.getSummaryAfter(SummaryCursor.first(), 2);
+            assertEquals(summary.subList(0, 2), first.matches(), "First page");
+            assertTrue(first.hasNext(), "More pages should follow");
+
+            // changes between page requests must not move matches across pages
+            service.updateScore(summary.get(4).id(), 5, 5);
+            service.finishMatch(summary.get(2).id());
+            service.startMatch("Late Home", "Late Away");
+
+            SummaryPage second = service.getSummaryAfter(first.next(), 2);
+            SummaryPage third = service.getSummaryAfter(second.next(), 2);
+            assertEquals(summary.subList(2, 4), second.matches(), "Second page should come from the same version");
+            assertEquals(summary.subList(4, 5), third.matches(), "Last page");
+            assertFalse(third.hasNext(), "Last page should have no next cursor");
+            assertEquals(first.next().version(), second.next().version(), "All cursors should be on the same version");
+
+            SummaryPage fresh = service.getSummaryAfter(SummaryCursor.first(), 10);
+            assertEquals(service.getSummary(), fresh.matches(), "A new first page should see the changes");
+        }
+
+        @Test
+        @DisplayName("invalid cursors are rejected")
+        void bad_summaryAfter() {
+            startRandomMatch();
+            startRandomMatch();
+            SummaryCursor cursor = service.getSummaryAfter(SummaryCursor.first(), 1).next();
+
+            assertThrows(NullPointerException.class, () -> service.getSummaryAfter(null, 1));
+            assertThrows(IllegalArgumentException.class, () -> service.getSummaryAfter(SummaryCursor.first(), -1));
+            assertThrows(IllegalArgumentException.class, () -> new ScoreboardService().getSummaryAfter(cursor, 1),
+                    "Cursor of another board should be rejected");
+            assertNull(new ScoreboardService().getSummaryAfter(SummaryCursor.first(), 1).next(),
+                    "Empty board should have no next page");
+        }
+
+        @Test
+        @DisplayName("finished and updated matches leave no stale entries")
+        void ok_summary_noStaleEntries() {
+            Match first = startRandomMatch();
+            Match second = startRandomMatch();
+            service.updateScore(first.id(), 1, 0);
+            service.updateScore(first.id(), 2, 0);
+            service.finishMatch(second.id());
+
+            List<Match> summary = service.getSummary();
+            assertEquals(1, summary.size(), "Summary should only have the remaining match");
+            assertEquals(2, summary.getFirst().homeScore(), "Summary should have the latest score");
+        }
+
+        @Test
+        @DisplayName("snapshot is reused until the board changes")
+        void ok_snapshot_reused() {
+            SummarySnapshot empty = service.getSnapshot();
+            assertEquals(0, empty.version(), "Empty board should have version 0");
+            assertSame(empty, service.getSnapshot(), "Snapshot should be reused without changes");
+
+            Match match = startRandomMatch();
+            SummarySnapshot started = service.getSnapshot();
+            assertEquals(1, started.version(), "Start should publish a new version");
+            assertEquals(List.of(match), started.matches(), "Snapshot should have the started match");
+
+            service.updateScore(match.id(), 0, 0);
+            assertSame(started, service.getSnapshot(), "Unchanged score should not publish a new version");
+
+            service.updateScore(match.id(), 1, 0);
+            service.finishMatch(match.id());
+            assertEquals(3, service.getSnapshot().version(), "Every change should publish a new version");
+            assertEquals(1, started.matches().size(), "Published snapshot should never change");
+            assertThrows(UnsupportedOperationException.class, () -> started.matches().clear());
+        }
+
+        @Test
+        @DisplayName("concurrency: every snapshot is sorted and has each match once")
+        void concurrent_snapshot_consistent() throws Exception {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                ids.add(startRandomMatch().id());
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int i = 0; i < 3; i++) {
+                executor.submit(() -> {
+                    Random random = new Random();
+                    for (int j = 0; j < 2_000; j++) {
+                        service.updateScore(ids.get(random.nextInt(ids.size())), random.nextInt(10), random.nextInt(10));
+                    }
+                });
+            }
+            executor.submit(() -> {
+                for (int j = 0; j < 2_000; j++) {
+                    List<Match> matches = service.getSnapshot().matches();
+                    assertEquals(ids.size(), matches.stream().map(Match::id).distinct().count(), "Each match once");
+                    for (int k = 1; k < matches.size(); k++) {
+                        assertTrue(Match.SUMMARY_ORDER.compare(matches.get(k - 1), matches.get(k)) < 0, "Sorted");
+                    }
+                }
+            }).get();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor did not finish in time");
+        }
+
+        @Test
+        @DisplayName("rendered summary")
+        void ok_renderedSummary() {
+            Match spain = service.startMatch("Spain", "Brazil");
+            service.updateScore(spain.id(), 2, 1);
+            Match mexico = service.startMatch("Mexico", "Canada");
+            ByteBuffer text = service.getRenderedSummary(SummaryFormat.TEXT);
+
+            assertEquals("Spain 2 - Brazil 1\nMexico 0 - Canada 0\n", StandardCharsets.UTF_8.decode(text).toString());
+            assertEquals(String.format("{\"version\":3,\"matches\":[{\"id\":\"%s\",\"homeTeam\":\"Spain\",\"awayTeam\":\"Brazil\","
+                            + "\"homeScore\":2,\"awayScore\":1,\"startTime\":\"%s\",\"version\":1},"
+                            + "{\"id\":\"%s\",\"homeTeam\":\"Mexico\",\"awayTeam\":\"Canada\","
+                            + "\"homeScore\":0,\"awayScore\":0,\"startTime\":\"%s\",\"version\":0}]}",
+                            spain.id(), spain.startTime(), mexico.id(), mexico.startTime()),
+                    StandardCharsets.UTF_8.decode(service.getRenderedSummary(SummaryFormat.JSON)).toString());
+
+            service.finishMatch(spain.id());
+            assertEquals("Mexico 0 - Canada 0\n",
+                    StandardCharsets.UTF_8.decode(service.getRenderedSummary(SummaryFormat.TEXT)).toString(),
+                    "Rendering should follow the board");
+        }
+
         @Test
         @DisplayName("response should be immutable")
         void ok_summary_immutable() {
@@ -366,6 +700,535 @@ class ScoreboardServiceTest {
             assertNotSame(summary, anotherSummary, "Should return new list instance each time");
 
         }
+
+        @Test
+        @DisplayName("team prefix search ignores case and accents and follows started and finished matches")
+        void ok_findMatchesByTeamPrefix() {
+            Match curacao = service.startMatch("Curaçao", "Cuba");
+            Match colombia = service.startMatch("Colombia", "Costa Rica");
+            Match mexico = service.startMatch("México", "Canada");
+            service.updateScore(curacao.id(), 1, 0);
+
+            List<Match> found = service.findMatchesByTeamPrefix("CU", 10);
+            assertEquals(List.of(curacao.id()), found.stream().map(Match::id).toList(),
+                    "A match whose both teams match should be returned once");
+            assertEquals(1, found.getFirst().homeScore(), "Current score should be returned");
+            assertEquals(List.of(colombia, mexico, colombia), List.of(
+                            service.findMatchesByTeamPrefix("co", 10).getFirst(),
+                            service.findMatchesByTeamPrefix(" mexi ", 10).getFirst(),
+                            service.findMatchesByTeamPrefix("costa r", 10).getFirst()),
+                    "Prefixes should match regardless of case and accents");
+            assertEquals(List.of(mexico.id(), colombia.id(), curacao.id()),
+                    service.findMatchesByTeamPrefix("c", 10).stream().map(Match::id).toList(),
+                    "Matches should follow the order of the matching team names: Canada, Colombia, Cuba");
+            assertEquals(2, service.findMatchesByTeamPrefix("c", 2).size(), "Results should be limited");
+            assertEquals(List.of(), service.findMatchesByTeamPrefix("c", 0), "Zero limit returns nothing");
+
+            service.finishMatch(curacao.id());
+            assertEquals(List.of(), service.findMatchesByTeamPrefix("cu", 10), "Finished matches should not be found");
+            Match cuba = service.startMatch("Cuba", "Peru");
+            assertEquals(List.of(cuba), service.findMatchesByTeamPrefix("cu", 10), "Restarted team should be found");
+        }
+
+        @RepeatedTest(5)
+        @DisplayName("changes since a version rebuild the current summary")
+        void ok_getSummaryChangesSince() {
+            Random random = new Random();
+            List<Match> client = new ArrayList<>();
+            long version = 0;
+            for (int round = 0; round < 40; round++) {
+                List<Match> live = service.getSummary();
+                int changes = random.nextInt(5);
+                for (int i = 0; i < changes; i++) {
+                    live = service.getSummary();
+                    int action = random.nextInt(4);
+                    if (live.isEmpty() || action == 0 && live.size() < MATCHES_LIMIT) {
+                        startRandomMatch();
+                    } else if (action == 1) {
+                        service.finishMatch(live.get(random.nextInt(live.size())).id());
+                    } else if (action == 2) {
+                        Match match = live.get(random.nextInt(live.size()));
+                        service.applyBatch(List.of(new ScoreCommand.UpdateScore(match.id(), 1, random.nextInt(3)),
+                                new ScoreCommand.Start("Batch " + round + "-" + i, "Rival " + round + "-" + i)));
+                    } else {
+                        Match match = live.get(random.nextInt(live.size()));
+                        service.updateScore(match.id(), random.nextInt(SCORE_LIMIT), random.nextInt(SCORE_LIMIT));
+                    }
+                }
+
+                SummaryDelta delta = service.getSummaryChangesSince(version);
+                assertEquals(version, delta.fromVersion(), "Delta should start at the requested version");
+                if (delta.full()) {
+                    assertEquals(List.of(), delta.changes(), "Full delta should have no changes");
+                    client = new ArrayList<>(delta.summary());
+                } else {
+                    for (SummaryChange change : delta.changes()) {
+                        client.removeIf(match -> match.id().equals(change.match().id()));
+                    }
+                    for (SummaryChange change : delta.changes()) {
+                        if (change.kind() != SummaryChange.Kind.REMOVED) {
+                            client.add(change.rank(), change.match());
+                        }
+                    }
+                }
+                assertEquals(service.getSummary(), client, "Applying the delta should yield the summary");
+                version = delta.version();
+            }
+        }
+
+        @Test
+        @DisplayName("changes since an unknown or forgotten version fall back to the full summary")
+        void ok_getSummaryChangesSince_full() {
+            Match match = startRandomMatch();
+            long version = service.getSnapshot().version();
+            SummaryDelta unchanged = service.getSummaryChangesSince(version);
+            assertFalse(unchanged.full(), "Current version should get an empty delta");
+            assertEquals(List.of(), unchanged.changes(), "Nothing changed since the current version");
+
+            service.updateScore(match.id(), 1, 0);
+            SummaryDelta delta = service.getSummaryChangesSince(version);
+            assertEquals(List.of(new SummaryChange(SummaryChange.Kind.RESCORED, service.getSummary().getFirst(), 0)),
+                    delta.changes(), "One re-scored match");
+
+            for (int i = 0; i <= SummaryChangeLog.CAPACITY; i++) {
+                service.updateScore(match.id(), i % 2, 0);
+            }
+            SummaryDelta forgotten = service.getSummaryChangesSince(version);
+            assertTrue(forgotten.full(), "Forgotten version should get the full summary");
+            assertEquals(service.getSummary(), forgotten.summary(), "Full summary");
+            assertTrue(service.getSummaryChangesSince(version + 10 * SummaryChangeLog.CAPACITY).full(),
+                    "Version ahead of the board should get the full summary");
+            assertThrows(IllegalArgumentException.class, () -> service.getSummaryChangesSince(-1),
+                    "Version must not be negative");
+        }
+
+        @Test
+        @DisplayName("summary at a past moment is the version published at or before it")
+        void ok_getSummaryAt() {
+            ScoreboardService board = new ScoreboardService(ScoreboardOptions.defaults().withHistoryLimit(1000));
+            Random random = new Random();
+            TreeMap<Instant, List<Match>> published = new TreeMap<>();
+            published.put(board.getSnapshot().timestamp(), List.of());
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                int action = random.nextInt(5);
+                if (ids.isEmpty() || action == 0) {
+                    ids.add(board.startMatch("Home " + i, "Away " + i).id());
+                } else if (action == 1) {
+                    board.finishMatch(ids.remove(random.nextInt(ids.size())));
+                } else if (action == 2) {
+                    List<CommandResult> results = board.applyBatch(List.of(
+                            new ScoreCommand.UpdateScore(ids.get(random.nextInt(ids.size())), random.nextInt(5), 1),
+                            new ScoreCommand.Start("Batch " + i, "Rival " + i)));
+                    ids.add(results.get(1).match().id());
+                } else {
+                    board.updateScore(ids.get(random.nextInt(ids.size())), random.nextInt(5), random.nextInt(5));
+                }
+                SummarySnapshot snapshot = board.getSnapshot();
+                published.put(snapshot.timestamp(), snapshot.matches());
+            }
+
+            for (Map.Entry<Instant, List<Match>> version : published.entrySet()) {
+                assertEquals(version.getValue(), board.getSummaryAt(version.getKey()),
+                        "Summary at " + version.getKey() + " should be the version published then");
+            }
+            assertEquals(board.getSummary(), board.getSummaryAt(Instant.now().plusSeconds(60)),
+                    "Summary in the future should be the current one");
+        }
+
+        @Test
+        @DisplayName("summary at a moment that is not kept is rejected")
+        void bad_getSummaryAt() {
+            ScoreboardService board = new ScoreboardService(ScoreboardOptions.defaults().withHistoryLimit(3));
+            Instant created = board.getSnapshot().timestamp();
+            Match match = board.startMatch("Spain", "Brazil");
+            for (int i = 1; i <= 3; i++) {
+                board.updateScore(match.id(), i, 0);
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> board.getSummaryAt(created),
+                    "Versions older than the limit should be dropped");
+            assertEquals(board.getSummary(), board.getSummaryAt(board.getSnapshot().timestamp()),
+                    "Latest version should be kept");
+            assertThrows(NullPointerException.class, () -> board.getSummaryAt(null), "Moment must not be null");
+            assertThrows(IllegalStateException.class, () -> service.getSummaryAt(Instant.now()),
+                    "Board without history should reject the call");
+            assertThrows(IllegalArgumentException.class, () -> ScoreboardOptions.defaults().withHistoryLimit(-1),
+                    "History limit must not be negative");
+        }
+
+        @Test
+        @DisplayName("team prefix search rejects invalid arguments")
+        void bad_findMatchesByTeamPrefix() {
+            assertThrows(NullPointerException.class, () -> service.findMatchesByTeamPrefix(null, 1),
+                    "Prefix must not be null");
+            assertThrows(IllegalArgumentException.class, () -> service.findMatchesByTeamPrefix("Spain", -1),
+                    "Limit must not be negative");
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch")
+    class Batch {
+        @Test
+        @DisplayName("basic scenario")
+        void ok_applyBatch() {
+            Match updated = startRandomMatch();
+            Match finished = startRandomMatch();
+            long version = service.getSnapshot().version();
+
+            List<CommandResult> results = service.applyBatch(List.of(
+                    new ScoreCommand.Start("Batch Home", "Batch Away"),
+                    new ScoreCommand.UpdateScore(updated.id(), 2, 1),
+                    new ScoreCommand.Finish(finished.id())));
+
+            assertEquals(3, results.size(), "Every command should have a result");
+            assertTrue(results.stream().allMatch(CommandResult::isSuccess), "Every command should succeed");
+            assertEquals("Batch Home", results.get(0).match().homeTeam(), "Start should return the started match");
+            assertEquals(3, results.get(1).match().totalScore(), "Update should return the updated match");
+            assertEquals(finished.id(), results.get(2).match().id(), "Finish should return the finished match");
+
+            assertEquals(version + 1, service.getSnapshot().version(), "Batch should be published once");
+            List<Match> summary = service.getSummary();
+            assertEquals(2, summary.size(), "Summary should reflect the whole batch");
+            assertEquals(results.get(1).match(), summary.getFirst(), "Updated match should be first");
+            assertEquals(results.get(0).match(), summary.getLast(), "Started match should be last");
+        }
+
+        @Test
+        @DisplayName("failed commands do not stop the batch")
+        void bad_applyBatch() {
+            Match match = startRandomMatch();
+            UUID unknown = UUID.randomUUID();
+
+            List<CommandResult> results = service.applyBatch(List.of(
+                    new ScoreCommand.UpdateScore(match.id(), SCORE_LIMIT + 1, 0),
+                    new ScoreCommand.Start(match.homeTeam(), "Other"),
+                    new ScoreCommand.Start("Same", "Same"),
+                    new ScoreCommand.UpdateScore(null, 1, 1),
+                    new ScoreCommand.Finish(unknown),
+                    new ScoreCommand.UpdateScore(match.id(), 1, 1)));
+
+            assertInstanceOf(IllegalArgumentException.class, results.get(0).failure());
+            assertInstanceOf(ScoreboardException.class, results.get(1).failure());
+            assertInstanceOf(IllegalArgumentException.class, results.get(2).failure());
+            assertInstanceOf(NullPointerException.class, results.get(3).failure());
+            assertInstanceOf(ScoreboardException.class, results.get(4).failure());
+            assertTrue(results.get(5).isSuccess(), "Valid command should be applied");
+            assertEquals(List.of(results.get(5).match()), service.getSummary(), "Only valid changes should be applied");
+        }
+
+        @Test
+        @DisplayName("batch with a null command is rejected before anything is applied")
+        void bad_applyBatch_nullCommand() {
+            SummarySnapshot snapshot = service.getSnapshot();
+            List<ScoreCommand> commands = Arrays.asList(new ScoreCommand.Start("Spain", "Brazil"), null);
+
+            assertThrows(NullPointerException.class, () -> service.applyBatch(commands));
+            assertSame(snapshot, service.getSnapshot(), "Nothing should be published");
+            assertTrue(service.tryStartMatch("Spain", "Brazil").isSuccess(), "Teams should not be reserved");
+        }
+
+        @Test
+        @DisplayName("batch without changes does not publish")
+        void ok_applyBatch_empty() {
+            SummarySnapshot snapshot = service.getSnapshot();
+            assertEquals(0, service.applyBatch(List.of()).size());
+            service.applyBatch(List.of(new ScoreCommand.Finish(UUID.randomUUID())));
+            assertSame(snapshot, service.getSnapshot(), "Nothing should be published");
+        }
+
+        @Test
+        @DisplayName("concurrency: batches and single updates keep the summary consistent")
+        void concurrent_applyBatch() throws InterruptedException {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                ids.add(startRandomMatch().id());
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                boolean batching = t % 2 == 0;
+                executor.submit(() -> {
+                    Random random = new Random();
+                    for (int j = 0; j < 1_000; j++) {
+                        UUID id = ids.get(random.nextInt(ids.size()));
+                        if (batching) {
+                            service.applyBatch(List.of(
+                                    new ScoreCommand.UpdateScore(id, random.nextInt(10), random.nextInt(10)),
+                                    new ScoreCommand.UpdateScore(ids.get(random.nextInt(ids.size())), 1, 1)));
+                        } else {
+                            service.updateScore(id, random.nextInt(10), random.nextInt(10));
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor did not finish in time");
+
+            List<Match> summary = service.getSummary();
+            assertEquals(ids.size(), summary.size(), "Each match should be in the summary once");
+            summary.forEach(match -> assertEquals(match, service.updateScore(match.id(), match.homeScore(), match.awayScore()),
+                    "Summary should hold the latest version of each match"));
+        }
+
+        @Test
+        @DisplayName("concurrency: a batch does not publish over a newer concurrent update")
+        void concurrent_applyBatch_staleVersion() throws Exception {
+            // consecutive IDs never share a map bin, so the concurrent update is not blocked by the batch
+            service = new ScoreboardService(ScoreboardOptions.defaults().withIdGenerator(MatchIdGenerator.sequential()));
+            Match first = startRandomMatch();
+            Match second = startRandomMatch();
+            CountDownLatch updated = new CountDownLatch(1);
+            CountDownLatch batched = new CountDownLatch(1);
+            CompletableFuture<Match> concurrent = new CompletableFuture<>();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                service.addListener(new ScoreboardListener() {
+                    @Override
+                    public void scoreUpdated(Match previous, Match match) {
+                        if (match.id().equals(second.id())) {
+                            // the batch has stored the first match but not published it yet
+                            executor.submit(() -> concurrent.complete(service.updateScore(first.id(), 3, 3)));
+                            await(updated);
+                        } else if (match.version() == 2) {
+                            // the concurrent update is notified while its entry still holds the batch's version
+                            updated.countDown();
+                            await(batched);
+                        }
+                    }
+                });
+                service.applyBatch(List.of(
+                        new ScoreCommand.UpdateScore(first.id(), 1, 0),
+                        new ScoreCommand.UpdateScore(second.id(), 1, 1)));
+                batched.countDown();
+
+                Match latest = concurrent.get(5, TimeUnit.SECONDS);
+                assertTrue(service.getSummary().contains(latest), "Summary should keep the newer concurrent update");
+                assertEquals(2, service.getSummary().size(), "Each match should be in the summary once");
+            } finally {
+                batched.countDown();
+                executor.shutdownNow();
+            }
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                assertTrue(latch.await(5, TimeUnit.SECONDS), "Latch was not released in time");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Try methods")
+    class TryMethods {
+        @Test
+        @DisplayName("successful calls return the match")
+        void ok_tryMethods() {
+            ScoreboardResult started = service.tryStartMatch("Try Home", "Try Away");
+            assertTrue(started.isSuccess(), "Match should be started");
+            UUID id = started.match().id();
+
+            ScoreboardResult updated = service.tryUpdateScore(id, 1, 0);
+            assertEquals(1, updated.match().homeScore(), "Score should be updated");
+            updated = service.tryUpdateScore(id, updated.match().version(), 2, 0);
+            assertEquals(2, updated.match().homeScore(), "Score should be updated with expected version");
+
+            ScoreboardResult finished = service.tryFinishMatch(id);
+            assertEquals(updated.match(), finished.match(), "Finish should return the final match");
+            assertTrue(service.getSummary().isEmpty(), "Board should be empty");
+            assertTrue(service.startMatch("Try Home", "Try Away").id() != null, "Teams should be released");
+        }
+
+        @Test
+        @DisplayName("rejections return preallocated results")
+        void bad_tryMethods() {
+            Match match = startRandomMatch();
+            UUID unknown = UUID.randomUUID();
+
+            assertSame(ScoreboardResult.INVALID_ARGUMENT, service.tryStartMatch(null, "Away"));
+            assertSame(ScoreboardResult.INVALID_ARGUMENT, service.tryStartMatch("Same", " Same "));
+            assertSame(ScoreboardResult.INVALID_ARGUMENT, service.tryStartMatch("  ", "Away"));
+            assertSame(ScoreboardResult.MATCH_EXISTS, service.tryStartMatch("Other", match.awayTeam()));
+            assertSame(ScoreboardResult.INVALID_ARGUMENT, service.tryUpdateScore(match.id(), SCORE_LIMIT + 1, 0));
+            assertSame(ScoreboardResult.INVALID_ARGUMENT, service.tryUpdateScore(null, 0, 0));
+            assertSame(ScoreboardResult.NOT_FOUND, service.tryUpdateScore(unknown, 1, 1));
+            assertSame(ScoreboardResult.NOT_FOUND, service.tryUpdateScore(unknown, 0, 1, 1));
+            assertSame(ScoreboardResult.VERSION_MISMATCH, service.tryUpdateScore(match.id(), match.version() + 1, 1, 1));
+            assertSame(ScoreboardResult.NOT_FOUND, service.tryFinishMatch(unknown));
+            assertSame(ScoreboardResult.INVALID_ARGUMENT, service.tryFinishMatch(null));
+
+            assertEquals(List.of(match), service.getSummary(), "Rejected calls should not change the board");
+        }
+
+        @Test
+        @DisplayName("limit is reported without exception")
+        void bad_tryStartMatch_limit() {
+            service = new ScoreboardService(1);
+            startRandomMatch();
+            assertSame(ScoreboardResult.LIMIT_REACHED, service.tryStartMatch("Home", "Away"));
+            assertEquals(1, service.getSummary().size(), "Rejected match should not be added");
+        }
+
+        @Test
+        @DisplayName("concurrency: only one writer per version wins")
+        void concurrent_tryUpdateScore_expectedVersion() throws InterruptedException {
+            Match match = startRandomMatch();
+            Set<Integer> winners = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                int score = t + 1;
+                executor.submit(() -> {
+                    if (service.tryUpdateScore(match.id(), match.version(), score, 0).isSuccess()) {
+                        winners.add(score);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor did not finish in time");
+
+            assertEquals(1, winners.size(), "Exactly one update should win");
+            assertEquals(winners.iterator().next(), service.getSummary().getFirst().homeScore(),
+                    "Board should hold the winning score");
+        }
+
+        @RepeatedTest(10)
+        @DisplayName("concurrency: identical updates of one version win once")
+        void concurrent_tryUpdateScore_sameScores() throws InterruptedException {
+            Match match = startRandomMatch();
+            AtomicInteger winners = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    if (service.tryUpdateScore(match.id(), match.version(), 1, 0).isSuccess()) {
+                        winners.incrementAndGet();
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor did not finish in time");
+
+            assertEquals(1, winners.get(), "Only the update that was applied should succeed");
+            assertEquals(match.version() + 1, service.getSummary().getFirst().version(), "Update should be applied once");
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot files")
+    class Persistence {
+        @TempDir
+        Path directory;
+
+        @Test
+        @DisplayName("restore brings back the same board")
+        void ok_snapshotTo_restoreFrom() throws IOException {
+            service = new ScoreboardService(5);
+            Match spain = service.startMatch("España", "Brasil");
+            Match mexico = service.startMatch("México", "Canada");
+            service.updateScore(spain.id(), 2, 1);
+            service.updateScore(mexico.id(), 1, 0);
+            Path path = directory.resolve("board.snapshot");
+
+            service.snapshotTo(path);
+            ScoreboardService restored = ScoreboardService.restoreFrom(path);
+
+            assertEquals(service.getSummary(), restored.getSummary(), "Restored board should be the same");
+            assertThrows(ScoreboardException.class, () -> restored.startMatch("España", "Italia"),
+                    "Teams should be reserved");
+            for (int i = 0; i < 3; i++) {
+                restored.startMatch("Home " + i, "Away " + i);
+            }
+            assertThrows(ScoreboardException.class, () -> restored.startMatch("Home", "Away"), "Limit should be kept");
+            assertEquals(spain.version() + 2, restored.updateScore(spain.id(), 3, 1).version(),
+                    "Versions should continue");
+        }
+
+        @Test
+        @DisplayName("restore with options keeps the limit of the file and the other options")
+        void ok_restoreFrom_options() throws IOException {
+            service = new ScoreboardService(5);
+            Match spain = service.startMatch("Spain", "Brazil");
+            Path path = directory.resolve("board.snapshot");
+            service.snapshotTo(path);
+
+            ScoreboardService restored = ScoreboardService.restoreFrom(path, ScoreboardOptions.defaults()
+                    .withMatchesLimit(1).withIdGenerator(MatchIdGenerator.sequential())
+                    .withMetricsEnabled(true).withHistoryLimit(8));
+
+            assertEquals(List.of(spain), restored.getSummary(), "Restored board should be the same");
+            // the limit of 1 from the options is ignored: the file allows 5
+            Match started = restored.startMatch("Mexico", "Canada");
+            assertEquals(0, started.id().getLeastSignificantBits(), "IDs should come from the given generator");
+            assertEquals(2, restored.getSummaryAt(Instant.now()).size(), "History should be kept");
+            assertTrue(restored.getMetrics().isEnabled(), "Metrics should be enabled");
+            assertThrows(NullPointerException.class, () -> ScoreboardService.restoreFrom(path, null));
+        }
+
+        @Test
+        @DisplayName("restore keeps team names padded past 32767 bytes")
+        void ok_restoreFrom_paddedNames() throws IOException {
+            service = new ScoreboardService();
+            Match spain = service.startMatch("Spain" + " ".repeat(40_000), "Brazil");
+            Path path = directory.resolve("board.snapshot");
+
+            service.snapshotTo(path);
+
+            assertEquals(List.of(spain), ScoreboardService.restoreFrom(path).getSummary(),
+                    "Padded names should be restored untrimmed");
+        }
+
+        @Test
+        @DisplayName("corrupted or foreign files are rejected")
+        void bad_restoreFrom() throws IOException {
+            startRandomMatch();
+            Path path = directory.resolve("board.snapshot");
+            service.snapshotTo(path);
+            byte[] bytes = Files.readAllBytes(path);
+            bytes[bytes.length / 2] ^= 1;
+            Files.write(path, bytes);
+            assertThrows(IOException.class, () -> ScoreboardService.restoreFrom(path), "Checksum should not match");
+
+            Files.write(path, new byte[] {1, 2, 3});
+            assertThrows(IOException.class, () -> ScoreboardService.restoreFrom(path), "Not a snapshot file");
+
+            // a name length past the end of the file, with a valid checksum
+            service.snapshotTo(path);
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            int nameLengthAt = 5 * Integer.BYTES + 2 * Long.BYTES + Long.BYTES + Integer.BYTES
+                    + 2 * Integer.BYTES + Long.BYTES;
+            buffer.putInt(nameLengthAt, Integer.MAX_VALUE);
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.array(), 0, buffer.limit() - Integer.BYTES);
+            buffer.putInt(buffer.limit() - Integer.BYTES, (int) checksum.getValue());
+            Files.write(path, buffer.array());
+            assertThrows(IOException.class, () -> ScoreboardService.restoreFrom(path), "Name length out of bounds");
+        }
+
+        @Test
+        @DisplayName("concurrency: snapshots taken during updates are consistent")
+        void concurrent_snapshotTo() throws Exception {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                ids.add(startRandomMatch().id());
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            Future<?> writer = executor.submit(() -> {
+                Random random = new Random();
+                for (int j = 0; j < 10_000; j++) {
+                    service.updateScore(ids.get(random.nextInt(ids.size())), random.nextInt(10), random.nextInt(10));
+                }
+            });
+            Path path = directory.resolve("board.snapshot");
+            while (!writer.isDone()) {
+                service.snapshotTo(path);
+                List<Match> restored = ScoreboardService.restoreFrom(path).getSummary();
+                assertEquals(ids.size(), restored.size(), "Each match should be in the snapshot once");
+                assertEquals(restored.stream().sorted(Match.SUMMARY_ORDER).toList(), restored, "Snapshot should be sorted");
+            }
+            writer.get();
+            executor.shutdown();
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.tarhanskyi.Constants.SCORE_LIMIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for SlotScoreboard.java")
+class SlotScoreboardTest {
+    private SlotScoreboard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new SlotScoreboard(4);
+    }
+
+    @Test
+    @DisplayName("basic scenario")
+    void ok_scoreboard() {
+        Match spain = board.startMatch("Spain", "Brazil");
+        Match mexico = board.startMatch("Mexico", "Canada");
+        Match germany = board.startMatch("Germany", "France");
+
+        Match updated = board.updateScore(spain.id(), 2, 1);
+        assertEquals(new Match(spain.id(), "Spain", "Brazil", 2, 1, spain.startTime(), 1), updated);
+        assertEquals(updated, board.updateScore(spain.id(), 2, 1), "Same score should keep the version");
+        board.updateScore(mexico.id(), 0, 3);
+
+        assertEquals(List.of(board.getMatch(board.handleOf(mexico.id())), updated, germany), board.getSummary(),
+                "Equal totals should be ordered by the most recent start");
+        assertEquals(germany, board.finishMatch(germany.id()), "Finish should return the final match");
+        assertEquals(2, board.getSummary().size(), "Finished match should leave the summary");
+    }
+
+    @Test
+    @DisplayName("handles of finished matches do not reach matches reusing the slot")
+    void bad_staleHandle() {
+        long handle = board.start("Spain", "Brazil");
+        board.finishMatch(handle);
+        long reused = board.start("Spain", "Brazil");
+
+        assertEquals((int) handle, (int) reused, "Slot should be reused");
+        assertThrows(ScoreboardException.class, () -> board.updateScore(handle, 1, 0));
+        assertThrows(ScoreboardException.class, () -> board.finishMatch(handle));
+        assertThrows(ScoreboardException.class, () -> board.getMatch(handle));
+        assertEquals(1, board.updateScore(reused, 1, 0), "New handle should work");
+    }
+
+    @Test
+    @DisplayName("handles are not reused when a slot is reused more than 2^15 times")
+    void bad_staleHandle_manyReuses() {
+        board = new SlotScoreboard(1);
+        long handle = board.start("Spain", "Brazil");
+        board.finishMatch(handle);
+        for (int i = 1; i < 1 << 15; i++) {
+            board.finishMatch(board.start("Home", "Away"));
+        }
+        long reused = board.start("Mexico", "Canada");
+
+        assertTrue(handle != reused, "Handle should differ from every earlier one");
+        assertThrows(ScoreboardException.class, () -> board.updateScore(handle, 1, 0), "Stale handle");
+        assertThrows(ScoreboardException.class, () -> board.finishMatch(handle), "Stale handle");
+        assertEquals(0, board.getMatch(reused).version(), "Live match should be untouched");
+    }
+
+    @Test
+    @DisplayName("invalid calls")
+    void bad_scoreboard() {
+        Match match = board.startMatch("Spain", "Brazil");
+
+        assertThrows(ScoreboardException.class, () -> board.startMatch("Italy", "Brazil"), "Team in a match");
+        assertThrows(IllegalArgumentException.class, () -> board.startMatch("Italy", "Italy"));
+        assertThrows(NullPointerException.class, () -> board.startMatch(null, "Italy"));
+        assertThrows(IllegalArgumentException.class, () -> board.updateScore(match.id(), SCORE_LIMIT + 1, 0));
+        assertThrows(ScoreboardException.class, () -> board.updateScore(UUID.randomUUID(), 1, 0), "Foreign ID");
+        assertThrows(ScoreboardException.class, () -> board.finishMatch((UUID) null));
+        assertThrows(ScoreboardException.class, () -> new SlotScoreboard().finishMatch(match.id()), "Other board");
+
+        for (int i = 0; i < 3; i++) {
+            board.startMatch("Home " + i, "Away " + i);
+        }
+        assertThrows(ScoreboardException.class, () -> board.startMatch("Home", "Away"), "Limit reached");
+        assertThrows(IllegalArgumentException.class, () -> new SlotScoreboard(0));
+    }
+
+    @RepeatedTest(10)
+    @DisplayName("concurrency: updates, restarts and reads keep every match consistent")
+    void concurrent_scoreboard() throws InterruptedException {
+        board = new SlotScoreboard(16);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(board.startMatch("Home " + i, "Away " + i).id());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 3; t++) {
+            executor.submit(() -> {
+                Random random = new Random();
+                for (int j = 0; j < 10_000; j++) {
+                    int score = random.nextInt(10);
+                    board.updateScore(ids.get(random.nextInt(ids.size())), score, score);
+                }
+            });
+        }
+        executor.submit(() -> {
+            for (int j = 0; j < 1_000; j++) {
+                board.finishMatch(board.start("Restarted", "Rival"));
+            }
+        });
+        for (int j = 0; j < 1_000; j++) {
+            for (Match match : board.getSummary()) {
+                assertEquals(match.homeScore(), match.awayScore(), "Scores should come from the same update");
+                assertTrue(match.homeTeam().startsWith("Home") || match.homeTeam().equals("Restarted"));
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor did not finish in time");
+        assertEquals(ids.size(), board.getSummary().size(), "Restarted matches should be finished");
+    }
+}
@@ -0,0 +1,96 @@
+package com.tarhanskyi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for SummaryCache.java")
+class SummaryCacheTest {
+
+    @Test
+    @DisplayName("summary is rendered once per snapshot and format")
+    void ok_cache() {
+        AtomicInteger renders = new AtomicInteger();
+        SummaryCache cache = new SummaryCache((snapshot, format) -> {
+            renders.incrementAndGet();
+            return SummaryCache.render(snapshot, format);
+        });
+        ScoreboardService service = new ScoreboardService();
+        service.startMatch("Spain", "Brazil");
+        SummarySnapshot first = service.getSnapshot();
+
+        cache.get(first, SummaryFormat.TEXT);
+        cache.get(first, SummaryFormat.TEXT);
+        cache.get(first, SummaryFormat.JSON);
+        assertEquals(2, renders.get(), "Each format should be rendered once");
+
+        service.startMatch("Mexico", "Canada");
+        cache.get(service.getSnapshot(), SummaryFormat.TEXT);
+        cache.get(first, SummaryFormat.TEXT);
+        cache.get(service.getSnapshot(), SummaryFormat.TEXT);
+        assertEquals(4, renders.get(), "A new snapshot should be rendered again, an older one without caching");
+    }
+
+    @Test
+    @DisplayName("concurrency: readers of a missing payload wait for a single rendering")
+    void concurrent_cache_singleFlight() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SummaryCache cache = new SummaryCache((snapshot, format) -> {
+            renders.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return SummaryCache.render(snapshot, format);
+        });
+        SummarySnapshot snapshot = SummarySnapshot.empty();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<ByteBuffer>> results = new ArrayList<>();
+        results.add(executor.submit(() -> cache.get(snapshot, SummaryFormat.JSON)));
+        started.await();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> cache.get(snapshot, SummaryFormat.JSON)));
+        }
+        Thread.sleep(50);
+        release.countDown();
+        for (Future<ByteBuffer> result : results) {
+            assertEquals(StandardCharsets.UTF_8.decode(result.get()).toString(), "{\"version\":0,\"matches\":[]}");
+        }
+        executor.shutdown();
+        assertEquals(1, renders.get(), "Summary should be rendered once");
+    }
+
+    @Test
+    @DisplayName("failed rendering is not cached")
+    void bad_cache_renderFails() {
+        AtomicInteger renders = new AtomicInteger();
+        SummaryCache cache = new SummaryCache((snapshot, format) -> {
+            if (renders.incrementAndGet() == 1) {
+                throw new IllegalStateException("render failed");
+            }
+            return SummaryCache.render(snapshot, format);
+        });
+        SummarySnapshot snapshot = SummarySnapshot.empty();
+
+        assertThrows(IllegalStateException.class, () -> cache.get(snapshot, SummaryFormat.TEXT));
+        assertEquals(0, cache.get(snapshot, SummaryFormat.TEXT).remaining(), "Next reader should render again");
+        assertTrue(cache.get(snapshot, SummaryFormat.TEXT).isReadOnly(), "Payload should be read-only");
+    }
+}
@@ -0,0 +1,72 @@
+package com.tarhanskyi;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.tarhanskyi.Constants.TEAM_NAME_LENGTH_LIMIT;
+import static com.tarhanskyi.Constants.TEAM_NAME_REGEX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for TeamNames.java")
+class TeamNamesTest {
+
+    private void assertSameAsRegex(String name) {
+        boolean expected = name.trim().matches(TEAM_NAME_REGEX);
+        assertEquals(expected, TeamNames.isValid(name), "Wrong validation for: " + name);
+    }
+
+    @Test
+    @DisplayName("every single code point is validated like the regex")
+    void ok_isValid_allCodePoints() {
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            assertSameAsRegex(new String(Character.toChars(codePoint)));
+        }
+    }
+
+    @Test
+    @DisplayName("length limit counts code points of the trimmed name")
+    void ok_isValid_length() {
+        assertTrue(TeamNames.isValid("A".repeat(TEAM_NAME_LENGTH_LIMIT)));
+        assertTrue(TeamNames.isValid("  " + "A".repeat(TEAM_NAME_LENGTH_LIMIT) + "\t"));
+        assertFalse(TeamNames.isValid("A".repeat(TEAM_NAME_LENGTH_LIMIT + 1)));
+        assertSameAsRegex("𝐀".repeat(TEAM_NAME_LENGTH_LIMIT));
+        assertSameAsRegex("𝐀".repeat(TEAM_NAME_LENGTH_LIMIT + 1));
+        assertSameAsRegex("A\uD800");
+        assertFalse(TeamNames.isValid(""));
+        assertFalse(TeamNames.isValid(" \t "));
+    }
+
+    @RepeatedTest(1_000)
+    @DisplayName("random names are validated like the regex")
+    void ok_isValid_random() {
+        Random random = new Random();
+        String name = random.nextBoolean()
+                ? RandomStringUtils.random(random.nextInt(0, 40))
+                : RandomStringUtils.random(random.nextInt(0, 40), " -'.&(),/\tAbcÉ1");
+        assertSameAsRegex(name);
+    }
+
+    @Test
+    @DisplayName("same team ignores surrounding whitespace")
+    void ok_isSameTeam() {
+        assertTrue(TeamNames.isSameTeam("Spain", "Spain"));
+        assertTrue(TeamNames.isSameTeam(" Spain", "Spain  "));
+        assertFalse(TeamNames.isSameTeam("Spain", "Spain B"));
+        assertFalse(TeamNames.isSameTeam("Spain", "spain"));
+    }
+
+    @Test
+    @DisplayName("fold ignores case, accents and surrounding whitespace")
+    void ok_fold() {
+        assertEquals("spain", TeamNames.fold(" Spain "));
+        assertEquals("curacao", TeamNames.fold("CURAÇAO"));
+        assertEquals("sao tome & principe", TeamNames.fold("São Tomé & Príncipe"));
+        assertEquals("", TeamNames.fold("  "));
+    }
+}